@@ -12,6 +12,7 @@ import org.eclipse.persistence.sessions.Session;
 import wtf.metio.storageunits.model.StorageUnit;
 
 import java.io.Serial;
+import java.math.BigDecimal;
 import java.math.BigInteger;
 
 /**
@@ -28,14 +29,31 @@ abstract class AbstractStorageUnitConverter implements Converter {
 
     @Override
     public Object convertObjectValueToDataValue(final Object o, final Session session) {
-        return ((StorageUnit<?>) o).inByte();
+        final var bytes = ((StorageUnit<?>) o).inByte();
+        // bind a Long to match the BIGINT column declared in initialize, only huge values need a BigInteger
+        return bytes.bitLength() < Long.SIZE ? Long.valueOf(bytes.longValue()) : bytes;
     }
 
     @Override
     public Object convertDataValueToObjectValue(final Object o, final Session session) {
-        return convertToStorageUnit(new BigInteger(o.toString()));
+        if (o instanceof Long || o instanceof Integer || o instanceof Short || o instanceof Byte) {
+            return convertToStorageUnit(((Number) o).longValue());
+        }
+        if (o instanceof BigInteger) {
+            return convertBigInteger((BigInteger) o);
+        }
+        if (o instanceof BigDecimal) {
+            return convertBigInteger(((BigDecimal) o).toBigIntegerExact());
+        }
+        return convertBigInteger(new BigInteger(o.toString()));
     }
 
+    private StorageUnit<?> convertBigInteger(final BigInteger value) {
+        return value.bitLength() < Long.SIZE ? convertToStorageUnit(value.longValue()) : convertToStorageUnit(value);
+    }
+
+    protected abstract StorageUnit<?> convertToStorageUnit(long value);
+
     protected abstract StorageUnit<?> convertToStorageUnit(BigInteger value);
 
     @Override
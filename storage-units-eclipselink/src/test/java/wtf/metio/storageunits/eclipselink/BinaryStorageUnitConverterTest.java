@@ -0,0 +1,90 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+
+package wtf.metio.storageunits.eclipselink;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import wtf.metio.storageunits.model.StorageUnits;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+class BinaryStorageUnitConverterTest {
+
+    @Test
+    void convertLongToStorageUnit() {
+        final var converter = new BinaryStorageUnitConverter();
+        final var unit = converter.convertDataValueToObjectValue(1024L, null);
+
+        Assertions.assertEquals(StorageUnits.kibibyte(1), unit);
+    }
+
+    @Test
+    void convertIntegerToStorageUnit() {
+        final var converter = new BinaryStorageUnitConverter();
+        final var unit = converter.convertDataValueToObjectValue(1024, null);
+
+        Assertions.assertEquals(StorageUnits.kibibyte(1), unit);
+    }
+
+    @Test
+    void convertBigIntegerToStorageUnit() {
+        final var converter = new BinaryStorageUnitConverter();
+        final var unit = converter.convertDataValueToObjectValue(BigInteger.valueOf(1024L), null);
+
+        Assertions.assertEquals(StorageUnits.kibibyte(1), unit);
+    }
+
+    @Test
+    void convertHugeBigIntegerToStorageUnit() {
+        final var converter = new BinaryStorageUnitConverter();
+        final var bytes = BigInteger.ONE.shiftLeft(100);
+        final var unit = converter.convertDataValueToObjectValue(bytes, null);
+
+        Assertions.assertEquals(StorageUnits.qubibyte(1), unit);
+    }
+
+    @Test
+    void convertBigDecimalToStorageUnit() {
+        final var converter = new BinaryStorageUnitConverter();
+        final var unit = converter.convertDataValueToObjectValue(new BigDecimal("1024"), null);
+
+        Assertions.assertEquals(StorageUnits.kibibyte(1), unit);
+    }
+
+    @Test
+    void rejectNonIntegralBigDecimal() {
+        final var converter = new BinaryStorageUnitConverter();
+        final var value = new BigDecimal("1024.5");
+
+        Assertions.assertThrows(ArithmeticException.class, () -> converter.convertDataValueToObjectValue(value, null));
+    }
+
+    @Test
+    void convertStringToStorageUnit() {
+        final var converter = new BinaryStorageUnitConverter();
+        final var unit = converter.convertDataValueToObjectValue("1024", null);
+
+        Assertions.assertEquals(StorageUnits.kibibyte(1), unit);
+    }
+
+    @Test
+    void convertStorageUnitToLong() {
+        final var converter = new BinaryStorageUnitConverter();
+        final var value = converter.convertObjectValueToDataValue(StorageUnits.kibibyte(1), null);
+
+        Assertions.assertEquals(1024L, value);
+    }
+
+    @Test
+    void convertHugeStorageUnitToBigInteger() {
+        final var converter = new BinaryStorageUnitConverter();
+        final var value = converter.convertObjectValueToDataValue(StorageUnits.qubibyte(1), null);
+
+        Assertions.assertEquals(BigInteger.ONE.shiftLeft(100), value);
+    }
+
+}
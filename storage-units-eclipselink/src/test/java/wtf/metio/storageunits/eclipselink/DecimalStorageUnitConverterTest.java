@@ -0,0 +1,57 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+
+package wtf.metio.storageunits.eclipselink;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import wtf.metio.storageunits.model.StorageUnits;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+class DecimalStorageUnitConverterTest {
+
+    @Test
+    void convertLongToStorageUnit() {
+        final var converter = new DecimalStorageUnitConverter();
+        final var unit = converter.convertDataValueToObjectValue(1000L, null);
+
+        Assertions.assertEquals(StorageUnits.kilobyte(1), unit);
+    }
+
+    @Test
+    void convertBigIntegerToStorageUnit() {
+        final var converter = new DecimalStorageUnitConverter();
+        final var unit = converter.convertDataValueToObjectValue(BigInteger.valueOf(1000L), null);
+
+        Assertions.assertEquals(StorageUnits.kilobyte(1), unit);
+    }
+
+    @Test
+    void convertBigDecimalToStorageUnit() {
+        final var converter = new DecimalStorageUnitConverter();
+        final var unit = converter.convertDataValueToObjectValue(new BigDecimal("1000"), null);
+
+        Assertions.assertEquals(StorageUnits.kilobyte(1), unit);
+    }
+
+    @Test
+    void convertStringToStorageUnit() {
+        final var converter = new DecimalStorageUnitConverter();
+        final var unit = converter.convertDataValueToObjectValue("1000", null);
+
+        Assertions.assertEquals(StorageUnits.kilobyte(1), unit);
+    }
+
+    @Test
+    void convertStorageUnitToLong() {
+        final var converter = new DecimalStorageUnitConverter();
+        final var value = converter.convertObjectValueToDataValue(StorageUnits.kilobyte(1), null);
+
+        Assertions.assertEquals(1000L, value);
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.gson;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import org.jspecify.annotations.Nullable;
+import wtf.metio.storageunits.model.StorageUnit;
+import wtf.metio.storageunits.model.StorageUnits;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * Streaming adapter for a single storage unit type. Values are written as numbers and read from whole numbers as well
+ * as strings like {@code "512 MiB"} or {@code "1.5 GiB"}, see {@link StorageUnits#parse(String)}.
+ *
+ * @param <T> The type of storage unit to adapt.
+ */
+final class StorageUnitTypeAdapter<T extends StorageUnit<?>> extends TypeAdapter<T> {
+
+    private final LongFunction<T> fromLong;
+    private final Function<BigInteger, T> fromBigInteger;
+
+    StorageUnitTypeAdapter(final LongFunction<T> fromLong, final Function<BigInteger, T> fromBigInteger) {
+        this.fromLong = fromLong;
+        this.fromBigInteger = fromBigInteger;
+    }
+
+    @Override
+    public void write(final JsonWriter out, final @Nullable T value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        final var bytes = value.inByte();
+        if (bytes.bitLength() < Long.SIZE) {
+            out.value(bytes.longValue());
+        } else {
+            out.value(bytes);
+        }
+    }
+
+    @Override
+    public @Nullable T read(final JsonReader in) throws IOException {
+        final var token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token != JsonToken.NUMBER && token != JsonToken.STRING) {
+            throw new JsonSyntaxException("Expected a storage unit but was " + token + " at path " + in.getPath());
+        }
+        // nextLong() parses numbers beyond the range of long through double and silently saturates values close to
+        // its limits, therefore the text is read once and parsed here instead
+        final var text = in.nextString();
+        try {
+            if (isLong(text)) {
+                return fromLong.apply(Long.parseLong(text));
+            }
+            if (token == JsonToken.NUMBER) {
+                // plain numbers are byte counts, which cannot have a fraction
+                return fromBigInteger.apply(new BigDecimal(text).toBigIntegerExact());
+            }
+            return fromBigInteger.apply(StorageUnits.parse(text).inByte());
+        } catch (final IllegalArgumentException | ArithmeticException exception) {
+            throw new JsonSyntaxException("Cannot parse storage unit '" + text + "' at path " + in.getPath(),
+                    exception);
+        }
+    }
+
+    private static boolean isLong(final String text) {
+        final var start = text.startsWith("-") ? 1 : 0;
+        // 18 digits always fit into a long
+        if (text.length() == start || text.length() - start > 18) {
+            return false;
+        }
+        for (int index = start; index < text.length(); index++) {
+            final var current = text.charAt(index);
+            if (current < '0' || current > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
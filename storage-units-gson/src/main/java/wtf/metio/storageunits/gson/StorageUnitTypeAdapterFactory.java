@@ -0,0 +1,132 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.gson;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import org.jspecify.annotations.Nullable;
+import wtf.metio.storageunits.model.Byte;
+import wtf.metio.storageunits.model.Exabyte;
+import wtf.metio.storageunits.model.Exbibyte;
+import wtf.metio.storageunits.model.Gibibyte;
+import wtf.metio.storageunits.model.Gigabyte;
+import wtf.metio.storageunits.model.Kibibyte;
+import wtf.metio.storageunits.model.Kilobyte;
+import wtf.metio.storageunits.model.Mebibyte;
+import wtf.metio.storageunits.model.Megabyte;
+import wtf.metio.storageunits.model.Pebibyte;
+import wtf.metio.storageunits.model.Petabyte;
+import wtf.metio.storageunits.model.Qubibyte;
+import wtf.metio.storageunits.model.Quettabyte;
+import wtf.metio.storageunits.model.Robibyte;
+import wtf.metio.storageunits.model.Ronnabyte;
+import wtf.metio.storageunits.model.StorageUnit;
+import wtf.metio.storageunits.model.StorageUnits;
+import wtf.metio.storageunits.model.Tebibyte;
+import wtf.metio.storageunits.model.Terabyte;
+import wtf.metio.storageunits.model.Yobibyte;
+import wtf.metio.storageunits.model.Yottabyte;
+import wtf.metio.storageunits.model.Zebibyte;
+import wtf.metio.storageunits.model.Zettabyte;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * Streaming {@link TypeAdapterFactory} for {@link StorageUnit} and all of its subclasses. Unlike the tree-based
+ * serializers, no intermediate {@link com.google.gson.JsonElement} is created for any value. Values requested as one of
+ * the concrete units are read into that unit, while values requested as {@link StorageUnit} use the best-matching unit
+ * of the preferred unit type.
+ */
+public final class StorageUnitTypeAdapterFactory implements TypeAdapterFactory {
+
+    private static final Map<Class<?>, TypeAdapter<?>> CONCRETE_ADAPTERS = new HashMap<>();
+
+    static {
+        register(Byte.class, Byte::valueOf, Byte::valueOf);
+        register(Kibibyte.class, Kibibyte::valueOf, Kibibyte::valueOf);
+        register(Mebibyte.class, Mebibyte::valueOf, Mebibyte::valueOf);
+        register(Gibibyte.class, Gibibyte::valueOf, Gibibyte::valueOf);
+        register(Tebibyte.class, Tebibyte::valueOf, Tebibyte::valueOf);
+        register(Pebibyte.class, Pebibyte::valueOf, Pebibyte::valueOf);
+        register(Exbibyte.class, Exbibyte::valueOf, Exbibyte::valueOf);
+        register(Zebibyte.class, Zebibyte::valueOf, Zebibyte::valueOf);
+        register(Yobibyte.class, Yobibyte::valueOf, Yobibyte::valueOf);
+        register(Robibyte.class, Robibyte::valueOf, Robibyte::valueOf);
+        register(Qubibyte.class, Qubibyte::valueOf, Qubibyte::valueOf);
+        register(Kilobyte.class, Kilobyte::valueOf, Kilobyte::valueOf);
+        register(Megabyte.class, Megabyte::valueOf, Megabyte::valueOf);
+        register(Gigabyte.class, Gigabyte::valueOf, Gigabyte::valueOf);
+        register(Terabyte.class, Terabyte::valueOf, Terabyte::valueOf);
+        register(Petabyte.class, Petabyte::valueOf, Petabyte::valueOf);
+        register(Exabyte.class, Exabyte::valueOf, Exabyte::valueOf);
+        register(Zettabyte.class, Zettabyte::valueOf, Zettabyte::valueOf);
+        register(Yottabyte.class, Yottabyte::valueOf, Yottabyte::valueOf);
+        register(Ronnabyte.class, Ronnabyte::valueOf, Ronnabyte::valueOf);
+        register(Quettabyte.class, Quettabyte::valueOf, Quettabyte::valueOf);
+    }
+
+    private final PreferredUnitType preferredUnitType;
+
+    /**
+     * Creates a new factory which defaults to binary unit types.
+     */
+    public StorageUnitTypeAdapterFactory() {
+        this(PreferredUnitType.BINARY);
+    }
+
+    /**
+     * @param preferredUnitType The preferred de-serialization unit type.
+     */
+    public StorageUnitTypeAdapterFactory(final PreferredUnitType preferredUnitType) {
+        this.preferredUnitType = preferredUnitType;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable TypeAdapter<T> create(final Gson gson, final TypeToken<T> type) {
+        final Class<? super T> rawType = type.getRawType();
+        if (rawType == StorageUnit.class) {
+            return (TypeAdapter<T>) preferredUnitType.adapter;
+        }
+        return (TypeAdapter<T>) CONCRETE_ADAPTERS.get(rawType);
+    }
+
+    private static <T extends StorageUnit<?>> void register(
+            final Class<T> type,
+            final LongFunction<T> fromLong,
+            final Function<BigInteger, T> fromBigInteger) {
+        CONCRETE_ADAPTERS.put(type, new StorageUnitTypeAdapter<>(fromLong, fromBigInteger));
+    }
+
+    /**
+     * The preferred storage unit type for de-serialization.
+     */
+    public enum PreferredUnitType {
+
+        /**
+         * Deserializes values as binary units.
+         */
+        BINARY(new StorageUnitTypeAdapter<>(StorageUnits::binaryValueOf, StorageUnits::binaryValueOf)),
+
+        /**
+         * Deserializes values as decimal units.
+         */
+        DECIMAL(new StorageUnitTypeAdapter<>(StorageUnits::decimalValueOf, StorageUnits::decimalValueOf));
+
+        final TypeAdapter<StorageUnit<?>> adapter;
+
+        PreferredUnitType(final TypeAdapter<StorageUnit<?>> adapter) {
+            this.adapter = adapter;
+        }
+
+    }
+
+}
@@ -0,0 +1,181 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+
+package wtf.metio.storageunits.gson;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.reflect.TypeToken;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import wtf.metio.storageunits.model.Kibibyte;
+import wtf.metio.storageunits.model.Megabyte;
+import wtf.metio.storageunits.model.StorageUnit;
+import wtf.metio.storageunits.model.StorageUnits;
+
+import java.math.BigInteger;
+import java.util.List;
+
+class StorageUnitTypeAdapterFactoryTest {
+
+    private Gson gson;
+
+    @BeforeEach
+    void setUp() {
+        gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new StorageUnitTypeAdapterFactory())
+                .create();
+    }
+
+    @Test
+    void serializeStorageUnitAsNumber() {
+        // given
+        final StorageUnit<?> unit = StorageUnits.kibibyte(1L);
+
+        // when
+        final String output = gson.toJson(unit);
+
+        // then
+        Assertions.assertEquals("1024", output);
+    }
+
+    @Test
+    void serializeStorageUnitBeyondLong() {
+        // given
+        final StorageUnit<?> unit = StorageUnits.quettabyte(1L);
+
+        // when
+        final String output = gson.toJson(unit);
+
+        // then
+        Assertions.assertEquals("1000000000000000000000000000000", output);
+    }
+
+    @Test
+    void deserializeNumbers() {
+        // given
+        final String input = "1024";
+
+        // when
+        final StorageUnit<?> unit = gson.fromJson(input, StorageUnit.class);
+
+        // then
+        Assertions.assertEquals("1.00 KiB", unit.toString());
+    }
+
+    @Test
+    void deserializeNumbersBeyondLong() {
+        // given
+        final String input = "9223372036854775808";
+
+        // when
+        final StorageUnit<?> unit = gson.fromJson(input, StorageUnit.class);
+
+        // then
+        Assertions.assertEquals(BigInteger.ONE.shiftLeft(63), unit.inByte());
+    }
+
+    @Test
+    void deserializeStrings() {
+        // given
+        final String input = "[\"1024\", \"512 MiB\"]";
+
+        // when
+        final List<StorageUnit<?>> units = gson.fromJson(input, new TypeToken<List<StorageUnit<?>>>() {
+        }.getType());
+
+        // then
+        Assertions.assertEquals(List.of("1.00 KiB", "512.00 MiB"), units.stream().map(StorageUnit::toString).toList());
+    }
+
+    @Test
+    void deserializeStringsWithSymbols() {
+        // given
+        final String input = "[\"512 B\", \"1.5 GiB\", \"1 QiB\"]";
+
+        // when
+        final List<StorageUnit<?>> units = gson.fromJson(input, new TypeToken<List<StorageUnit<?>>>() {
+        }.getType());
+
+        // then
+        Assertions.assertEquals(List.of(BigInteger.valueOf(512L), BigInteger.valueOf(3L << 29),
+                StorageUnits.qubibyte(1L).inByte()), units.stream().map(StorageUnit::inByte).toList());
+    }
+
+    @Test
+    void rejectFractionalNumbers() {
+        // given
+        final String input = "1.5";
+
+        // when
+        // then
+        Assertions.assertThrows(JsonSyntaxException.class, () -> gson.fromJson(input, StorageUnit.class));
+    }
+
+    @Test
+    void rejectUnknownSymbols() {
+        // given
+        final String input = "\"5 XB\"";
+
+        // when
+        // then
+        Assertions.assertThrows(JsonSyntaxException.class, () -> gson.fromJson(input, StorageUnit.class));
+    }
+
+    @Test
+    void deserializeConcreteUnits() {
+        // given
+        final String input = "2048";
+
+        // when
+        final Kibibyte kibibyte = gson.fromJson(input, Kibibyte.class);
+        final Megabyte megabyte = gson.fromJson(input, Megabyte.class);
+
+        // then
+        Assertions.assertEquals(StorageUnits.kibibyte(2L), kibibyte);
+        Assertions.assertEquals(BigInteger.valueOf(2048L), megabyte.inByte());
+    }
+
+    @Test
+    void deserializeDecimalUnits() {
+        // given
+        final Gson decimal = new GsonBuilder()
+                .registerTypeAdapterFactory(
+                        new StorageUnitTypeAdapterFactory(StorageUnitTypeAdapterFactory.PreferredUnitType.DECIMAL))
+                .create();
+
+        // when
+        final StorageUnit<?> unit = decimal.fromJson("1000", StorageUnit.class);
+
+        // then
+        Assertions.assertEquals("1.00 kB", unit.toString());
+    }
+
+    @Test
+    void roundTripNulls() {
+        // given
+        final StorageUnit<?> unit = null;
+
+        // when
+        final String output = gson.toJson(unit, StorageUnit.class);
+
+        // then
+        Assertions.assertEquals("null", output);
+        Assertions.assertNull(gson.fromJson(output, StorageUnit.class));
+    }
+
+    @Test
+    void rejectInvalidInput() {
+        // given
+        final String input = "\"lots\"";
+
+        // when
+        // then
+        Assertions.assertThrows(JsonSyntaxException.class, () -> gson.fromJson(input, StorageUnit.class));
+    }
+
+}
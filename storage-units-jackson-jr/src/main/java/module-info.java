@@ -0,0 +1,16 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+/**
+ * Module for Jackson jr support.
+ */
+@org.jspecify.annotations.NullMarked
+module wtf.metio.storageunits.jacksonjr {
+
+    requires wtf.metio.storageunits.model;
+    requires com.fasterxml.jackson.core;
+    requires com.fasterxml.jackson.jr.ob;
+    requires org.jspecify;
+
+}
@@ -0,0 +1,55 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.jacksonjr;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.jr.ob.api.ValueReader;
+import com.fasterxml.jackson.jr.ob.impl.JSONReader;
+import org.jspecify.annotations.Nullable;
+import wtf.metio.storageunits.model.StorageUnit;
+import wtf.metio.storageunits.model.StorageUnits;
+
+import java.io.IOException;
+
+/**
+ * Reads values back into binary storage units. Numbers within the range of {@code long} are read without creating an
+ * intermediate {@link java.math.BigInteger}. Strings like {@code "512 MiB"} are parsed with
+ * {@link StorageUnits#parse(String)}, while fractional numbers are rejected since they cannot be a number of bytes.
+ */
+public final class BinaryStorageUnitReader extends ValueReader {
+
+    /**
+     * Creates a new reader for {@link StorageUnit} values.
+     */
+    public BinaryStorageUnitReader() {
+        super(StorageUnit.class);
+    }
+
+    @Override
+    public @Nullable Object read(final JSONReader reader, final JsonParser parser) throws IOException {
+        if (parser.hasToken(JsonToken.VALUE_NULL)) {
+            return null;
+        }
+        if (parser.hasToken(JsonToken.VALUE_STRING)) {
+            final var text = parser.getText();
+            try {
+                return StorageUnits.parse(text).asBestMatchingBinaryUnit();
+            } catch (final IllegalArgumentException exception) {
+                throw new JsonParseException(parser, "Cannot parse storage unit '" + text + "'", exception);
+            }
+        }
+        if (!parser.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+            throw new JsonParseException(parser, "Expected a whole number of bytes but was " + parser.currentToken());
+        }
+        final var numberType = parser.getNumberType();
+        if (numberType == JsonParser.NumberType.INT || numberType == JsonParser.NumberType.LONG) {
+            return StorageUnits.binaryValueOf(parser.getLongValue());
+        }
+        return StorageUnits.binaryValueOf(parser.getBigIntegerValue());
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.jacksonjr;
+
+import com.fasterxml.jackson.jr.ob.JacksonJrExtension;
+import com.fasterxml.jackson.jr.ob.api.ExtensionContext;
+import com.fasterxml.jackson.jr.ob.api.ReaderWriterProvider;
+import com.fasterxml.jackson.jr.ob.api.ValueReader;
+import com.fasterxml.jackson.jr.ob.api.ValueWriter;
+import com.fasterxml.jackson.jr.ob.impl.JSONReader;
+import com.fasterxml.jackson.jr.ob.impl.JSONWriter;
+import org.jspecify.annotations.Nullable;
+import wtf.metio.storageunits.model.StorageUnit;
+
+/**
+ * Jackson jr extension to configure de-/serialization of storage units.
+ */
+public final class StorageUnitExtension extends JacksonJrExtension {
+
+    private final PreferredUnitType preferredUnitType;
+
+    /**
+     * Creates a new extension which defaults to binary unit types.
+     */
+    public StorageUnitExtension() {
+        this(PreferredUnitType.BINARY);
+    }
+
+    /**
+     * @param preferredUnitType The preferred de-serialization unit type.
+     */
+    public StorageUnitExtension(final PreferredUnitType preferredUnitType) {
+        this.preferredUnitType = preferredUnitType;
+    }
+
+    @Override
+    protected void register(final ExtensionContext extensionContext) {
+        extensionContext.insertProvider(new StorageUnitProvider(preferredUnitType));
+    }
+
+    /**
+     * The preferred storage unit type for de-serialization.
+     */
+    public enum PreferredUnitType {
+
+        /**
+         * Reads values as binary units.
+         */
+        BINARY(new BinaryStorageUnitReader()),
+
+        /**
+         * Reads values as decimal units.
+         */
+        DECIMAL(new DecimalStorageUnitReader());
+
+        /**
+         * The reader to use. Readers are stateless, thus every lookup returns the same instance.
+         */
+        final ValueReader reader;
+
+        PreferredUnitType(final ValueReader reader) {
+            this.reader = reader;
+        }
+
+    }
+
+    private static final class StorageUnitProvider extends ReaderWriterProvider {
+
+        private static final ValueWriter WRITER = new StorageUnitWriter();
+
+        private final PreferredUnitType preferredUnitType;
+
+        StorageUnitProvider(final PreferredUnitType preferredUnitType) {
+            this.preferredUnitType = preferredUnitType;
+        }
+
+        @Override
+        public @Nullable ValueReader findValueReader(final JSONReader readContext, final Class<?> type) {
+            if (StorageUnit.class.isAssignableFrom(type)) {
+                return preferredUnitType.reader;
+            }
+            return null;
+        }
+
+        @Override
+        public @Nullable ValueWriter findValueWriter(final JSONWriter writeContext, final Class<?> type) {
+            if (StorageUnit.class.isAssignableFrom(type)) {
+                return WRITER;
+            }
+            return null;
+        }
+
+    }
+
+}
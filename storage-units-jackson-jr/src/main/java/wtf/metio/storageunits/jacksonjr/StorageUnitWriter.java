@@ -0,0 +1,36 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.jacksonjr;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.jr.ob.api.ValueWriter;
+import com.fasterxml.jackson.jr.ob.impl.JSONWriter;
+import wtf.metio.storageunits.model.StorageUnit;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link StorageUnit} as its number of bytes. Values within the range of {@code long} are written as such,
+ * which avoids formatting a {@link java.math.BigInteger}.
+ */
+public final class StorageUnitWriter implements ValueWriter {
+
+    @Override
+    public void writeValue(final JSONWriter context, final JsonGenerator generator, final Object value)
+            throws IOException {
+        final var bytes = ((StorageUnit<?>) value).inByte();
+        if (bytes.bitLength() < Long.SIZE) {
+            generator.writeNumber(bytes.longValue());
+        } else {
+            generator.writeNumber(bytes);
+        }
+    }
+
+    @Override
+    public Class<?> valueType() {
+        return StorageUnit.class;
+    }
+
+}
@@ -0,0 +1,10 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+/**
+ * Serialization support for Jackson jr.
+ *
+ * @see <a href="https://github.com/FasterXML/jackson-jr">Jackson jr Homepage</a>
+ */
+package wtf.metio.storageunits.jacksonjr;
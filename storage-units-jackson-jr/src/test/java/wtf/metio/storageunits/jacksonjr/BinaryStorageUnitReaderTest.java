@@ -0,0 +1,106 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.jacksonjr;
+
+import com.fasterxml.jackson.jr.ob.JSON;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import wtf.metio.storageunits.model.StorageUnit;
+
+import java.io.IOException;
+
+class BinaryStorageUnitReaderTest {
+
+    private JSON json;
+
+    @BeforeEach
+    void setUp() {
+        json = JSON.builder().register(new StorageUnitExtension(StorageUnitExtension.PreferredUnitType.BINARY)).build();
+    }
+
+    @Test
+    void readStorageUnit() throws IOException {
+        // given
+        final String input = "1024";
+
+        // when
+        final StorageUnit<?> unit = json.beanFrom(StorageUnit.class, input);
+
+        // then
+        Assertions.assertEquals("1.00 KiB", unit.toString());
+    }
+
+    @Test
+    void readStorageUnitBeyondLong() throws IOException {
+        // given
+        final String input = "1267650600228229401496703205376";
+
+        // when
+        final StorageUnit<?> unit = json.beanFrom(StorageUnit.class, input);
+
+        // then
+        Assertions.assertEquals("1.00 QiB", unit.toString());
+    }
+
+    @Test
+    void readStorageUnitFromString() throws IOException {
+        // given
+        final String input = "\"512 MiB\"";
+
+        // when
+        final StorageUnit<?> unit = json.beanFrom(StorageUnit.class, input);
+
+        // then
+        Assertions.assertEquals("512.00 MiB", unit.toString());
+    }
+
+    @Test
+    void rejectUnknownUnitSymbol() {
+        // given
+        final String input = "\"512 XiB\"";
+
+        // when
+        // then
+        Assertions.assertThrows(IOException.class, () -> json.beanFrom(StorageUnit.class, input));
+    }
+
+    @Test
+    void rejectFractionalNumber() {
+        // given
+        final String input = "1.5";
+
+        // when
+        // then
+        Assertions.assertThrows(IOException.class, () -> json.beanFrom(StorageUnit.class, input));
+    }
+
+    @Test
+    void readStorageUnitProperty() throws IOException {
+        // given
+        final String input = "{\"size\":1024}";
+
+        // when
+        final Volume volume = json.beanFrom(Volume.class, input);
+
+        // then
+        Assertions.assertEquals("1.00 KiB", volume.getSize().toString());
+    }
+
+    public static final class Volume {
+
+        private StorageUnit<?> size;
+
+        public StorageUnit<?> getSize() {
+            return size;
+        }
+
+        public void setSize(final StorageUnit<?> size) {
+            this.size = size;
+        }
+
+    }
+
+}
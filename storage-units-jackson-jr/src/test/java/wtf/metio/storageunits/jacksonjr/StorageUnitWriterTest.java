@@ -0,0 +1,74 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.jacksonjr;
+
+import com.fasterxml.jackson.jr.ob.JSON;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import wtf.metio.storageunits.model.StorageUnit;
+import wtf.metio.storageunits.model.StorageUnits;
+
+import java.io.IOException;
+import java.util.List;
+
+class StorageUnitWriterTest {
+
+    private JSON json;
+
+    @BeforeEach
+    void setUp() {
+        json = JSON.builder().register(new StorageUnitExtension()).build();
+    }
+
+    @Test
+    void writeStorageUnit() throws IOException {
+        // given
+        final StorageUnit<?> unit = StorageUnits.kibibyte(1L);
+
+        // when
+        final String output = json.asString(unit);
+
+        // then
+        Assertions.assertEquals("1024", output);
+    }
+
+    @Test
+    void writeStorageUnitBeyondLong() throws IOException {
+        // given
+        final StorageUnit<?> unit = StorageUnits.quettabyte(1L);
+
+        // when
+        final String output = json.asString(unit);
+
+        // then
+        Assertions.assertEquals("1000000000000000000000000000000", output);
+    }
+
+    @Test
+    void writeStorageUnitsInCollections() throws IOException {
+        // given
+        final List<StorageUnit<?>> units = List.of(StorageUnits.bytes(1L), StorageUnits.megabyte(1L));
+
+        // when
+        final String output = json.asString(units);
+
+        // then
+        Assertions.assertEquals("[1,1000000]", output);
+    }
+
+    @Test
+    void writeNonStorageUnit() throws IOException {
+        // given
+        final String input = "abc";
+
+        // when
+        final String output = json.asString(input);
+
+        // then
+        Assertions.assertEquals("\"abc\"", output);
+    }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import org.jspecify.annotations.Nullable;
+import wtf.metio.storageunits.model.StorageUnit;
+
+import java.io.IOException;
+
+/**
+ * Resolves the serializer of each property once, based on its {@link StorageUnitFormat} annotation or the default
+ * shape of the module.
+ */
+final class ContextualStorageUnitSerializer extends JsonSerializer<StorageUnit<?>> implements ContextualSerializer {
+
+    private final StorageUnitModule.OutputShape defaultShape;
+
+    ContextualStorageUnitSerializer(final StorageUnitModule.OutputShape defaultShape) {
+        this.defaultShape = defaultShape;
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(
+            final SerializerProvider serializerProvider,
+            final @Nullable BeanProperty property) {
+        if (property != null) {
+            final var format = property.getAnnotation(StorageUnitFormat.class);
+            if (format != null) {
+                return format.value().serializer;
+            }
+        }
+        return defaultShape.serializer;
+    }
+
+    @Override
+    public void serialize(
+            final StorageUnit<?> t,
+            final JsonGenerator jsonGenerator,
+            final SerializerProvider serializerProvider) throws IOException {
+        defaultShape.serializer.serialize(t, jsonGenerator, serializerProvider);
+    }
+
+}
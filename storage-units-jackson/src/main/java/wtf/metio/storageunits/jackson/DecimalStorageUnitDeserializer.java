@@ -5,6 +5,7 @@
 package wtf.metio.storageunits.jackson;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import wtf.metio.storageunits.model.StorageUnit;
@@ -13,13 +14,22 @@ import wtf.metio.storageunits.model.StorageUnits;
 import java.io.IOException;
 
 /**
- * Deserializes value back into decimal storage units.
+ * Deserializes value back into decimal storage units. Numbers within the range of {@code long} are read without
+ * creating an intermediate {@link java.math.BigInteger}. Strings like {@code "512 MiB"} are accepted as well.
  */
 public final class DecimalStorageUnitDeserializer extends JsonDeserializer<StorageUnit<?>> {
 
     @Override
     public StorageUnit<?> deserialize(final JsonParser jsonParser, final DeserializationContext deserializationContext)
             throws IOException {
+        if (jsonParser.hasToken(JsonToken.VALUE_STRING)) {
+            return StorageUnitTextParser.parse(jsonParser, deserializationContext,
+                    StorageUnits::decimalValueOf, StorageUnits::decimalValueOf);
+        }
+        final var numberType = jsonParser.getNumberType();
+        if (numberType == JsonParser.NumberType.INT || numberType == JsonParser.NumberType.LONG) {
+            return StorageUnits.decimalValueOf(jsonParser.getLongValue());
+        }
         return StorageUnits.decimalValueOf(jsonParser.getBigIntegerValue());
     }
 
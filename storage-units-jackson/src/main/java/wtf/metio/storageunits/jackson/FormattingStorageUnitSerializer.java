@@ -0,0 +1,35 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import wtf.metio.storageunits.model.StorageUnit;
+
+import java.io.IOException;
+import java.math.RoundingMode;
+
+/**
+ * Serializes a {@link StorageUnit} into a human-readable string like {@code "1.50 GiB"} using its own unit. The amount
+ * always uses two fraction digits and a dot as decimal separator, regardless of the default locale. The amount is
+ * rounded, thus this shape is meant for display only and does not necessarily read back into the same number of bytes.
+ */
+public final class FormattingStorageUnitSerializer extends JsonSerializer<StorageUnit<?>> {
+
+    @Override
+    public void serialize(
+            final StorageUnit<?> t,
+            final JsonGenerator jsonGenerator,
+            final SerializerProvider serializerProvider) throws IOException {
+        jsonGenerator.writeString(format(t));
+    }
+
+    static String format(final StorageUnit<?> unit) {
+        final var amount = unit.unitValue(RoundingMode.HALF_UP).setScale(2, RoundingMode.HALF_UP).toPlainString();
+        return amount + ' ' + UnitSymbols.symbolOf(unit).getValue();
+    }
+
+}
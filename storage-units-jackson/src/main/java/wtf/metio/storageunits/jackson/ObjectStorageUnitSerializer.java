@@ -0,0 +1,39 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import wtf.metio.storageunits.model.StorageUnit;
+
+import java.io.IOException;
+import java.math.RoundingMode;
+
+/**
+ * Serializes a {@link StorageUnit} into an object like {@code {"value":1.5,"unit":"GiB"}} using its own unit. Field
+ * names and unit symbols are pre-encoded.
+ */
+public final class ObjectStorageUnitSerializer extends JsonSerializer<StorageUnit<?>> {
+
+    private static final SerializableString VALUE = new SerializedString("value");
+    private static final SerializableString UNIT = new SerializedString("unit");
+
+    @Override
+    public void serialize(
+            final StorageUnit<?> t,
+            final JsonGenerator jsonGenerator,
+            final SerializerProvider serializerProvider) throws IOException {
+        jsonGenerator.writeStartObject(t);
+        jsonGenerator.writeFieldName(VALUE);
+        jsonGenerator.writeNumber(t.unitValue(RoundingMode.HALF_UP));
+        jsonGenerator.writeFieldName(UNIT);
+        jsonGenerator.writeString(UnitSymbols.symbolOf(t));
+        jsonGenerator.writeEndObject();
+    }
+
+}
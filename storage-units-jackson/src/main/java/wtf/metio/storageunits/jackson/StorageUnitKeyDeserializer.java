@@ -0,0 +1,42 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.jackson;
+
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import wtf.metio.storageunits.model.StorageUnit;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * Deserializes {@link StorageUnit} map keys written as number of bytes or as human-readable strings like
+ * {@code "512 MiB"}. Plain byte counts within the range of {@code long} are parsed without any intermediate objects.
+ */
+final class StorageUnitKeyDeserializer extends KeyDeserializer {
+
+    private final LongFunction<StorageUnit<?>> fromLong;
+    private final Function<BigInteger, StorageUnit<?>> fromBigInteger;
+
+    StorageUnitKeyDeserializer(
+            final LongFunction<StorageUnit<?>> fromLong,
+            final Function<BigInteger, StorageUnit<?>> fromBigInteger) {
+        this.fromLong = fromLong;
+        this.fromBigInteger = fromBigInteger;
+    }
+
+    @Override
+    public Object deserializeKey(final String key, final DeserializationContext deserializationContext)
+            throws IOException {
+        try {
+            return StorageUnitTextParser.parse(key, fromLong, fromBigInteger);
+        } catch (final IllegalArgumentException | ArithmeticException exception) {
+            return deserializationContext.handleWeirdKey(StorageUnit.class, key, exception.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,33 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import wtf.metio.storageunits.model.StorageUnit;
+
+import java.io.IOException;
+
+/**
+ * Serializes {@link StorageUnit} map keys as their exact number of bytes. Keys are never formatted, because rounded
+ * values could map distinct units onto the same field name.
+ */
+final class StorageUnitKeySerializer extends JsonSerializer<StorageUnit<?>> {
+
+    @Override
+    public void serialize(
+            final StorageUnit<?> t,
+            final JsonGenerator jsonGenerator,
+            final SerializerProvider serializerProvider) throws IOException {
+        final var bytes = t.inByte();
+        if (bytes.bitLength() < Long.SIZE) {
+            jsonGenerator.writeFieldId(bytes.longValue());
+        } else {
+            jsonGenerator.writeFieldName(bytes.toString());
+        }
+    }
+
+}
@@ -8,8 +8,11 @@ import com.fasterxml.jackson.core.Version;
 import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.deser.Deserializers;
+import com.fasterxml.jackson.databind.deser.KeyDeserializers;
 import com.fasterxml.jackson.databind.ser.Serializers;
+import org.jspecify.annotations.Nullable;
 import wtf.metio.storageunits.model.StorageUnit;
+import wtf.metio.storageunits.model.StorageUnits;
 
 import java.util.function.Supplier;
 
@@ -24,6 +27,7 @@ public class StorageUnitModule extends Module {
             "storage-units-jackson");
 
     private final PreferredUnitType preferredUnitType;
+    private final OutputShape outputShape;
 
     /**
      * Creates a new module which defaults to binary unit types.
@@ -36,7 +40,17 @@ public class StorageUnitModule extends Module {
      * @param preferredUnitType The preferred de-serialization unit type.
      */
     public StorageUnitModule(final PreferredUnitType preferredUnitType) {
+        this(preferredUnitType, OutputShape.BYTES);
+    }
+
+    /**
+     * @param preferredUnitType The preferred de-serialization unit type.
+     * @param outputShape       The default serialization shape, which can be overridden per property with
+     *                          {@link StorageUnitFormat}.
+     */
+    public StorageUnitModule(final PreferredUnitType preferredUnitType, final OutputShape outputShape) {
         this.preferredUnitType = preferredUnitType;
+        this.outputShape = outputShape;
     }
 
     @Override
@@ -51,8 +65,10 @@ public class StorageUnitModule extends Module {
 
     @Override
     public void setupModule(final SetupContext setupContext) {
-        setupContext.addSerializers(new StorageUnitSerializers());
+        setupContext.addSerializers(new StorageUnitSerializers(outputShape));
         setupContext.addDeserializers(new StorageUnitDeserializers(preferredUnitType));
+        setupContext.addKeySerializers(new StorageUnitKeySerializers());
+        setupContext.addKeyDeserializers(new StorageUnitKeyDeserializers(preferredUnitType));
     }
 
     /**
@@ -63,28 +79,70 @@ public class StorageUnitModule extends Module {
         /**
          * Deserializes values as binary units.
          */
-        BINARY(BinaryStorageUnitDeserializer::new),
+        BINARY(new BinaryStorageUnitDeserializer(),
+                new StorageUnitKeyDeserializer(StorageUnits::binaryValueOf, StorageUnits::binaryValueOf)),
 
         /**
          * Deserializes values as decimal units.
          */
-        DECIMAL(DecimalStorageUnitDeserializer::new);
+        DECIMAL(new DecimalStorageUnitDeserializer(),
+                new StorageUnitKeyDeserializer(StorageUnits::decimalValueOf, StorageUnits::decimalValueOf));
 
         /**
-         * The deserializer to use.
+         * The deserializer to use. Deserializers are stateless, thus every lookup returns the same instance.
          */
         final Supplier<JsonDeserializer<?>> deserializer;
 
-        PreferredUnitType(final Supplier<JsonDeserializer<?>> deserializer) {
-            this.deserializer = deserializer;
+        /**
+         * The deserializer to use for map keys.
+         */
+        final KeyDeserializer keyDeserializer;
+
+        PreferredUnitType(final JsonDeserializer<?> deserializer, final KeyDeserializer keyDeserializer) {
+            this.deserializer = () -> deserializer;
+            this.keyDeserializer = keyDeserializer;
+        }
+
+    }
+
+    /**
+     * The shape of serialized storage units.
+     */
+    public enum OutputShape {
+
+        /**
+         * Serializes values as their number of bytes, e.g. {@code 1610612736}.
+         */
+        BYTES(new UnwrappingStorageUnitSerializer()),
+
+        /**
+         * Serializes values as human-readable strings, e.g. {@code "1.50 GiB"}. The amount is rounded to two fraction
+         * digits, thus this shape is lossy and meant for display only.
+         */
+        STRING(new FormattingStorageUnitSerializer()),
+
+        /**
+         * Serializes values as objects containing their value and unit, e.g. {@code {"value":1.5,"unit":"GiB"}}.
+         */
+        OBJECT(new ObjectStorageUnitSerializer());
+
+        /**
+         * The serializer to use.
+         */
+        final JsonSerializer<StorageUnit<?>> serializer;
+
+        OutputShape(final JsonSerializer<StorageUnit<?>> serializer) {
+            this.serializer = serializer;
         }
 
     }
 
     private static final class StorageUnitSerializers extends Serializers.Base {
 
-        StorageUnitSerializers() {
-            // no config yet
+        private final JsonSerializer<StorageUnit<?>> serializer;
+
+        StorageUnitSerializers(final OutputShape outputShape) {
+            serializer = new ContextualStorageUnitSerializer(outputShape);
         }
 
         @Override
@@ -93,11 +151,10 @@ public class StorageUnitModule extends Module {
                 final JavaType type,
                 final BeanDescription beanDesc) {
             final Class<?> rawClass = type.getRawClass();
-            JsonSerializer<?> serializer = null;
             if (StorageUnit.class.isAssignableFrom(rawClass)) {
-                serializer = new UnwrappingStorageUnitSerializer();
+                return serializer;
             }
-            return serializer;
+            return super.findSerializer(config, type, beanDesc);
         }
 
     }
@@ -127,4 +184,43 @@ public class StorageUnitModule extends Module {
 
     }
 
+    private static final class StorageUnitKeySerializers extends Serializers.Base {
+
+        private final JsonSerializer<StorageUnit<?>> serializer = new StorageUnitKeySerializer();
+
+        @Override
+        public JsonSerializer<?> findSerializer(
+                final SerializationConfig config,
+                final JavaType type,
+                final BeanDescription beanDesc) {
+            final Class<?> rawClass = type.getRawClass();
+            if (StorageUnit.class.isAssignableFrom(rawClass)) {
+                return serializer;
+            }
+            return super.findSerializer(config, type, beanDesc);
+        }
+
+    }
+
+    private static final class StorageUnitKeyDeserializers implements KeyDeserializers {
+
+        private final PreferredUnitType preferredUnitType;
+
+        StorageUnitKeyDeserializers(final PreferredUnitType preferredUnitType) {
+            this.preferredUnitType = preferredUnitType;
+        }
+
+        @Override
+        public @Nullable KeyDeserializer findKeyDeserializer(
+                final JavaType type,
+                final DeserializationConfig config,
+                final BeanDescription beanDesc) {
+            if (StorageUnit.class.isAssignableFrom(type.getRawClass())) {
+                return preferredUnitType.keyDeserializer;
+            }
+            return null;
+        }
+
+    }
+
 }
@@ -0,0 +1,186 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import wtf.metio.storageunits.model.StorageUnit;
+import wtf.metio.storageunits.model.StorageUnits;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * Parses human-readable sizes like {@code "512 MiB"} directly from the character buffer of a {@link JsonParser}. Whole
+ * amounts which fit into a {@code long} after scaling are parsed without any intermediate objects, everything else
+ * falls back to {@link BigDecimal}.
+ */
+final class StorageUnitTextParser {
+
+    private static final List<String> SYMBOL_NAMES = List.of(
+            "B",
+            "KiB", "MiB", "GiB", "TiB", "PiB", "EiB", "ZiB", "YiB", "RiB", "QiB",
+            "kB", "MB", "GB", "TB", "PB", "EB", "ZB", "YB", "RB", "QB");
+
+    private static final List<BigInteger> UNIT_SIZES = List.of(
+            StorageUnits.bytes(1L).inByte(),
+            StorageUnits.kibibyte(1L).inByte(), StorageUnits.mebibyte(1L).inByte(),
+            StorageUnits.gibibyte(1L).inByte(), StorageUnits.tebibyte(1L).inByte(),
+            StorageUnits.pebibyte(1L).inByte(), StorageUnits.exbibyte(1L).inByte(),
+            StorageUnits.zebibyte(1L).inByte(), StorageUnits.yobibyte(1L).inByte(),
+            StorageUnits.robibyte(1L).inByte(), StorageUnits.qubibyte(1L).inByte(),
+            StorageUnits.kilobyte(1L).inByte(), StorageUnits.megabyte(1L).inByte(),
+            StorageUnits.gigabyte(1L).inByte(), StorageUnits.terabyte(1L).inByte(),
+            StorageUnits.petabyte(1L).inByte(), StorageUnits.exabyte(1L).inByte(),
+            StorageUnits.zettabyte(1L).inByte(), StorageUnits.yottabyte(1L).inByte(),
+            StorageUnits.ronnabyte(1L).inByte(), StorageUnits.quettabyte(1L).inByte());
+
+    private static final char[][] SYMBOLS = new char[SYMBOL_NAMES.size()][];
+    private static final BigDecimal[] MULTIPLIERS = new BigDecimal[SYMBOL_NAMES.size()];
+    private static final long[] LONG_MULTIPLIERS = new long[SYMBOL_NAMES.size()];
+
+    static {
+        for (int index = 0; index < SYMBOL_NAMES.size(); index++) {
+            final var size = UNIT_SIZES.get(index);
+            SYMBOLS[index] = SYMBOL_NAMES.get(index).toCharArray();
+            MULTIPLIERS[index] = new BigDecimal(size);
+            // multipliers beyond the range of long are marked with zero and always use the slow path
+            LONG_MULTIPLIERS[index] = size.bitLength() < Long.SIZE ? size.longValue() : 0L;
+        }
+    }
+
+    private StorageUnitTextParser() {
+        // Hidden constructor.
+    }
+
+    static StorageUnit<?> parse(
+            final JsonParser jsonParser,
+            final DeserializationContext deserializationContext,
+            final LongFunction<StorageUnit<?>> fromLong,
+            final Function<BigInteger, StorageUnit<?>> fromBigInteger) throws IOException {
+        try {
+            return parse(jsonParser.getTextCharacters(), jsonParser.getTextOffset(), jsonParser.getTextLength(),
+                    fromLong, fromBigInteger);
+        } catch (final IllegalArgumentException | ArithmeticException exception) {
+            throw deserializationContext.weirdStringException(jsonParser.getText(), StorageUnit.class,
+                    exception.getMessage());
+        }
+    }
+
+    static StorageUnit<?> parse(
+            final String text,
+            final LongFunction<StorageUnit<?>> fromLong,
+            final Function<BigInteger, StorageUnit<?>> fromBigInteger) {
+        // plain byte counts are the common case for map keys and are read without copying the characters
+        final var length = text.length();
+        final var start = length > 0 && text.charAt(0) == '-' ? 1 : 0;
+        if (length > start && length - start <= 18) {
+            long amount = 0;
+            var position = start;
+            for (; position < length; position++) {
+                final var current = text.charAt(position);
+                if (current < '0' || current > '9') {
+                    break;
+                }
+                amount = amount * 10 + (current - '0');
+            }
+            if (position == length) {
+                return fromLong.apply(start == 1 ? -amount : amount);
+            }
+        }
+        return parse(text.toCharArray(), 0, length, fromLong, fromBigInteger);
+    }
+
+    static StorageUnit<?> parse(
+            final char[] text,
+            final int offset,
+            final int length,
+            final LongFunction<StorageUnit<?>> fromLong,
+            final Function<BigInteger, StorageUnit<?>> fromBigInteger) {
+        var start = offset;
+        var end = offset + length;
+        while (start < end && Character.isWhitespace(text[start])) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(text[end - 1])) {
+            end--;
+        }
+
+        final var numberStart = start;
+        var position = start;
+        if (position < end && (text[position] == '-' || text[position] == '+')) {
+            position++;
+        }
+        var digits = 0;
+        var fraction = false;
+        long amount = 0;
+        for (; position < end; position++) {
+            final var current = text[position];
+            if (current >= '0' && current <= '9') {
+                amount = amount * 10 + (current - '0');
+                digits++;
+            } else if (current == '.' && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            throw new IllegalArgumentException("Size does not start with a number");
+        }
+        final var numberEnd = position;
+        while (position < end && Character.isWhitespace(text[position])) {
+            position++;
+        }
+        final var unit = findUnit(text, position, end);
+
+        // 18 digits always fit into a long, longer amounts use the slow path to detect overflows
+        if (!fraction && digits <= 18) {
+            final var signed = text[numberStart] == '-' ? -amount : amount;
+            final var multiplier = LONG_MULTIPLIERS[unit];
+            if (multiplier != 0L) {
+                final var high = Math.multiplyHigh(signed, multiplier);
+                final var low = signed * multiplier;
+                if ((high == 0L && low >= 0L) || (high == -1L && low < 0L)) {
+                    return fromLong.apply(low);
+                }
+            }
+        }
+        final var bytes = new BigDecimal(text, numberStart, numberEnd - numberStart)
+                .multiply(MULTIPLIERS[unit])
+                .toBigInteger();
+        return fromBigInteger.apply(bytes);
+    }
+
+    private static int findUnit(final char[] text, final int start, final int end) {
+        if (start == end) {
+            return 0;
+        }
+        if (end - start == 1 && text[start] == 'b') {
+            return 0;
+        }
+        for (int index = 0; index < SYMBOLS.length; index++) {
+            final var symbol = SYMBOLS[index];
+            if (symbol.length == end - start && regionMatches(text, start, symbol)) {
+                return index;
+            }
+        }
+        throw new IllegalArgumentException("Unknown unit " + new String(text, start, end - start));
+    }
+
+    private static boolean regionMatches(final char[] text, final int start, final char[] symbol) {
+        for (int index = 0; index < symbol.length; index++) {
+            if (text[start + index] != symbol[index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.jackson;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import wtf.metio.storageunits.model.StorageUnit;
+import wtf.metio.storageunits.model.StorageUnits;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pre-encoded unit symbols, which allows generators to copy their bytes instead of encoding them on every write.
+ */
+final class UnitSymbols {
+
+    private static final Map<Class<?>, SerializedString> SYMBOLS = new ConcurrentHashMap<>();
+
+    static {
+        register(StorageUnits.bytes(0L), "B");
+        register(StorageUnits.kibibyte(0L), "KiB");
+        register(StorageUnits.mebibyte(0L), "MiB");
+        register(StorageUnits.gibibyte(0L), "GiB");
+        register(StorageUnits.tebibyte(0L), "TiB");
+        register(StorageUnits.pebibyte(0L), "PiB");
+        register(StorageUnits.exbibyte(0L), "EiB");
+        register(StorageUnits.zebibyte(0L), "ZiB");
+        register(StorageUnits.yobibyte(0L), "YiB");
+        register(StorageUnits.robibyte(0L), "RiB");
+        register(StorageUnits.qubibyte(0L), "QiB");
+        register(StorageUnits.kilobyte(0L), "kB");
+        register(StorageUnits.megabyte(0L), "MB");
+        register(StorageUnits.gigabyte(0L), "GB");
+        register(StorageUnits.terabyte(0L), "TB");
+        register(StorageUnits.petabyte(0L), "PB");
+        register(StorageUnits.exabyte(0L), "EB");
+        register(StorageUnits.zettabyte(0L), "ZB");
+        register(StorageUnits.yottabyte(0L), "YB");
+        register(StorageUnits.ronnabyte(0L), "RB");
+        register(StorageUnits.quettabyte(0L), "QB");
+    }
+
+    private UnitSymbols() {
+        // Hidden constructor.
+    }
+
+    static SerializableString symbolOf(final StorageUnit<?> unit) {
+        // custom units are resolved from their formatted representation once and cached afterwards
+        return SYMBOLS.computeIfAbsent(unit.getClass(), type -> {
+            final var rendered = unit.toString();
+            return new SerializedString(rendered.substring(rendered.lastIndexOf(' ') + 1));
+        });
+    }
+
+    private static void register(final StorageUnit<?> unit, final String symbol) {
+        SYMBOLS.put(unit.getClass(), new SerializedString(symbol));
+    }
+
+}
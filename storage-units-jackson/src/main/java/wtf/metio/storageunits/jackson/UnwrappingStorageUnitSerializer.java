@@ -13,7 +13,8 @@ import java.io.IOException;
 import java.math.BigInteger;
 
 /**
- * Serializes a {@link StorageUnit} by unwrapping the enclosed {@link BigInteger} value.
+ * Serializes a {@link StorageUnit} by unwrapping the enclosed {@link BigInteger} value. Values within the range of
+ * {@code long} are written as such, which avoids formatting the {@link BigInteger}.
  */
 public final class UnwrappingStorageUnitSerializer extends JsonSerializer<StorageUnit<?>> {
 
@@ -22,7 +23,12 @@ public final class UnwrappingStorageUnitSerializer extends JsonSerializer<Storag
             final StorageUnit<?> t,
             final JsonGenerator jsonGenerator,
             final SerializerProvider serializerProvider) throws IOException {
-        jsonGenerator.writeNumber(t.inByte());
+        final var bytes = t.inByte();
+        if (bytes.bitLength() < Long.SIZE) {
+            jsonGenerator.writeNumber(bytes.longValue());
+        } else {
+            jsonGenerator.writeNumber(bytes);
+        }
     }
 
 }
@@ -4,13 +4,16 @@
  */
 package wtf.metio.storageunits.jackson;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import wtf.metio.storageunits.model.StorageUnit;
 
 import java.io.IOException;
+import java.util.List;
 
 class BinaryDeserializationTest {
 
@@ -34,4 +37,52 @@ class BinaryDeserializationTest {
         Assertions.assertEquals("1.00 KiB", unit.toString());
     }
 
+    @Test
+    void deserializeStorageUnitBeyondLong() throws IOException {
+        // given
+        final String input = "1267650600228229401496703205376";
+
+        // when
+        final StorageUnit<?> unit = mapper.readValue(input, StorageUnit.class);
+
+        // then
+        Assertions.assertEquals("1.00 QiB", unit.toString());
+    }
+
+    @Test
+    void deserializeStorageUnitFromString() throws IOException {
+        // given
+        final String input = "\"512 MiB\"";
+
+        // when
+        final StorageUnit<?> unit = mapper.readValue(input, StorageUnit.class);
+
+        // then
+        Assertions.assertEquals("512.00 MiB", unit.toString());
+    }
+
+    @Test
+    void deserializeMixedPayload() throws IOException {
+        // given
+        final String input = "[1024, \" 1.5 KiB \", \"2048\", \"1 kB\"]";
+
+        // when
+        final List<StorageUnit<?>> units = mapper.readValue(input, new TypeReference<>() {
+        });
+
+        // then
+        Assertions.assertEquals(List.of("1.00 KiB", "1.50 KiB", "2.00 KiB", "1000.00 B"),
+                units.stream().map(StorageUnit::toString).toList());
+    }
+
+    @Test
+    void rejectUnknownUnit() {
+        // given
+        final String input = "\"5 XB\"";
+
+        // when
+        // then
+        Assertions.assertThrows(InvalidFormatException.class, () -> mapper.readValue(input, StorageUnit.class));
+    }
+
 }
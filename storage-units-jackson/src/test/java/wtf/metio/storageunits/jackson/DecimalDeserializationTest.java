@@ -4,13 +4,16 @@
  */
 package wtf.metio.storageunits.jackson;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import wtf.metio.storageunits.model.StorageUnit;
 
 import java.io.IOException;
+import java.util.List;
 
 class DecimalDeserializationTest {
 
@@ -34,4 +37,52 @@ class DecimalDeserializationTest {
         Assertions.assertEquals("1.00 kB", unit.toString());
     }
 
+    @Test
+    void deserializeStorageUnitBeyondLong() throws IOException {
+        // given
+        final String input = "1000000000000000000000000000000";
+
+        // when
+        final StorageUnit<?> unit = mapper.readValue(input, StorageUnit.class);
+
+        // then
+        Assertions.assertEquals("1.00 QB", unit.toString());
+    }
+
+    @Test
+    void deserializeStorageUnitFromString() throws IOException {
+        // given
+        final String input = "\"512 MB\"";
+
+        // when
+        final StorageUnit<?> unit = mapper.readValue(input, StorageUnit.class);
+
+        // then
+        Assertions.assertEquals("512.00 MB", unit.toString());
+    }
+
+    @Test
+    void deserializeMixedPayload() throws IOException {
+        // given
+        final String input = "[1024, \"1024 KiB\", \"2 QB\"]";
+
+        // when
+        final List<StorageUnit<?>> units = mapper.readValue(input, new TypeReference<>() {
+        });
+
+        // then
+        Assertions.assertEquals(List.of("1.02 kB", "1.05 MB", "2.00 QB"),
+                units.stream().map(StorageUnit::toString).toList());
+    }
+
+    @Test
+    void rejectUnknownUnit() {
+        // given
+        final String input = "\"5 XB\"";
+
+        // when
+        // then
+        Assertions.assertThrows(InvalidFormatException.class, () -> mapper.readValue(input, StorageUnit.class));
+    }
+
 }
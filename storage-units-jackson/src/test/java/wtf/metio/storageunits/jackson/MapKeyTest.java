@@ -0,0 +1,119 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.jackson;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import wtf.metio.storageunits.jackson.StorageUnitModule.OutputShape;
+import wtf.metio.storageunits.jackson.StorageUnitModule.PreferredUnitType;
+import wtf.metio.storageunits.model.StorageUnit;
+import wtf.metio.storageunits.model.StorageUnits;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class MapKeyTest {
+
+    private static final TypeReference<Map<StorageUnit<?>, Long>> HISTOGRAM = new TypeReference<>() {
+    };
+
+    @Test
+    void serializeKeysAsBytes() throws JsonProcessingException {
+        // given
+        final ObjectMapper mapper = mapper(PreferredUnitType.BINARY, OutputShape.BYTES);
+        final Map<StorageUnit<?>, Long> histogram = histogram();
+
+        // when
+        final String output = mapper.writeValueAsString(histogram);
+
+        // then
+        Assertions.assertEquals("{\"1536\":3,\"1000000000000000000000000000000\":1}", output);
+    }
+
+    @Test
+    void roundTripKeysAsBytes() throws JsonProcessingException {
+        // given
+        final ObjectMapper mapper = mapper(PreferredUnitType.BINARY, OutputShape.BYTES);
+        final Map<StorageUnit<?>, Long> histogram = histogram();
+
+        // when
+        final Map<StorageUnit<?>, Long> output = mapper.readValue(mapper.writeValueAsString(histogram), HISTOGRAM);
+
+        // then
+        Assertions.assertEquals(histogram, output);
+    }
+
+    @Test
+    void writeExactKeysWithStringShape() throws JsonProcessingException {
+        // given
+        final ObjectMapper mapper = mapper(PreferredUnitType.DECIMAL, OutputShape.STRING);
+        final Map<StorageUnit<?>, Long> histogram = Map.of(StorageUnits.megabyte(5L), 7L);
+
+        // when
+        final String json = mapper.writeValueAsString(histogram);
+        final Map<StorageUnit<?>, Long> output = mapper.readValue(json, HISTOGRAM);
+
+        // then
+        Assertions.assertEquals("{\"5000000\":7}", json);
+        Assertions.assertEquals(histogram, output);
+    }
+
+    @Test
+    void keepKeysWhichFormatIdentically() throws JsonProcessingException {
+        // given
+        final ObjectMapper mapper = mapper(PreferredUnitType.BINARY, OutputShape.STRING);
+        final Map<StorageUnit<?>, Long> histogram = Map.of(
+                StorageUnits.mebibyte(1L), 1L,
+                StorageUnits.mebibyte(1L).add(1L), 2L);
+
+        // when
+        final String json = mapper.writeValueAsString(histogram);
+        final Map<StorageUnit<?>, Long> output = mapper.readValue(json, HISTOGRAM);
+
+        // then
+        Assertions.assertEquals(2, output.size());
+        Assertions.assertEquals(histogram, output);
+    }
+
+    @Test
+    void applyPreferredUnitTypeToKeys() throws JsonProcessingException {
+        // given
+        final ObjectMapper mapper = mapper(PreferredUnitType.DECIMAL, OutputShape.BYTES);
+
+        // when
+        final Map<StorageUnit<?>, Long> output = mapper.readValue("{\"2000\":1}", HISTOGRAM);
+
+        // then
+        Assertions.assertEquals("2.00 kB", output.keySet().iterator().next().toString());
+    }
+
+    @Test
+    void rejectInvalidKeys() {
+        // given
+        final ObjectMapper mapper = mapper(PreferredUnitType.BINARY, OutputShape.BYTES);
+
+        // when
+        // then
+        Assertions.assertThrows(InvalidFormatException.class, () -> mapper.readValue("{\"big\":1}", HISTOGRAM));
+    }
+
+    private static Map<StorageUnit<?>, Long> histogram() {
+        final Map<StorageUnit<?>, Long> histogram = new LinkedHashMap<>();
+        histogram.put(StorageUnits.kibibyte(1L).add(512L), 3L);
+        histogram.put(StorageUnits.quettabyte(1L), 1L);
+        return histogram;
+    }
+
+    private static ObjectMapper mapper(final PreferredUnitType type, final OutputShape shape) {
+        final ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new StorageUnitModule(type, shape));
+        return mapper;
+    }
+
+}
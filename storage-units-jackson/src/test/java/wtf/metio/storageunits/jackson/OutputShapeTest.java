@@ -0,0 +1,108 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.jackson;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import wtf.metio.storageunits.jackson.StorageUnitModule.OutputShape;
+import wtf.metio.storageunits.jackson.StorageUnitModule.PreferredUnitType;
+import wtf.metio.storageunits.model.StorageUnit;
+import wtf.metio.storageunits.model.StorageUnits;
+
+import java.util.Locale;
+
+class OutputShapeTest {
+
+    @Test
+    void serializeAsBytes() throws JsonProcessingException {
+        // given
+        final ObjectMapper mapper = mapper(OutputShape.BYTES);
+
+        // when
+        final String output = mapper.writeValueAsString(StorageUnits.gibibyte(3L).divide(2L));
+
+        // then
+        Assertions.assertEquals("1610612736", output);
+    }
+
+    @Test
+    void serializeAsString() throws JsonProcessingException {
+        // given
+        final ObjectMapper mapper = mapper(OutputShape.STRING);
+
+        // when
+        final String output = mapper.writeValueAsString(StorageUnits.gibibyte(3L).divide(2L));
+
+        // then
+        Assertions.assertEquals("\"1.50 GiB\"", output);
+    }
+
+    @Test
+    void serializeAsStringIndependentOfLocale() throws JsonProcessingException {
+        // given
+        final ObjectMapper mapper = mapper(OutputShape.STRING);
+        final Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY);
+
+        // when
+        final String output;
+        try {
+            output = mapper.writeValueAsString(StorageUnits.kilobyte(1_250L));
+        } finally {
+            Locale.setDefault(previous);
+        }
+
+        // then
+        Assertions.assertEquals("\"1250.00 kB\"", output);
+    }
+
+    @Test
+    void serializeAsObject() throws JsonProcessingException {
+        // given
+        final ObjectMapper mapper = mapper(OutputShape.OBJECT);
+
+        // when
+        final String output = mapper.writeValueAsString(StorageUnits.gibibyte(3L).divide(2L));
+
+        // then
+        Assertions.assertEquals("{\"value\":1.5,\"unit\":\"GiB\"}", output);
+    }
+
+    @Test
+    void readStringShapeBack() throws JsonProcessingException {
+        // given
+        final ObjectMapper mapper = mapper(OutputShape.STRING);
+        final String output = mapper.writeValueAsString(StorageUnits.mebibyte(512L));
+
+        // when
+        final StorageUnit<?> unit = mapper.readValue(output, StorageUnit.class);
+
+        // then
+        Assertions.assertEquals(StorageUnits.mebibyte(512L), unit);
+    }
+
+    @Test
+    void roundStringShape() throws JsonProcessingException {
+        // given
+        final ObjectMapper mapper = mapper(OutputShape.STRING);
+        final String output = mapper.writeValueAsString(StorageUnits.bytes(1_025L).asKibibyte());
+
+        // when
+        final StorageUnit<?> unit = mapper.readValue(output, StorageUnit.class);
+
+        // then
+        Assertions.assertEquals("\"1.00 KiB\"", output);
+        Assertions.assertEquals(StorageUnits.kibibyte(1L), unit);
+    }
+
+    private static ObjectMapper mapper(final OutputShape shape) {
+        final ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new StorageUnitModule(PreferredUnitType.BINARY, shape));
+        return mapper;
+    }
+
+}
@@ -63,4 +63,17 @@ class PreferredUnitTypeTest {
         Assertions.assertTrue(DecimalStorageUnitDeserializer.class.isAssignableFrom(deserializer.get().getClass()));
     }
 
+    @Test
+    void reuseDeserializerInstances() {
+        // given
+        final PreferredUnitType type = StorageUnitModule.PreferredUnitType.BINARY;
+
+        // when
+        final JsonDeserializer<?> first = type.deserializer.get();
+        final JsonDeserializer<?> second = type.deserializer.get();
+
+        // then
+        Assertions.assertSame(first, second);
+    }
+
 }
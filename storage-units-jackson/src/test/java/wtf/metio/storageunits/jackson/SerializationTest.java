@@ -34,6 +34,30 @@ class SerializationTest {
         Assertions.assertEquals("1024", output);
     }
 
+    @Test
+    void serializeLargeStorageUnit() throws JsonProcessingException {
+        // given
+        final StorageUnit<?> unit = StorageUnits.exbibyte(7L);
+
+        // when
+        final String output = mapper.writeValueAsString(unit);
+
+        // then
+        Assertions.assertEquals("8070450532247928832", output);
+    }
+
+    @Test
+    void serializeStorageUnitBeyondLong() throws JsonProcessingException {
+        // given
+        final StorageUnit<?> unit = StorageUnits.quettabyte(1L);
+
+        // when
+        final String output = mapper.writeValueAsString(unit);
+
+        // then
+        Assertions.assertEquals("1000000000000000000000000000000", output);
+    }
+
     @Test
     void serializeNonStorageUnit() throws JsonProcessingException {
         // given
@@ -0,0 +1,57 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.jackson;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import wtf.metio.storageunits.jackson.StorageUnitModule.OutputShape;
+import wtf.metio.storageunits.model.StorageUnit;
+import wtf.metio.storageunits.model.StorageUnits;
+
+class StorageUnitFormatTest {
+
+    private ObjectMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        mapper = new ObjectMapper();
+        mapper.registerModule(new StorageUnitModule());
+    }
+
+    @Test
+    void applyShapePerProperty() throws JsonProcessingException {
+        // given
+        final Volume volume = new Volume(StorageUnits.kibibyte(2L));
+
+        // when
+        final String output = mapper.writeValueAsString(volume);
+
+        // then
+        Assertions.assertEquals(
+                "{\"bytes\":2048,\"text\":\"2.00 KiB\",\"object\":{\"value\":2,\"unit\":\"KiB\"}}", output);
+    }
+
+    public static final class Volume {
+
+        public final StorageUnit<?> bytes;
+
+        @StorageUnitFormat(OutputShape.STRING)
+        public final StorageUnit<?> text;
+
+        @StorageUnitFormat(OutputShape.OBJECT)
+        public final StorageUnit<?> object;
+
+        Volume(final StorageUnit<?> size) {
+            bytes = size;
+            text = size;
+            object = size;
+        }
+
+    }
+
+}
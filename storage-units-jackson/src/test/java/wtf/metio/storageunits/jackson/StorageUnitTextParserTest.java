@@ -0,0 +1,117 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.jackson;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import wtf.metio.storageunits.model.StorageUnit;
+import wtf.metio.storageunits.model.StorageUnits;
+
+import java.math.BigInteger;
+
+class StorageUnitTextParserTest {
+
+    @Test
+    void parseFromOffset() {
+        // given
+        final char[] text = "xx 16 GiB yy".toCharArray();
+
+        // when
+        final StorageUnit<?> unit = parse(text, 2, 8);
+
+        // then
+        Assertions.assertEquals(BigInteger.valueOf(16L << 30), unit.inByte());
+    }
+
+    @Test
+    void parseNegativeSizes() {
+        // given
+        final char[] text = "-3 kB".toCharArray();
+
+        // when
+        final StorageUnit<?> unit = parse(text, 0, text.length);
+
+        // then
+        Assertions.assertEquals(BigInteger.valueOf(-3_000L), unit.inByte());
+    }
+
+    @Test
+    void parsePlainBytes() {
+        // given
+        final char[] text = "42b".toCharArray();
+
+        // when
+        final StorageUnit<?> unit = parse(text, 0, text.length);
+
+        // then
+        Assertions.assertEquals(BigInteger.valueOf(42L), unit.inByte());
+    }
+
+    @Test
+    void parseSizesBeyondLong() {
+        // given
+        final char[] text = "9000 EiB".toCharArray();
+
+        // when
+        final StorageUnit<?> unit = parse(text, 0, text.length);
+
+        // then
+        Assertions.assertEquals(StorageUnits.exbibyte(9_000L).inByte(), unit.inByte());
+    }
+
+    @Test
+    void parseLongAmounts() {
+        // given
+        final char[] text = "12345678901234567890123 B".toCharArray();
+
+        // when
+        final StorageUnit<?> unit = parse(text, 0, text.length);
+
+        // then
+        Assertions.assertEquals(new BigInteger("12345678901234567890123"), unit.inByte());
+    }
+
+    @Test
+    void parseStringKeys() {
+        // given
+        final String key = "-1048576";
+
+        // when
+        final StorageUnit<?> unit = StorageUnitTextParser.parse(key, StorageUnits::binaryValueOf,
+                StorageUnits::binaryValueOf);
+
+        // then
+        Assertions.assertEquals(StorageUnits.mebibyte(-1L), unit);
+    }
+
+    @Test
+    void parseFormattedStringKeys() {
+        // given
+        final String key = "2.50 KiB";
+
+        // when
+        final StorageUnit<?> unit = StorageUnitTextParser.parse(key, StorageUnits::binaryValueOf,
+                StorageUnits::binaryValueOf);
+
+        // then
+        Assertions.assertEquals(BigInteger.valueOf(2_560L), unit.inByte());
+    }
+
+    @Test
+    void rejectMissingNumber() {
+        // given
+        final char[] text = "MiB".toCharArray();
+
+        // when
+        // then
+        Assertions.assertThrows(IllegalArgumentException.class, () -> parse(text, 0, text.length));
+    }
+
+    private static StorageUnit<?> parse(final char[] text, final int offset, final int length) {
+        return StorageUnitTextParser.parse(text, offset, length, StorageUnits::binaryValueOf,
+                StorageUnits::binaryValueOf);
+    }
+
+}
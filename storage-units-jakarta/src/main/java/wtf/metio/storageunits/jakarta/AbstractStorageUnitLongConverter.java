@@ -0,0 +1,22 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.jakarta;
+
+import jakarta.persistence.AttributeConverter;
+import wtf.metio.storageunits.model.StorageUnit;
+
+/**
+ * Abstract implementation of a Jakarta Persistence {@link AttributeConverter} for {@link StorageUnit StorageUnits}
+ * which maps to {@code BIGINT} columns. Storage units beyond the range of {@code long} cannot be stored and are
+ * rejected with an {@link ArithmeticException}.
+ */
+abstract class AbstractStorageUnitLongConverter implements AttributeConverter<StorageUnit<?>, Long> {
+
+    @Override
+    public final Long convertToDatabaseColumn(final StorageUnit<?> x) {
+        return x.inByte().longValueExact();
+    }
+
+}
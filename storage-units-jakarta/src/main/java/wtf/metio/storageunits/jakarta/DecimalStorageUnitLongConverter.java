@@ -0,0 +1,22 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.jakarta;
+
+import jakarta.persistence.Converter;
+import wtf.metio.storageunits.model.StorageUnit;
+import wtf.metio.storageunits.model.StorageUnits;
+
+/**
+ * Converts {@code BIGINT} database values to decimal storage units.
+ */
+@Converter
+public final class DecimalStorageUnitLongConverter extends AbstractStorageUnitLongConverter {
+
+    @Override
+    public StorageUnit<?> convertToEntityAttribute(final Long y) {
+        return StorageUnits.decimalValueOf(y.longValue());
+    }
+
+}
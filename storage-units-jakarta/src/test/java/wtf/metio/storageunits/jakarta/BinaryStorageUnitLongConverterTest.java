@@ -0,0 +1,38 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+
+package wtf.metio.storageunits.jakarta;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import wtf.metio.storageunits.model.StorageUnits;
+
+class BinaryStorageUnitLongConverterTest {
+
+    @Test
+    void convertLongToStorageUnit() {
+        final var converter = new BinaryStorageUnitLongConverter();
+        final var unit = converter.convertToEntityAttribute(1024L);
+
+        Assertions.assertEquals(StorageUnits.kibibyte(1), unit);
+    }
+
+    @Test
+    void convertStorageUnitToLong() {
+        final var converter = new BinaryStorageUnitLongConverter();
+        final var value = converter.convertToDatabaseColumn(StorageUnits.kibibyte(1));
+
+        Assertions.assertEquals(1024L, value);
+    }
+
+    @Test
+    void rejectStorageUnitBeyondLong() {
+        final var converter = new BinaryStorageUnitLongConverter();
+        final var unit = StorageUnits.exbibyte(8);
+
+        Assertions.assertThrows(ArithmeticException.class, () -> converter.convertToDatabaseColumn(unit));
+    }
+
+}
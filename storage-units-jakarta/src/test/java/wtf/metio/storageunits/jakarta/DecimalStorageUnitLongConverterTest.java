@@ -0,0 +1,38 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+
+package wtf.metio.storageunits.jakarta;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import wtf.metio.storageunits.model.StorageUnits;
+
+class DecimalStorageUnitLongConverterTest {
+
+    @Test
+    void convertLongToStorageUnit() {
+        final var converter = new DecimalStorageUnitLongConverter();
+        final var unit = converter.convertToEntityAttribute(1000L);
+
+        Assertions.assertEquals(StorageUnits.kilobyte(1), unit);
+    }
+
+    @Test
+    void convertStorageUnitToLong() {
+        final var converter = new DecimalStorageUnitLongConverter();
+        final var value = converter.convertToDatabaseColumn(StorageUnits.kilobyte(1));
+
+        Assertions.assertEquals(1000L, value);
+    }
+
+    @Test
+    void rejectStorageUnitBeyondLong() {
+        final var converter = new DecimalStorageUnitLongConverter();
+        final var unit = StorageUnits.exabyte(10);
+
+        Assertions.assertThrows(ArithmeticException.class, () -> converter.convertToDatabaseColumn(unit));
+    }
+
+}
@@ -11,7 +11,11 @@ module wtf.metio.storageunits.model {
     requires static org.jetbrains.annotations;
     requires static com.google.errorprone.annotations;
     requires static org.jspecify;
+    // only required by the JvmMemorySampler, applications using it have to add java.management themselves
+    requires static java.management;
 
     exports wtf.metio.storageunits.model;
 
+    uses wtf.metio.storageunits.model.SizeColumnKernels;
+
 }
@@ -0,0 +1,498 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import com.google.errorprone.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * Blocking queue which limits the total weight of its elements instead of their number. Producers block once adding
+ * an element would exceed the capacity of the queue. Producers and consumers use separate locks, thus putting and
+ * taking elements does not contend with each other.
+ *
+ * @param <E> The type of the queued elements.
+ */
+public final class ByteBoundedBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    private final long capacity;
+    private final @NotNull ToLongFunction<? super E> weigher;
+    private final @NotNull AtomicLong weight = new AtomicLong();
+    private final @NotNull AtomicInteger count = new AtomicInteger();
+    private final @NotNull AtomicInteger waitingProducers = new AtomicInteger();
+    private final @NotNull ReentrantLock takeLock = new ReentrantLock();
+    private final @NotNull Condition notEmpty = takeLock.newCondition();
+    private final @NotNull ReentrantLock putLock = new ReentrantLock();
+    private final @NotNull Condition notFull = putLock.newCondition();
+
+    private @NotNull Node<E> head;
+    private @NotNull Node<E> last;
+
+    /**
+     * @param capacity The maximum total weight of all queued elements.
+     * @param weigher  Calculates the number of bytes a single element occupies.
+     */
+    public ByteBoundedBlockingQueue(
+            final @NotNull StorageUnit<?> capacity,
+            final @NotNull ToLongFunction<? super E> weigher) {
+        if (capacity.inByte().signum() <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = NumberUtils.saturatedLongValue(capacity.inByte());
+        this.weigher = weigher;
+        head = new Node<>(null, 0);
+        last = head;
+    }
+
+    /**
+     * @return The maximum total weight of all queued elements.
+     */
+    @CheckReturnValue
+    public @NotNull StorageUnit<?> capacity() {
+        return StorageUnits.binaryValueOf(capacity);
+    }
+
+    /**
+     * @return The current total weight of all queued elements.
+     */
+    @CheckReturnValue
+    public @NotNull StorageUnit<?> fillLevel() {
+        return StorageUnits.binaryValueOf(weight.get());
+    }
+
+    /**
+     * @return The total weight that can be added without blocking.
+     */
+    @CheckReturnValue
+    public @NotNull StorageUnit<?> remainingBytes() {
+        return StorageUnits.binaryValueOf(capacity - weight.get());
+    }
+
+    /**
+     * Always returns {@link Integer#MAX_VALUE} since this queue does not limit the number of its elements. Use
+     * {@link #remainingBytes()} instead.
+     *
+     * @return {@link Integer#MAX_VALUE}
+     */
+    @Override
+    public int remainingCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int size() {
+        return count.get();
+    }
+
+    @Override
+    public void put(final @NotNull E element) throws InterruptedException {
+        final var elementWeight = weigh(element);
+        putLock.lockInterruptibly();
+        try {
+            if (doesNotFit(elementWeight)) {
+                waitingProducers.incrementAndGet();
+                try {
+                    while (doesNotFit(elementWeight)) {
+                        notFull.await();
+                    }
+                } finally {
+                    waitingProducers.decrementAndGet();
+                }
+            }
+            enqueue(new Node<>(element, elementWeight));
+        } finally {
+            putLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(final @NotNull E element, final long timeout, final @NotNull TimeUnit unit)
+            throws InterruptedException {
+        final var elementWeight = weigh(element);
+        var nanos = unit.toNanos(timeout);
+        putLock.lockInterruptibly();
+        try {
+            if (doesNotFit(elementWeight)) {
+                waitingProducers.incrementAndGet();
+                try {
+                    while (doesNotFit(elementWeight)) {
+                        if (nanos <= 0L) {
+                            return false;
+                        }
+                        nanos = notFull.awaitNanos(nanos);
+                    }
+                } finally {
+                    waitingProducers.decrementAndGet();
+                }
+            }
+            enqueue(new Node<>(element, elementWeight));
+            return true;
+        } finally {
+            putLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(final @NotNull E element) {
+        final var elementWeight = weigh(element);
+        if (doesNotFit(elementWeight)) {
+            return false;
+        }
+        putLock.lock();
+        try {
+            if (doesNotFit(elementWeight)) {
+                return false;
+            }
+            enqueue(new Node<>(element, elementWeight));
+            return true;
+        } finally {
+            putLock.unlock();
+        }
+    }
+
+    @Override
+    public @NotNull E take() throws InterruptedException {
+        final E item;
+        takeLock.lockInterruptibly();
+        try {
+            while (count.get() == 0) {
+                notEmpty.await();
+            }
+            item = dequeue();
+        } finally {
+            takeLock.unlock();
+        }
+        signalNotFull();
+        return item;
+    }
+
+    @Override
+    public @Nullable E poll(final long timeout, final @NotNull TimeUnit unit) throws InterruptedException {
+        var nanos = unit.toNanos(timeout);
+        final E item;
+        takeLock.lockInterruptibly();
+        try {
+            while (count.get() == 0) {
+                if (nanos <= 0L) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            item = dequeue();
+        } finally {
+            takeLock.unlock();
+        }
+        signalNotFull();
+        return item;
+    }
+
+    @Override
+    public @Nullable E poll() {
+        if (count.get() == 0) {
+            return null;
+        }
+        final E item;
+        takeLock.lock();
+        try {
+            if (count.get() == 0) {
+                return null;
+            }
+            item = dequeue();
+        } finally {
+            takeLock.unlock();
+        }
+        signalNotFull();
+        return item;
+    }
+
+    @Override
+    public @Nullable E peek() {
+        if (count.get() == 0) {
+            return null;
+        }
+        takeLock.lock();
+        try {
+            final var first = head.next;
+            return first == null ? null : first.item;
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(final @NotNull Collection<? super E> collection) {
+        return drainTo(collection, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(final @NotNull Collection<? super E> collection, final int maxElements) {
+        if (collection == this) {
+            throw new IllegalArgumentException("Cannot drain a queue into itself");
+        }
+        if (maxElements <= 0) {
+            return 0;
+        }
+        int drained = 0;
+        long drainedWeight = 0;
+        takeLock.lock();
+        try {
+            final var available = Math.min(maxElements, count.get());
+            while (drained < available) {
+                final var first = Objects.requireNonNull(head.next);
+                collection.add(first.item);
+                head.next = head;
+                head = first;
+                first.item = null;
+                drainedWeight += first.weight;
+                drained++;
+            }
+        } finally {
+            if (drained > 0) {
+                weight.addAndGet(-drainedWeight);
+                count.addAndGet(-drained);
+            }
+            takeLock.unlock();
+        }
+        if (drained > 0) {
+            signalNotFull();
+        }
+        return drained;
+    }
+
+    @Override
+    public boolean remove(final @Nullable Object object) {
+        if (object == null) {
+            return false;
+        }
+        fullyLock();
+        try {
+            for (Node<E> previous = head, node = previous.next; node != null; previous = node, node = node.next) {
+                if (object.equals(node.item)) {
+                    unlink(node, previous);
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    @Override
+    public boolean contains(final @Nullable Object object) {
+        if (object == null) {
+            return false;
+        }
+        fullyLock();
+        try {
+            for (Node<E> node = head.next; node != null; node = node.next) {
+                if (object.equals(node.item)) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        fullyLock();
+        try {
+            Node<E> node = head;
+            for (Node<E> next; (next = node.next) != null; node = next) {
+                node.next = node;
+                next.item = null;
+            }
+            head = last;
+            weight.set(0);
+            count.set(0);
+            notFull.signalAll();
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    @Override
+    public @NotNull Object @NotNull [] toArray() {
+        fullyLock();
+        try {
+            final var array = new Object[count.get()];
+            int index = 0;
+            for (Node<E> node = head.next; node != null; node = node.next) {
+                array[index++] = node.item;
+            }
+            return array;
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the elements in this queue. Removing elements through the iterator
+     * removes them from this queue.
+     *
+     * @return An iterator over all elements in this queue.
+     */
+    @Override
+    public @NotNull Iterator<E> iterator() {
+        return new SnapshotIterator(toArray());
+    }
+
+    private long weigh(final @NotNull E element) {
+        Objects.requireNonNull(element);
+        final var elementWeight = weigher.applyAsLong(element);
+        if (elementWeight < 0) {
+            throw new IllegalArgumentException("Weigher returned negative weight " + elementWeight);
+        }
+        if (elementWeight > capacity) {
+            throw new IllegalArgumentException("Element weight " + elementWeight + " exceeds capacity " + capacity);
+        }
+        return elementWeight;
+    }
+
+    private boolean doesNotFit(final long elementWeight) {
+        return weight.get() > capacity - elementWeight;
+    }
+
+    private void enqueue(final @NotNull Node<E> node) {
+        last.next = node;
+        last = node;
+        weight.addAndGet(node.weight);
+        if (count.getAndIncrement() == 0) {
+            signalNotEmpty();
+        }
+    }
+
+    private @NotNull E dequeue() {
+        final var first = Objects.requireNonNull(head.next);
+        head.next = head;
+        head = first;
+        final var item = Objects.requireNonNull(first.item);
+        first.item = null;
+        weight.addAndGet(-first.weight);
+        if (count.getAndDecrement() > 1) {
+            notEmpty.signal();
+        }
+        return item;
+    }
+
+    private void unlink(final @NotNull Node<E> node, final @NotNull Node<E> previous) {
+        node.item = null;
+        previous.next = node.next;
+        if (last == node) {
+            last = previous;
+        }
+        weight.addAndGet(-node.weight);
+        count.getAndDecrement();
+        notFull.signalAll();
+    }
+
+    private void signalNotEmpty() {
+        takeLock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    private void signalNotFull() {
+        // producers wait for different amounts of free space, thus all of them have to re-check
+        if (waitingProducers.get() > 0) {
+            putLock.lock();
+            try {
+                notFull.signalAll();
+            } finally {
+                putLock.unlock();
+            }
+        }
+    }
+
+    private void fullyLock() {
+        putLock.lock();
+        takeLock.lock();
+    }
+
+    private void fullyUnlock() {
+        takeLock.unlock();
+        putLock.unlock();
+    }
+
+    private static final class Node<E> {
+
+        @Nullable E item;
+        final long weight;
+        @Nullable Node<E> next;
+
+        Node(final @Nullable E item, final long weight) {
+            this.item = item;
+            this.weight = weight;
+        }
+
+    }
+
+    private final class SnapshotIterator implements Iterator<E> {
+
+        private final @NotNull Object @NotNull [] snapshot;
+        private int cursor;
+        private int lastReturned = -1;
+
+        SnapshotIterator(final @NotNull Object @NotNull [] snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < snapshot.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = cursor++;
+            return (E) snapshot[lastReturned];
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            final var element = snapshot[lastReturned];
+            lastReturned = -1;
+            fullyLock();
+            try {
+                for (Node<E> previous = head, node = previous.next; node != null; previous = node, node = node.next) {
+                    if (node.item == element) {
+                        unlink(node, previous);
+                        return;
+                    }
+                }
+            } finally {
+                fullyUnlock();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Counts bytes on behalf of a single stream or channel. The count is written with opaque semantics which compiles to
+ * plain stores while still allowing other threads to observe progress without tearing.
+ */
+final class ByteCounter {
+
+    private static final VarHandle COUNT;
+
+    static {
+        try {
+            COUNT = MethodHandles.lookup().findVarHandle(ByteCounter.class, "count", long.class);
+        } catch (final ReflectiveOperationException exception) {
+            throw new ExceptionInInitializerError(exception);
+        }
+    }
+
+    private final long interval;
+    private final @Nullable TransferListener listener;
+    private long count;
+    private long nextNotification;
+
+    ByteCounter() {
+        interval = Long.MAX_VALUE;
+        listener = null;
+        nextNotification = Long.MAX_VALUE;
+    }
+
+    ByteCounter(final @NotNull StorageUnit<?> interval, final @NotNull TransferListener listener) {
+        this.interval = NumberUtils.saturatedLongValue(interval.inByte());
+        if (this.interval <= 0) {
+            throw new IllegalArgumentException("Notification interval must be positive");
+        }
+        this.listener = listener;
+        nextNotification = this.interval;
+    }
+
+    void add(final long bytes) {
+        final var current = count + bytes;
+        COUNT.setOpaque(this, current);
+        if (current >= nextNotification && listener != null) {
+            nextNotification = current - current % interval + interval;
+            listener.onTransfer(StorageUnits.binaryValueOf(current));
+        }
+    }
+
+    void reset(final long bytes) {
+        COUNT.setOpaque(this, bytes);
+        nextNotification = listener == null ? Long.MAX_VALUE : bytes - bytes % interval + interval;
+    }
+
+    long count() {
+        return (long) COUNT.getOpaque(this);
+    }
+
+}
@@ -0,0 +1,454 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import com.google.errorprone.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+/**
+ * Aggregates a stream of sizes into count-based windows and publishes a single result per window. Tumbling windows
+ * cover each element exactly once, sliding windows move forward by a fixed number of elements and thus overlap. Once
+ * the upstream completes, a final incomplete window is published for all elements not covered by any window yet.
+ * Elements are requested from upstream only as far as required to fill the windows demanded downstream, thus slow
+ * subscribers apply back-pressure to the entire pipeline. Each processor supports a single subscriber.
+ *
+ * @param <T> The type of the incoming elements.
+ * @param <R> The type of the aggregated windows.
+ */
+public final class ByteWindowProcessor<T, R> implements Flow.Processor<T, R> {
+
+    private final @NotNull ToLongFunction<? super T> sizes;
+    private final @NotNull Aggregation<R> aggregation;
+    private final int step;
+    private final long @NotNull [] window;
+    private final @NotNull Queue<R> windows = new ConcurrentLinkedQueue<>();
+    private final @NotNull AtomicLong demand = new AtomicLong();
+    private final @NotNull AtomicLong outstanding = new AtomicLong();
+    private final @NotNull AtomicInteger wip = new AtomicInteger();
+    private volatile Flow.@Nullable Subscription upstream;
+    private volatile Flow.@Nullable Subscriber<? super R> downstream;
+    private volatile @Nullable Throwable error;
+    private volatile boolean done;
+    private volatile boolean cancelled;
+    private boolean terminated;
+    private int filled;
+    private int sinceLastWindow;
+    private long position;
+    private boolean emitted;
+
+    private ByteWindowProcessor(
+            final @NotNull ToLongFunction<? super T> sizes,
+            final int size,
+            final int step,
+            final @NotNull Aggregation<R> aggregation) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Window size must be positive");
+        }
+        if (step < 1 || step > size) {
+            throw new IllegalArgumentException("Window step must be between 1 and the window size");
+        }
+        this.sizes = sizes;
+        this.step = step;
+        this.aggregation = aggregation;
+        window = new long[size];
+    }
+
+    /**
+     * @param size        The number of elements per window.
+     * @param aggregation The aggregation to apply to each window.
+     * @param <R>         The type of the aggregated windows.
+     * @return A processor which aggregates storage units into tumbling windows.
+     */
+    @CheckReturnValue
+    public static <R> @NotNull ByteWindowProcessor<StorageUnit<?>, R> tumbling(
+            final int size,
+            final @NotNull Aggregation<R> aggregation) {
+        return tumbling(ByteWindowProcessor::bytes, size, aggregation);
+    }
+
+    /**
+     * @param sizes       Extracts the number of bytes of each element.
+     * @param size        The number of elements per window.
+     * @param aggregation The aggregation to apply to each window.
+     * @param <T>         The type of the incoming elements.
+     * @param <R>         The type of the aggregated windows.
+     * @return A processor which aggregates arbitrary elements into tumbling windows.
+     */
+    @CheckReturnValue
+    public static <T, R> @NotNull ByteWindowProcessor<T, R> tumbling(
+            final @NotNull ToLongFunction<? super T> sizes,
+            final int size,
+            final @NotNull Aggregation<R> aggregation) {
+        return new ByteWindowProcessor<>(sizes, size, size, aggregation);
+    }
+
+    /**
+     * @param size        The number of elements per window.
+     * @param step        The number of elements each window moves forward.
+     * @param aggregation The aggregation to apply to each window.
+     * @param <R>         The type of the aggregated windows.
+     * @return A processor which aggregates storage units into sliding windows.
+     */
+    @CheckReturnValue
+    public static <R> @NotNull ByteWindowProcessor<StorageUnit<?>, R> sliding(
+            final int size,
+            final int step,
+            final @NotNull Aggregation<R> aggregation) {
+        return sliding(ByteWindowProcessor::bytes, size, step, aggregation);
+    }
+
+    /**
+     * @param sizes       Extracts the number of bytes of each element.
+     * @param size        The number of elements per window.
+     * @param step        The number of elements each window moves forward.
+     * @param aggregation The aggregation to apply to each window.
+     * @param <T>         The type of the incoming elements.
+     * @param <R>         The type of the aggregated windows.
+     * @return A processor which aggregates arbitrary elements into sliding windows.
+     */
+    @CheckReturnValue
+    public static <T, R> @NotNull ByteWindowProcessor<T, R> sliding(
+            final @NotNull ToLongFunction<? super T> sizes,
+            final int size,
+            final int step,
+            final @NotNull Aggregation<R> aggregation) {
+        return new ByteWindowProcessor<>(sizes, size, step, aggregation);
+    }
+
+    /**
+     * @return An aggregation which sums up all sizes of a window.
+     */
+    @CheckReturnValue
+    public static @NotNull Aggregation<StorageUnit<?>> sum() {
+        return (values, count) -> {
+            long sum = 0;
+            for (int index = 0; index < count; index++) {
+                final var next = sum + values[index];
+                if (((sum ^ next) & (values[index] ^ next)) < 0) {
+                    return StorageUnits.binaryValueOf(exactSum(values, count));
+                }
+                sum = next;
+            }
+            return StorageUnits.binaryValueOf(sum);
+        };
+    }
+
+    /**
+     * @return An aggregation which picks the largest size of a window.
+     */
+    @CheckReturnValue
+    public static @NotNull Aggregation<StorageUnit<?>> max() {
+        return (values, count) -> {
+            var max = Long.MIN_VALUE;
+            for (int index = 0; index < count; index++) {
+                max = Math.max(max, values[index]);
+            }
+            return StorageUnits.binaryValueOf(max);
+        };
+    }
+
+    /**
+     * @param boundaries The ascending upper bounds (exclusive) of all buckets except the last one.
+     * @return An aggregation which counts the sizes of a window per bucket.
+     */
+    @CheckReturnValue
+    public static @NotNull Aggregation<Histogram> histogram(final @NotNull StorageUnit<?> @NotNull ... boundaries) {
+        final var bounds = new long[boundaries.length];
+        for (int index = 0; index < boundaries.length; index++) {
+            bounds[index] = NumberUtils.saturatedLongValue(boundaries[index].inByte());
+            if (index > 0 && bounds[index] <= bounds[index - 1]) {
+                throw new IllegalArgumentException("Histogram boundaries must be ascending");
+            }
+        }
+        final var units = List.of(boundaries);
+        return (values, count) -> {
+            final var counts = new long[bounds.length + 1];
+            for (int index = 0; index < count; index++) {
+                final var bucket = Arrays.binarySearch(bounds, values[index]);
+                counts[bucket < 0 ? -bucket - 1 : bucket + 1]++;
+            }
+            return new Histogram(units, counts);
+        };
+    }
+
+    @Override
+    public void subscribe(final Flow.@NotNull Subscriber<? super R> subscriber) {
+        if (downstream != null) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(final long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("Processor supports only a single subscriber"));
+            return;
+        }
+        downstream = subscriber;
+        subscriber.onSubscribe(new WindowSubscription());
+        drain();
+    }
+
+    @Override
+    public void onSubscribe(final Flow.@NotNull Subscription subscription) {
+        if (upstream != null) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        drain();
+    }
+
+    @Override
+    public void onNext(final @NotNull T item) {
+        if (done || cancelled) {
+            return;
+        }
+        try {
+            window[(int) (position++ % window.length)] = sizes.applyAsLong(item);
+            filled = Math.min(filled + 1, window.length);
+            sinceLastWindow++;
+            if (filled == window.length && (!emitted || sinceLastWindow == step)) {
+                publishWindow(window, filled);
+            }
+            // window state must be written before the upstream request can be computed by other threads
+            outstanding.decrementAndGet();
+        } catch (final RuntimeException exception) {
+            final var subscription = upstream;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+            onError(exception);
+            return;
+        }
+        drain();
+    }
+
+    @Override
+    public void onError(final @NotNull Throwable throwable) {
+        if (done) {
+            return;
+        }
+        error = throwable;
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        // incomplete windows are only published if they contain elements which were not published yet, trailing
+        // sliding windows start where the next full window would have started
+        final var pending = !emitted || step == window.length
+                ? filled
+                : (sinceLastWindow > 0 ? Math.min(filled, window.length - step + sinceLastWindow) : 0);
+        if (pending > 0) {
+            try {
+                publishWindow(trailingElements(pending), pending);
+            } catch (final RuntimeException exception) {
+                onError(exception);
+                return;
+            }
+        }
+        done = true;
+        drain();
+    }
+
+    private long @NotNull [] trailingElements(final int count) {
+        // the window is a ring buffer, thus the last elements are copied in order to pass them as a contiguous range
+        final var values = new long[count];
+        for (int index = 0; index < count; index++) {
+            values[index] = window[(int) ((position - count + index) % window.length)];
+        }
+        return values;
+    }
+
+    private void publishWindow(final long @NotNull [] values, final int count) {
+        windows.offer(aggregation.aggregate(values, count));
+        emitted = true;
+        sinceLastWindow = 0;
+        if (step == window.length) {
+            filled = 0;
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        do {
+            final var subscriber = downstream;
+            if (subscriber != null && !terminated) {
+                emit(subscriber);
+                requestUpstream();
+            }
+        } while (wip.decrementAndGet() != 0);
+    }
+
+    private void emit(final Flow.@NotNull Subscriber<? super R> subscriber) {
+        if (cancelled) {
+            windows.clear();
+            return;
+        }
+        while (demand.get() > 0) {
+            final var next = windows.poll();
+            if (next == null) {
+                break;
+            }
+            demand.decrementAndGet();
+            subscriber.onNext(next);
+        }
+        if (done && (windows.isEmpty() || error != null)) {
+            terminated = true;
+            windows.clear();
+            final var failure = error;
+            if (failure == null) {
+                subscriber.onComplete();
+            } else {
+                subscriber.onError(failure);
+            }
+        }
+    }
+
+    private void requestUpstream() {
+        final var subscription = upstream;
+        if (subscription == null || done || cancelled || outstanding.get() > 0) {
+            return;
+        }
+        final var missingWindows = demand.get() - windows.size();
+        if (missingWindows <= 0) {
+            return;
+        }
+        final var untilNextWindow = emitted ? step - sinceLastWindow : window.length - filled;
+        final long elements;
+        if (missingWindows - 1 > (Long.MAX_VALUE - untilNextWindow) / step) {
+            elements = Long.MAX_VALUE;
+        } else {
+            elements = untilNextWindow + (missingWindows - 1) * step;
+        }
+        outstanding.set(elements);
+        subscription.request(elements);
+    }
+
+    private static long bytes(final @NotNull StorageUnit<?> unit) {
+        return NumberUtils.saturatedLongValue(unit.inByte());
+    }
+
+    private static @NotNull BigInteger exactSum(final long @NotNull [] values, final int count) {
+        var sum = BigInteger.ZERO;
+        for (int index = 0; index < count; index++) {
+            sum = sum.add(BigInteger.valueOf(values[index]));
+        }
+        return sum;
+    }
+
+    /**
+     * Aggregates the sizes of a single window.
+     *
+     * @param <R> The type of the aggregated window.
+     */
+    @FunctionalInterface
+    public interface Aggregation<R> {
+
+        /**
+         * @param values The sizes in bytes of the window. Must not be modified or retained.
+         * @param count  The number of valid values, starting at index zero.
+         * @return The aggregated window.
+         */
+        @NotNull R aggregate(long @NotNull [] values, int count);
+
+    }
+
+    /**
+     * Number of sizes per bucket of a single window.
+     */
+    public static final class Histogram {
+
+        private final @NotNull List<StorageUnit<?>> boundaries;
+        private final long @NotNull [] counts;
+
+        Histogram(final @NotNull List<StorageUnit<?>> boundaries, final long @NotNull [] counts) {
+            this.boundaries = boundaries;
+            this.counts = counts;
+        }
+
+        /**
+         * @return The upper bounds (exclusive) of all buckets except the last one.
+         */
+        @CheckReturnValue
+        public @NotNull List<StorageUnit<?>> boundaries() {
+            return boundaries;
+        }
+
+        /**
+         * @param bucket The index of the bucket, where {@code boundaries().size()} is the last bucket.
+         * @return The number of sizes in the given bucket.
+         */
+        @CheckReturnValue
+        public long count(final int bucket) {
+            return counts[bucket];
+        }
+
+        /**
+         * @return The number of sizes per bucket.
+         */
+        @CheckReturnValue
+        public long @NotNull [] counts() {
+            return counts.clone();
+        }
+
+        @Override
+        public String toString() {
+            return "Histogram{boundaries=" + boundaries + ", counts=" + Arrays.toString(counts) + "}";
+        }
+
+    }
+
+    private final class WindowSubscription implements Flow.Subscription {
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                final var subscription = upstream;
+                if (subscription != null) {
+                    subscription.cancel();
+                }
+                onError(new IllegalArgumentException("Requested number of windows must be positive"));
+                return;
+            }
+            demand.getAndAccumulate(n, (current, added) -> {
+                final var sum = current + added;
+                return sum < 0 ? Long.MAX_VALUE : sum;
+            });
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            final var subscription = upstream;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import com.google.errorprone.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Input stream which counts the bytes read from the wrapped stream. Skipped bytes are not counted.
+ */
+public final class CountingInputStream extends FilterInputStream {
+
+    private final @NotNull ByteCounter counter;
+    private long mark = -1;
+
+    /**
+     * @param in The stream to wrap.
+     */
+    public CountingInputStream(final @NotNull InputStream in) {
+        super(in);
+        counter = new ByteCounter();
+    }
+
+    /**
+     * @param in       The stream to wrap.
+     * @param interval The number of bytes after which the listener is notified.
+     * @param listener The listener to notify about progress.
+     */
+    public CountingInputStream(
+            final @NotNull InputStream in,
+            final @NotNull StorageUnit<?> interval,
+            final @NotNull TransferListener listener) {
+        super(in);
+        counter = new ByteCounter(interval, listener);
+    }
+
+    /**
+     * @return The number of bytes read so far.
+     */
+    @CheckReturnValue
+    public @NotNull StorageUnit<?> bytesTransferred() {
+        return StorageUnits.binaryValueOf(counter.count());
+    }
+
+    @Override
+    public int read() throws IOException {
+        final var result = in.read();
+        if (result != -1) {
+            counter.add(1);
+        }
+        return result;
+    }
+
+    @Override
+    public int read(final byte @NotNull [] b, final int off, final int len) throws IOException {
+        final var result = in.read(b, off, len);
+        if (result > 0) {
+            counter.add(result);
+        }
+        return result;
+    }
+
+    @Override
+    public long transferTo(final @NotNull OutputStream out) throws IOException {
+        final var result = in.transferTo(out);
+        counter.add(result);
+        return result;
+    }
+
+    @Override
+    public synchronized void mark(final int readlimit) {
+        in.mark(readlimit);
+        mark = counter.count();
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        if (!in.markSupported()) {
+            throw new IOException("Mark not supported");
+        }
+        if (mark == -1) {
+            throw new IOException("Mark not set");
+        }
+        in.reset();
+        counter.reset(mark);
+    }
+
+}
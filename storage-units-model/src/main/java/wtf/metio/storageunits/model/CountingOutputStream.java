@@ -0,0 +1,62 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import com.google.errorprone.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Output stream which counts the bytes written to the wrapped stream. Bulk writes are passed through as-is.
+ */
+public final class CountingOutputStream extends FilterOutputStream {
+
+    private final @NotNull ByteCounter counter;
+
+    /**
+     * @param out The stream to wrap.
+     */
+    public CountingOutputStream(final @NotNull OutputStream out) {
+        super(out);
+        counter = new ByteCounter();
+    }
+
+    /**
+     * @param out      The stream to wrap.
+     * @param interval The number of bytes after which the listener is notified.
+     * @param listener The listener to notify about progress.
+     */
+    public CountingOutputStream(
+            final @NotNull OutputStream out,
+            final @NotNull StorageUnit<?> interval,
+            final @NotNull TransferListener listener) {
+        super(out);
+        counter = new ByteCounter(interval, listener);
+    }
+
+    /**
+     * @return The number of bytes written so far.
+     */
+    @CheckReturnValue
+    public @NotNull StorageUnit<?> bytesTransferred() {
+        return StorageUnits.binaryValueOf(counter.count());
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        out.write(b);
+        counter.add(1);
+    }
+
+    @Override
+    public void write(final byte @NotNull [] b, final int off, final int len) throws IOException {
+        out.write(b, off, len);
+        counter.add(len);
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import com.google.errorprone.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Readable channel which counts the bytes read from the wrapped channel.
+ */
+public final class CountingReadableByteChannel implements ReadableByteChannel {
+
+    private final @NotNull ReadableByteChannel channel;
+    private final @NotNull ByteCounter counter;
+
+    /**
+     * @param channel The channel to wrap.
+     */
+    public CountingReadableByteChannel(final @NotNull ReadableByteChannel channel) {
+        this.channel = channel;
+        counter = new ByteCounter();
+    }
+
+    /**
+     * @param channel  The channel to wrap.
+     * @param interval The number of bytes after which the listener is notified.
+     * @param listener The listener to notify about progress.
+     */
+    public CountingReadableByteChannel(
+            final @NotNull ReadableByteChannel channel,
+            final @NotNull StorageUnit<?> interval,
+            final @NotNull TransferListener listener) {
+        this.channel = channel;
+        counter = new ByteCounter(interval, listener);
+    }
+
+    /**
+     * @return The number of bytes read so far.
+     */
+    @CheckReturnValue
+    public @NotNull StorageUnit<?> bytesTransferred() {
+        return StorageUnits.binaryValueOf(counter.count());
+    }
+
+    @Override
+    public int read(final @NotNull ByteBuffer dst) throws IOException {
+        final var result = channel.read(dst);
+        if (result > 0) {
+            counter.add(result);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
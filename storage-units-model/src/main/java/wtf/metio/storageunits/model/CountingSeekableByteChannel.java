@@ -0,0 +1,102 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import com.google.errorprone.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * Seekable channel which counts the bytes read from and written to the wrapped channel. Changing the position does
+ * not affect the count.
+ */
+public final class CountingSeekableByteChannel implements SeekableByteChannel {
+
+    private final @NotNull SeekableByteChannel channel;
+    private final @NotNull ByteCounter counter;
+
+    /**
+     * @param channel The channel to wrap.
+     */
+    public CountingSeekableByteChannel(final @NotNull SeekableByteChannel channel) {
+        this.channel = channel;
+        counter = new ByteCounter();
+    }
+
+    /**
+     * @param channel  The channel to wrap.
+     * @param interval The number of bytes after which the listener is notified.
+     * @param listener The listener to notify about progress.
+     */
+    public CountingSeekableByteChannel(
+            final @NotNull SeekableByteChannel channel,
+            final @NotNull StorageUnit<?> interval,
+            final @NotNull TransferListener listener) {
+        this.channel = channel;
+        counter = new ByteCounter(interval, listener);
+    }
+
+    /**
+     * @return The number of bytes read and written so far.
+     */
+    @CheckReturnValue
+    public @NotNull StorageUnit<?> bytesTransferred() {
+        return StorageUnits.binaryValueOf(counter.count());
+    }
+
+    @Override
+    public int read(final @NotNull ByteBuffer dst) throws IOException {
+        final var result = channel.read(dst);
+        if (result > 0) {
+            counter.add(result);
+        }
+        return result;
+    }
+
+    @Override
+    public int write(final @NotNull ByteBuffer src) throws IOException {
+        final var result = channel.write(src);
+        if (result > 0) {
+            counter.add(result);
+        }
+        return result;
+    }
+
+    @Override
+    public long position() throws IOException {
+        return channel.position();
+    }
+
+    @Override
+    public @NotNull SeekableByteChannel position(final long newPosition) throws IOException {
+        channel.position(newPosition);
+        return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+        return channel.size();
+    }
+
+    @Override
+    public @NotNull SeekableByteChannel truncate(final long size) throws IOException {
+        channel.truncate(size);
+        return this;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
@@ -0,0 +1,323 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import com.google.errorprone.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the disk usage of a directory tree up to date. The tree is scanned once in parallel, afterwards changes
+ * reported by a {@link WatchService} are applied incrementally to the affected directory and all of its ancestors.
+ * Querying the size of any indexed directory is a single map lookup. Overflowing watch events cause a rescan of the
+ * affected subtree only. Files reachable through multiple hard links are counted once, in the directory of the link
+ * which was found first. Another link takes over once that link is removed.
+ */
+public final class DiskUsageIndex implements Closeable {
+
+    private final @NotNull Path root;
+    private final @NotNull ForkJoinPool pool;
+    private final @NotNull DiskUsageScanner scanner = new DiskUsageScanner();
+    private final @NotNull WatchService watchService;
+    private final @NotNull Map<Path, AtomicLong> directorySizes = new ConcurrentHashMap<>();
+    private final @NotNull Map<Path, Long> fileSizes = new ConcurrentHashMap<>();
+    private final @NotNull Map<Object, Path> owners = new ConcurrentHashMap<>();
+    private final @NotNull Map<Path, Object> fileKeys = new ConcurrentHashMap<>();
+    private final @NotNull Map<Object, Set<Path>> links = new ConcurrentHashMap<>();
+    private final DiskUsageScanner.@NotNull FileListener listener = new DiskUsageScanner.FileListener() {
+        @Override
+        public void counted(final @NotNull Path file, final @Nullable Object key, final long size) {
+            fileSizes.put(file, size);
+            if (key != null) {
+                track(file, key);
+            }
+        }
+
+        @Override
+        public void linked(final @NotNull Path file, final @NotNull Object key) {
+            track(file, key);
+        }
+    };
+    private final @NotNull Map<Path, WatchKey> watchKeys = new ConcurrentHashMap<>();
+    private final @NotNull Thread watcher;
+
+    private DiskUsageIndex(final @NotNull Path root, final @NotNull ForkJoinPool pool) throws IOException {
+        this.root = root;
+        this.pool = pool;
+        watchService = root.getFileSystem().newWatchService();
+        watcher = new Thread(this::processEvents, "disk-usage-index-" + root.getFileName());
+        watcher.setDaemon(true);
+    }
+
+    /**
+     * Scans the given directory using the common fork-join pool and starts watching it for changes.
+     *
+     * @param root The directory to index.
+     * @return A new index for the given directory.
+     * @throws IOException In case the given directory cannot be read or watched.
+     */
+    @CheckReturnValue
+    public static @NotNull DiskUsageIndex open(final @NotNull Path root) throws IOException {
+        return open(root, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Scans the given directory using the given fork-join pool and starts watching it for changes.
+     *
+     * @param root The directory to index.
+     * @param pool The pool used to scan directories in parallel.
+     * @return A new index for the given directory.
+     * @throws IOException In case the given directory cannot be read or watched.
+     */
+    @CheckReturnValue
+    public static @NotNull DiskUsageIndex open(final @NotNull Path root, final @NotNull ForkJoinPool pool)
+            throws IOException {
+        final var index = new DiskUsageIndex(root.toAbsolutePath().normalize(), pool);
+        try {
+            index.addSubtree(index.root);
+        } catch (final IOException exception) {
+            index.watchService.close();
+            throw exception;
+        }
+        index.watcher.start();
+        return index;
+    }
+
+    /**
+     * @return The indexed directory.
+     */
+    @CheckReturnValue
+    public @NotNull Path root() {
+        return root;
+    }
+
+    /**
+     * @return The total size of all files in the indexed directory tree.
+     */
+    @CheckReturnValue
+    public @NotNull StorageUnit<?> total() {
+        return sizeOf(root);
+    }
+
+    /**
+     * @param directory A directory within the indexed directory tree.
+     * @return The total size of all files below the given directory or zero if it is not indexed.
+     */
+    @CheckReturnValue
+    public @NotNull StorageUnit<?> sizeOf(final @NotNull Path directory) {
+        final var size = directorySizes.get(directory.toAbsolutePath().normalize());
+        return StorageUnits.binaryValueOf(size == null ? 0L : size.get());
+    }
+
+    /**
+     * Stops watching the indexed directory tree for changes.
+     *
+     * @throws IOException In case the underlying watch service cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        watcher.interrupt();
+        watchService.close();
+    }
+
+    private void processEvents() {
+        while (!Thread.currentThread().isInterrupted()) {
+            final WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (final ClosedWatchServiceException exception) {
+                return;
+            }
+            final var directory = (Path) key.watchable();
+            for (final var event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    rescan(directory);
+                } else {
+                    reconcile(directory.resolve((Path) event.context()));
+                }
+            }
+            if (!key.reset()) {
+                watchKeys.remove(directory, key);
+            }
+        }
+    }
+
+    private void reconcile(final @NotNull Path path) {
+        final BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (final NoSuchFileException exception) {
+            removeFile(path);
+            removeSubtree(path);
+            return;
+        } catch (final IOException exception) {
+            return;
+        }
+        if (attributes.isDirectory()) {
+            if (!directorySizes.containsKey(path)) {
+                removeFile(path);
+                addSubtreeQuietly(path);
+            }
+        } else if (!attributes.isSymbolicLink()) {
+            removeSubtree(path);
+            updateFile(path, attributes);
+        }
+    }
+
+    private void updateFile(final @NotNull Path file, final @NotNull BasicFileAttributes attributes) {
+        final var key = attributes.fileKey();
+        final var previousKey = fileKeys.get(file);
+        if (previousKey != null && !previousKey.equals(key)) {
+            // the path now refers to another file
+            removeFile(file);
+        }
+        var counting = file;
+        if (key != null) {
+            track(file, key);
+            counting = owners.computeIfAbsent(key, ignored -> file);
+        }
+        final var previous = fileSizes.put(counting, attributes.size());
+        propagate(counting, attributes.size() - (previous == null ? 0L : previous));
+    }
+
+    private void track(final @NotNull Path file, final @NotNull Object key) {
+        fileKeys.put(file, key);
+        links.computeIfAbsent(key, ignored -> ConcurrentHashMap.newKeySet()).add(file);
+    }
+
+    private void untrack(final @NotNull Path file, final @NotNull Object key) {
+        final var paths = links.get(key);
+        if (paths != null) {
+            paths.remove(file);
+        }
+        owners.remove(key, file);
+    }
+
+    private void recount(final @NotNull Object key) {
+        final var paths = links.get(key);
+        if (paths == null) {
+            return;
+        }
+        if (paths.isEmpty()) {
+            links.remove(key, paths);
+        } else if (!owners.containsKey(key)) {
+            // another hard link takes over counting the file
+            paths.stream().findFirst().ifPresent(this::reconcile);
+        }
+    }
+
+    private void rescan(final @NotNull Path directory) {
+        removeSubtree(directory);
+        addSubtreeQuietly(directory);
+    }
+
+    private void addSubtreeQuietly(final @NotNull Path directory) {
+        try {
+            final var usage = addSubtree(directory);
+            // entries created between scanning and registering a directory do not emit any events
+            for (final var visited : usage.visitedDirectories()) {
+                try (final DirectoryStream<Path> entries = Files.newDirectoryStream(visited)) {
+                    for (final var entry : entries) {
+                        reconcile(entry);
+                    }
+                }
+            }
+        } catch (final IOException exception) {
+            // directory vanished or became unreadable in the meantime, its events will be handled later on
+        }
+    }
+
+    private DiskUsageScanner.@NotNull DiskUsage addSubtree(final @NotNull Path directory) throws IOException {
+        final var usage = scanner.scan(directory, pool, owners, listener);
+        for (final var visited : usage.visitedDirectories()) {
+            directorySizes.put(visited, new AtomicLong(usage.sizeInBytes(visited)));
+            register(visited);
+        }
+        propagate(directory, usage.sizeInBytes(directory));
+        return usage;
+    }
+
+    private void register(final @NotNull Path directory) throws IOException {
+        final var key = directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+        watchKeys.put(directory, key);
+    }
+
+    private void removeFile(final @NotNull Path file) {
+        final var previous = fileSizes.remove(file);
+        if (previous != null) {
+            propagate(file, -previous);
+        }
+        final var key = fileKeys.remove(file);
+        if (key != null) {
+            untrack(file, key);
+            recount(key);
+        }
+    }
+
+    private void removeSubtree(final @NotNull Path directory) {
+        final var size = directorySizes.get(directory);
+        if (size == null) {
+            return;
+        }
+        final var total = size.get();
+        directorySizes.keySet().removeIf(path -> path.startsWith(directory));
+        fileSizes.keySet().removeIf(path -> path.startsWith(directory));
+        final Set<Object> removedKeys = new HashSet<>();
+        fileKeys.entrySet().removeIf(entry -> {
+            if (entry.getKey().startsWith(directory)) {
+                untrack(entry.getKey(), entry.getValue());
+                removedKeys.add(entry.getValue());
+                return true;
+            }
+            return false;
+        });
+        watchKeys.entrySet().removeIf(entry -> {
+            if (entry.getKey().startsWith(directory)) {
+                entry.getValue().cancel();
+                return true;
+            }
+            return false;
+        });
+        propagate(directory, -total);
+        removedKeys.forEach(this::recount);
+    }
+
+    private void propagate(final @NotNull Path path, final long delta) {
+        if (delta == 0L) {
+            return;
+        }
+        for (var ancestor = path.getParent(); ancestor != null && ancestor.startsWith(root);
+             ancestor = ancestor.getParent()) {
+            final var size = directorySizes.get(ancestor);
+            if (size != null) {
+                size.addAndGet(delta);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,439 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import com.google.errorprone.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Calculates the disk usage of directory trees by walking their subdirectories in parallel on a {@link ForkJoinPool}.
+ * Only the sizes of files are counted, the entries of directories themselves are ignored. Files reachable through
+ * multiple hard links are counted once, which requires keeping the {@link BasicFileAttributes#fileKey() key} of every
+ * counted file in memory until the scan completes. File systems without file keys count each hard link separately.
+ */
+public final class DiskUsageScanner {
+
+    private final @NotNull SizeMode sizeMode;
+    private final @NotNull SymbolicLinks symbolicLinks;
+    private final int maxDepth;
+
+    /**
+     * Creates a new scanner which counts apparent file sizes, skips symbolic links, and visits all subdirectories.
+     */
+    public DiskUsageScanner() {
+        this(SizeMode.APPARENT, SymbolicLinks.SKIP, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param sizeMode      The way file sizes are calculated.
+     * @param symbolicLinks The way symbolic links are handled.
+     * @param maxDepth      The maximum number of directory levels to report sizes for, where {@code 1} only reports
+     *                      the scanned directory itself. Deeper directories are still walked and included in the
+     *                      sizes of their parents.
+     */
+    public DiskUsageScanner(
+            final @NotNull SizeMode sizeMode,
+            final @NotNull SymbolicLinks symbolicLinks,
+            final int maxDepth) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Maximum depth must be positive");
+        }
+        this.sizeMode = sizeMode;
+        this.symbolicLinks = symbolicLinks;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Scans the given directory using the common fork-join pool.
+     *
+     * @param root The directory to scan.
+     * @return The disk usage of the given directory and all of its subdirectories.
+     * @throws IOException In case the given directory cannot be read.
+     */
+    @CheckReturnValue
+    public @NotNull DiskUsage scan(final @NotNull Path root) throws IOException {
+        return scan(root, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Scans the given directory using the given fork-join pool. Subdirectories which cannot be read are reported in
+     * {@link DiskUsage#failures()} instead of aborting the entire scan.
+     *
+     * @param root The directory to scan.
+     * @param pool The pool used to walk subdirectories in parallel.
+     * @return The disk usage of the given directory and all of its subdirectories.
+     * @throws IOException In case the given directory cannot be read.
+     */
+    @CheckReturnValue
+    public @NotNull DiskUsage scan(final @NotNull Path root, final @NotNull ForkJoinPool pool) throws IOException {
+        return scan(root, pool, new ConcurrentHashMap<>(), FileListener.IGNORE);
+    }
+
+    /**
+     * @param root     The directory to scan.
+     * @param pool     The pool used to walk subdirectories in parallel.
+     * @param owners   The paths counting each file key, shared across scans so that files already counted elsewhere
+     *                 are not counted again. Updated with every file counted by this scan.
+     * @param listener The listener notified about every found file.
+     */
+    @NotNull DiskUsage scan(
+            final @NotNull Path root,
+            final @NotNull ForkJoinPool pool,
+            final @NotNull Map<Object, Path> owners,
+            final @NotNull FileListener listener) throws IOException {
+        final var attributes = Files.readAttributes(root, BasicFileAttributes.class, linkOptions());
+        if (!attributes.isDirectory()) {
+            throw new IOException("Not a directory: " + root);
+        }
+        final var state = new ScanState(blockSize(root), owners, listener);
+        if (symbolicLinks == SymbolicLinks.FOLLOW && attributes.fileKey() != null) {
+            state.visited.add(attributes.fileKey());
+        }
+        try {
+            final long total = pool.invoke(new DirectoryTask(root, 0, state));
+            return new DiskUsage(root, total, state.files.sum(), state.directories.sum(),
+                    Map.copyOf(state.directorySizes), List.copyOf(state.failures));
+        } catch (final UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    private long blockSize(final @NotNull Path root) throws IOException {
+        if (sizeMode == SizeMode.APPARENT) {
+            return 1;
+        }
+        try {
+            return Math.max(1, Files.getFileStore(root).getBlockSize());
+        } catch (final UnsupportedOperationException exception) {
+            return 1;
+        }
+    }
+
+    private @NotNull LinkOption @NotNull [] linkOptions() {
+        return symbolicLinks == SymbolicLinks.FOLLOW ? new LinkOption[0] : new LinkOption[]{LinkOption.NOFOLLOW_LINKS};
+    }
+
+    /**
+     * The way file sizes are calculated.
+     */
+    public enum SizeMode {
+
+        /**
+         * Uses the number of bytes stored in a file.
+         */
+        APPARENT,
+
+        /**
+         * Rounds the size of each file up to the block size of the file store of the scanned directory. Sparse files
+         * are not detected and counted with their apparent size rounded up.
+         */
+        ALLOCATED
+
+    }
+
+    /**
+     * The way symbolic links are handled.
+     */
+    public enum SymbolicLinks {
+
+        /**
+         * Ignores symbolic links.
+         */
+        SKIP,
+
+        /**
+         * Counts the size of the link itself without following it.
+         */
+        COUNT,
+
+        /**
+         * Follows symbolic links and counts their targets. Directories and files reachable through multiple links are
+         * visited only once.
+         */
+        FOLLOW
+
+    }
+
+    /**
+     * The result of a disk usage scan.
+     */
+    public static final class DiskUsage {
+
+        private final @NotNull Path root;
+        private final long total;
+        private final long files;
+        private final long directories;
+        private final @NotNull Map<Path, Long> directorySizes;
+        private final @NotNull List<Path> failures;
+
+        DiskUsage(
+                final @NotNull Path root,
+                final long total,
+                final long files,
+                final long directories,
+                final @NotNull Map<Path, Long> directorySizes,
+                final @NotNull List<Path> failures) {
+            this.root = root;
+            this.total = total;
+            this.files = files;
+            this.directories = directories;
+            this.directorySizes = directorySizes;
+            this.failures = failures;
+        }
+
+        /**
+         * @return The scanned directory.
+         */
+        @CheckReturnValue
+        public @NotNull Path root() {
+            return root;
+        }
+
+        /**
+         * @return The total size of all files in the scanned directory tree.
+         */
+        @CheckReturnValue
+        public @NotNull StorageUnit<?> total() {
+            return StorageUnits.binaryValueOf(total);
+        }
+
+        /**
+         * @param directory A reported directory.
+         * @return The total size of all files below the given directory or zero if it was not reported.
+         */
+        @CheckReturnValue
+        public @NotNull StorageUnit<?> sizeOf(final @NotNull Path directory) {
+            return StorageUnits.binaryValueOf(sizeInBytes(directory));
+        }
+
+        long sizeInBytes(final @NotNull Path directory) {
+            return directorySizes.getOrDefault(directory, 0L);
+        }
+
+        /**
+         * @return The set of all directories within the maximum depth of the scanner.
+         */
+        @CheckReturnValue
+        public @NotNull Set<Path> visitedDirectories() {
+            return directorySizes.keySet();
+        }
+
+        /**
+         * @return The number of counted files, where hard links to the same file count once.
+         */
+        @CheckReturnValue
+        public long files() {
+            return files;
+        }
+
+        /**
+         * @return The number of walked directories, including the scanned directory itself and directories beyond the
+         * maximum depth.
+         */
+        @CheckReturnValue
+        public long directories() {
+            return directories;
+        }
+
+        /**
+         * @return The subdirectories which could not be read.
+         */
+        @CheckReturnValue
+        public @NotNull List<Path> failures() {
+            return failures;
+        }
+
+    }
+
+    /**
+     * Receives the files found while scanning.
+     */
+    interface FileListener {
+
+        FileListener IGNORE = new FileListener() {
+            @Override
+            public void counted(final @NotNull Path file, final @Nullable Object key, final long size) {
+                // ignored
+            }
+
+            @Override
+            public void linked(final @NotNull Path file, final @NotNull Object key) {
+                // ignored
+            }
+        };
+
+        /**
+         * @param file The counted file.
+         * @param key  The key of the file or {@code null} if the file system does not support file keys.
+         * @param size The counted size of the file.
+         */
+        void counted(@NotNull Path file, @Nullable Object key, long size);
+
+        /**
+         * @param file An additional hard link to a file which is counted through another path.
+         * @param key  The key of the file.
+         */
+        void linked(@NotNull Path file, @NotNull Object key);
+
+    }
+
+    private static final class ScanState {
+
+        private final long blockSize;
+        private final @NotNull Map<Object, Path> owners;
+        private final @NotNull FileListener listener;
+        private final @NotNull LongAdder files = new LongAdder();
+        private final @NotNull LongAdder directories = new LongAdder();
+        private final @NotNull Map<Path, Long> directorySizes = new ConcurrentHashMap<>();
+        private final @NotNull ConcurrentLinkedQueue<Path> failures = new ConcurrentLinkedQueue<>();
+        private final @NotNull Set<Object> visited = ConcurrentHashMap.newKeySet();
+
+        ScanState(final long blockSize, final @NotNull Map<Object, Path> owners, final @NotNull FileListener listener) {
+            this.blockSize = blockSize;
+            this.owners = owners;
+            this.listener = listener;
+        }
+
+        long countFile(final @NotNull Path file, final @NotNull BasicFileAttributes attributes) {
+            final var key = attributes.fileKey();
+            if (key != null && owners.putIfAbsent(key, file) != null) {
+                listener.linked(file, key);
+                return 0;
+            }
+            final var size = attributes.size();
+            final var counted = blockSize == 1 ? size : (size + blockSize - 1) / blockSize * blockSize;
+            files.increment();
+            listener.counted(file, key, counted);
+            return counted;
+        }
+
+    }
+
+    private final class DirectoryTask extends RecursiveTask<Long> {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient @NotNull Path directory;
+        private final int depth;
+        private final transient @NotNull ScanState state;
+
+        DirectoryTask(final @NotNull Path directory, final int depth, final @NotNull ScanState state) {
+            this.directory = directory;
+            this.depth = depth;
+            this.state = state;
+        }
+
+        @Override
+        protected Long compute() {
+            state.directories.increment();
+            long size = 0;
+            final List<DirectoryTask> subdirectories = new ArrayList<>();
+            try (final DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (final var entry : entries) {
+                    size += visit(entry, subdirectories);
+                }
+            } catch (final IOException exception) {
+                fail(exception);
+            } catch (final DirectoryIteratorException exception) {
+                fail(exception.getCause());
+            }
+            for (final var task : invokeAll(subdirectories)) {
+                size += task.join();
+            }
+            if (depth < maxDepth) {
+                state.directorySizes.put(directory, size);
+            }
+            return size;
+        }
+
+        private void fail(final @NotNull IOException exception) {
+            if (depth == 0) {
+                throw new UncheckedIOException(exception);
+            }
+            state.failures.add(directory);
+        }
+
+        private long visit(final @NotNull Path entry, final @NotNull List<DirectoryTask> subdirectories) {
+            final BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            } catch (final IOException exception) {
+                state.failures.add(entry);
+                return 0;
+            }
+            if (attributes.isSymbolicLink()) {
+                return visitLink(entry, attributes, subdirectories);
+            }
+            if (attributes.isDirectory()) {
+                if (symbolicLinks != SymbolicLinks.FOLLOW || isFirstVisit(attributes)) {
+                    descend(entry, subdirectories);
+                }
+                return 0;
+            }
+            return state.countFile(entry, attributes);
+        }
+
+        private long visitLink(
+                final @NotNull Path entry,
+                final @NotNull BasicFileAttributes linkAttributes,
+                final @NotNull List<DirectoryTask> subdirectories) {
+            return switch (symbolicLinks) {
+                case SKIP -> 0;
+                case COUNT -> state.countFile(entry, linkAttributes);
+                case FOLLOW -> visitTarget(entry, subdirectories);
+            };
+        }
+
+        private long visitTarget(final @NotNull Path entry, final @NotNull List<DirectoryTask> subdirectories) {
+            final BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+            } catch (final IOException exception) {
+                state.failures.add(entry);
+                return 0;
+            }
+            if (attributes.isDirectory()) {
+                if (isFirstVisit(attributes)) {
+                    descend(entry, subdirectories);
+                }
+                return 0;
+            }
+            return state.countFile(entry, attributes);
+        }
+
+        private void descend(final @NotNull Path subdirectory, final @NotNull List<DirectoryTask> subdirectories) {
+            // directories beyond the maximum depth are walked as well, so that the sizes of their parents are complete
+            subdirectories.add(new DirectoryTask(subdirectory, depth + 1, state));
+        }
+
+        private boolean isFirstVisit(final @NotNull BasicFileAttributes attributes) {
+            final var key = attributes.fileKey();
+            return key == null || state.visited.add(key);
+        }
+
+    }
+
+}
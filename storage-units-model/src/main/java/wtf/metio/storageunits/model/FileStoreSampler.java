@@ -0,0 +1,248 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import com.google.errorprone.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileStore;
+import java.nio.file.FileSystems;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Samples the capacity of file stores on a fixed schedule and caches the results as immutable snapshots. Reading a
+ * snapshot never calls into the file system, thus callers like health checks can query capacities as often as they
+ * want to.
+ */
+public final class FileStoreSampler implements Closeable {
+
+    private final @NotNull Supplier<? extends Iterable<FileStore>> fileStores;
+    private final @NotNull Duration interval;
+    private final @NotNull ScheduledExecutorService scheduler;
+    private final @NotNull CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final @NotNull CopyOnWriteArrayList<Threshold> thresholds = new CopyOnWriteArrayList<>();
+    private final @NotNull AtomicBoolean started = new AtomicBoolean();
+    private volatile @NotNull Map<FileStore, Snapshot> snapshots = Map.of();
+
+    /**
+     * Creates a new sampler for all file stores of the default file system.
+     *
+     * @param interval The time between two samples.
+     */
+    public FileStoreSampler(final @NotNull Duration interval) {
+        this(() -> FileSystems.getDefault().getFileStores(), interval);
+    }
+
+    /**
+     * @param fileStores Supplies the file stores to sample, called once per sample.
+     * @param interval   The time between two samples.
+     */
+    public FileStoreSampler(
+            final @NotNull Supplier<? extends Iterable<FileStore>> fileStores,
+            final @NotNull Duration interval) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Interval must be positive");
+        }
+        this.fileStores = fileStores;
+        this.interval = interval;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "file-store-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Takes a first sample immediately and schedules all following samples. Starting an already started sampler has no
+     * effect.
+     *
+     * @return This sampler.
+     */
+    public @NotNull FileStoreSampler start() {
+        if (!started.compareAndSet(false, true)) {
+            return this;
+        }
+        scheduler.scheduleWithFixedDelay(this::sample, 0, interval.toNanos(), TimeUnit.NANOSECONDS);
+        return this;
+    }
+
+    /**
+     * Samples all file stores on the calling thread and notifies all listeners about changes.
+     */
+    public synchronized void sample() {
+        final var previousSnapshots = snapshots;
+        final Map<FileStore, Snapshot> currentSnapshots = new LinkedHashMap<>();
+        final var now = Instant.now();
+        for (final var fileStore : fileStores.get()) {
+            try {
+                currentSnapshots.put(fileStore, Snapshot.of(fileStore, now));
+            } catch (final IOException | SecurityException exception) {
+                // file store became unavailable or is inaccessible, thus cannot be sampled
+            }
+        }
+        snapshots = Map.copyOf(currentSnapshots);
+        for (final var current : currentSnapshots.values()) {
+            final var previous = previousSnapshots.get(current.fileStore());
+            if (previous == null || !previous.hasSameCapacity(current)) {
+                listeners.forEach(listener -> notify(() -> listener.onChange(previous, current)));
+            }
+            thresholds.forEach(threshold -> threshold.check(current));
+        }
+    }
+
+    /**
+     * @return The latest snapshots of all sampled file stores.
+     */
+    @CheckReturnValue
+    public @NotNull Collection<Snapshot> snapshots() {
+        return snapshots.values();
+    }
+
+    /**
+     * @param fileStore The file store to look up.
+     * @return The latest snapshot of the given file store or {@code null} if it was not sampled yet.
+     */
+    @CheckReturnValue
+    public @Nullable Snapshot snapshot(final @NotNull FileStore fileStore) {
+        return snapshots.get(fileStore);
+    }
+
+    /**
+     * @param listener The listener to notify whenever the capacity of a file store changes.
+     */
+    public void addListener(final @NotNull Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Registers a listener which is notified whenever the usable space of a file store drops below the given minimum
+     * and once it recovers again.
+     *
+     * @param minimumUsableSpace The usable space below which the listener is notified.
+     * @param listener           The listener to notify.
+     */
+    public void addThreshold(
+            final @NotNull StorageUnit<?> minimumUsableSpace,
+            final @NotNull ThresholdListener listener) {
+        thresholds.add(new Threshold(minimumUsableSpace, listener));
+    }
+
+    /**
+     * Stops sampling. Previously taken snapshots are still available afterwards.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private static void notify(final @NotNull Runnable notification) {
+        try {
+            notification.run();
+        } catch (final RuntimeException exception) {
+            final var thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, exception);
+        }
+    }
+
+    /**
+     * Notified whenever the capacity of a file store changes.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * @param previous The previous snapshot or {@code null} if the file store is sampled for the first time.
+         * @param current  The current snapshot.
+         */
+        void onChange(@Nullable Snapshot previous, @NotNull Snapshot current);
+
+    }
+
+    /**
+     * Notified whenever the usable space of a file store crosses a threshold.
+     */
+    @FunctionalInterface
+    public interface ThresholdListener {
+
+        /**
+         * @param snapshot The snapshot which crossed the threshold.
+         * @param below    {@code true} if the usable space dropped below the threshold, {@code false} if it recovered.
+         */
+        void onCrossing(@NotNull Snapshot snapshot, boolean below);
+
+    }
+
+    /**
+     * Immutable snapshot of the capacity of a single file store.
+     *
+     * @param fileStore   The sampled file store.
+     * @param totalSpace  The size of the file store.
+     * @param usableSpace The space available to this virtual machine.
+     * @param usedSpace   The space occupied by files.
+     * @param sampledAt   The time the file store was sampled.
+     */
+    public record Snapshot(
+            @NotNull FileStore fileStore,
+            @NotNull StorageUnit<?> totalSpace,
+            @NotNull StorageUnit<?> usableSpace,
+            @NotNull StorageUnit<?> usedSpace,
+            @NotNull Instant sampledAt) {
+
+        static @NotNull Snapshot of(final @NotNull FileStore fileStore, final @NotNull Instant now) throws IOException {
+            final var total = fileStore.getTotalSpace();
+            final var usable = fileStore.getUsableSpace();
+            final var unallocated = fileStore.getUnallocatedSpace();
+            return new Snapshot(fileStore,
+                    StorageUnits.binaryValueOf(total),
+                    StorageUnits.binaryValueOf(usable),
+                    StorageUnits.binaryValueOf(total - unallocated),
+                    now);
+        }
+
+        boolean hasSameCapacity(final @NotNull Snapshot other) {
+            return totalSpace.equals(other.totalSpace)
+                    && usableSpace.equals(other.usableSpace)
+                    && usedSpace.equals(other.usedSpace);
+        }
+
+    }
+
+    private static final class Threshold {
+
+        private final @NotNull StorageUnit<?> minimumUsableSpace;
+        private final @NotNull ThresholdListener listener;
+        private final @NotNull Set<FileStore> below = ConcurrentHashMap.newKeySet();
+
+        Threshold(final @NotNull StorageUnit<?> minimumUsableSpace, final @NotNull ThresholdListener listener) {
+            this.minimumUsableSpace = minimumUsableSpace;
+            this.listener = listener;
+        }
+
+        void check(final @NotNull Snapshot snapshot) {
+            final var isBelow = snapshot.usableSpace().compareTo(minimumUsableSpace) < 0;
+            final var changed = isBelow ? below.add(snapshot.fileStore()) : below.remove(snapshot.fileStore());
+            if (changed) {
+                FileStoreSampler.notify(() -> listener.onCrossing(snapshot, isBelow));
+            }
+        }
+
+    }
+
+}
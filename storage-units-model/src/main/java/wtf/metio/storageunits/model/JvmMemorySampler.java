@@ -0,0 +1,277 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import com.google.errorprone.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import java.io.Closeable;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the memory usage of the running virtual machine on a fixed schedule and right after each garbage
+ * collection. Each sample is written into a single new array which is published as an immutable {@link Snapshot},
+ * thus reading the latest sample neither allocates nor blocks. Snapshots convert their values into storage units on
+ * demand.
+ * <p>
+ * The model module declares its dependency on {@code java.management} as {@code requires static}, thus modular
+ * applications using this sampler have to add {@code java.management} to their module graph, e.g. with
+ * {@code requires java.management} or {@code --add-modules java.management}.
+ */
+public final class JvmMemorySampler implements Closeable {
+
+    private static final String GARBAGE_COLLECTION_NOTIFICATION = "com.sun.management.gc.notification";
+    private static final int HEAP = 0;
+    private static final int NON_HEAP = 3;
+    private static final int POOLS = 6;
+
+    private final @NotNull MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final @NotNull List<MemoryPoolMXBean> memoryPools = ManagementFactory.getMemoryPoolMXBeans();
+    private final @NotNull List<BufferPoolMXBean> bufferPools =
+            ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class);
+    private final @NotNull List<String> memoryPoolNames = memoryPools.stream().map(MemoryPoolMXBean::getName).toList();
+    private final @NotNull List<String> bufferPoolNames = bufferPools.stream().map(BufferPoolMXBean::getName).toList();
+    private final int slotCount = POOLS + 3 * memoryPools.size() + 3 * bufferPools.size();
+    private final @NotNull Duration interval;
+    private final @NotNull ScheduledExecutorService scheduler;
+    private final @NotNull NotificationListener garbageCollectionListener = this::onNotification;
+    private volatile @NotNull Snapshot latest = new Snapshot(this, new long[slotCount], 0L);
+    private boolean started;
+
+    /**
+     * @param interval The time between two samples.
+     */
+    public JvmMemorySampler(final @NotNull Duration interval) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Interval must be positive");
+        }
+        this.interval = interval;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "jvm-memory-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Takes a first sample immediately, schedules all following samples, and starts listening for garbage collections.
+     * Starting an already started sampler has no effect.
+     *
+     * @return This sampler.
+     */
+    public synchronized @NotNull JvmMemorySampler start() {
+        if (started) {
+            return this;
+        }
+        started = true;
+        for (final var collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(garbageCollectionListener, null, null);
+            }
+        }
+        scheduler.scheduleWithFixedDelay(this::sample, 0, interval.toNanos(), TimeUnit.NANOSECONDS);
+        return this;
+    }
+
+    /**
+     * Samples all memory beans on the calling thread.
+     */
+    public synchronized void sample() {
+        final var slots = new long[slotCount];
+        write(slots, HEAP, memory.getHeapMemoryUsage());
+        write(slots, NON_HEAP, memory.getNonHeapMemoryUsage());
+        var slot = POOLS;
+        for (final var pool : memoryPools) {
+            write(slots, slot, pool.getUsage());
+            slot += 3;
+        }
+        for (final var pool : bufferPools) {
+            slots[slot] = pool.getCount();
+            slots[slot + 1] = pool.getMemoryUsed();
+            slots[slot + 2] = pool.getTotalCapacity();
+            slot += 3;
+        }
+        latest = new Snapshot(this, slots, System.currentTimeMillis());
+    }
+
+    /**
+     * @return The latest sample or an empty snapshot if nothing was sampled yet.
+     */
+    @CheckReturnValue
+    public @NotNull Snapshot snapshot() {
+        return latest;
+    }
+
+    /**
+     * Stops sampling and listening for garbage collections.
+     */
+    @Override
+    public void close() {
+        for (final var collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                try {
+                    emitter.removeNotificationListener(garbageCollectionListener);
+                } catch (final ListenerNotFoundException exception) {
+                    // sampler was never started
+                }
+            }
+        }
+        scheduler.shutdownNow();
+    }
+
+    private static void write(final long @NotNull [] slots, final int slot, final @Nullable MemoryUsage usage) {
+        if (usage == null) {
+            slots[slot] = 0L;
+            slots[slot + 1] = 0L;
+            slots[slot + 2] = -1L;
+        } else {
+            slots[slot] = usage.getUsed();
+            slots[slot + 1] = usage.getCommitted();
+            slots[slot + 2] = usage.getMax();
+        }
+    }
+
+    private void onNotification(final @NotNull Notification notification, final @Nullable Object handback) {
+        if (GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            try {
+                scheduler.execute(this::sample);
+            } catch (final RejectedExecutionException exception) {
+                // sampler was closed concurrently
+            }
+        }
+    }
+
+    /**
+     * The usage of a memory area.
+     *
+     * @param used      The amount of used memory.
+     * @param committed The amount of memory guaranteed to be available.
+     * @param max       The maximum amount of memory or {@code null} if undefined.
+     */
+    public record Usage(
+            @NotNull StorageUnit<?> used,
+            @NotNull StorageUnit<?> committed,
+            @Nullable StorageUnit<?> max) {
+    }
+
+    /**
+     * The usage of a buffer pool.
+     *
+     * @param count    The number of buffers in the pool.
+     * @param used     The amount of memory used by the pool.
+     * @param capacity The total capacity of all buffers in the pool.
+     */
+    public record BufferUsage(
+            long count,
+            @NotNull StorageUnit<?> used,
+            @NotNull StorageUnit<?> capacity) {
+    }
+
+    /**
+     * Immutable copy of a single sample.
+     */
+    public static final class Snapshot {
+
+        private final @NotNull JvmMemorySampler sampler;
+        private final long @NotNull [] slots;
+        private final long sampledAt;
+
+        Snapshot(final @NotNull JvmMemorySampler sampler, final long @NotNull [] slots, final long sampledAt) {
+            this.sampler = sampler;
+            this.slots = slots;
+            this.sampledAt = sampledAt;
+        }
+
+        /**
+         * @return The time of the sample in milliseconds since the epoch or {@code 0} if nothing was sampled yet.
+         */
+        @CheckReturnValue
+        public long sampledAt() {
+            return sampledAt;
+        }
+
+        /**
+         * @return The usage of the heap.
+         */
+        @CheckReturnValue
+        public @NotNull Usage heap() {
+            return usage(HEAP);
+        }
+
+        /**
+         * @return The usage of all memory outside the heap.
+         */
+        @CheckReturnValue
+        public @NotNull Usage nonHeap() {
+            return usage(NON_HEAP);
+        }
+
+        /**
+         * @return The names of all memory pools.
+         */
+        @CheckReturnValue
+        public @NotNull List<String> memoryPoolNames() {
+            return sampler.memoryPoolNames;
+        }
+
+        /**
+         * @param name The name of a memory pool, e.g. {@code G1 Eden Space}.
+         * @return The usage of the given memory pool or {@code null} if no such pool exists.
+         */
+        @CheckReturnValue
+        public @Nullable Usage memoryPool(final @NotNull String name) {
+            final var index = sampler.memoryPoolNames.indexOf(name);
+            return index < 0 ? null : usage(POOLS + 3 * index);
+        }
+
+        /**
+         * @return The names of all buffer pools.
+         */
+        @CheckReturnValue
+        public @NotNull List<String> bufferPoolNames() {
+            return sampler.bufferPoolNames;
+        }
+
+        /**
+         * @param name The name of a buffer pool, e.g. {@code direct} or {@code mapped}.
+         * @return The usage of the given buffer pool or {@code null} if no such pool exists.
+         */
+        @CheckReturnValue
+        public @Nullable BufferUsage bufferPool(final @NotNull String name) {
+            final var index = sampler.bufferPoolNames.indexOf(name);
+            if (index < 0) {
+                return null;
+            }
+            final var slot = POOLS + 3 * sampler.memoryPoolNames.size() + 3 * index;
+            return new BufferUsage(slots[slot],
+                    StorageUnits.binaryValueOf(slots[slot + 1]),
+                    StorageUnits.binaryValueOf(slots[slot + 2]));
+        }
+
+        private @NotNull Usage usage(final int slot) {
+            final var max = slots[slot + 2];
+            return new Usage(StorageUnits.binaryValueOf(slots[slot]),
+                    StorageUnits.binaryValueOf(slots[slot + 1]),
+                    max < 0 ? null : StorageUnits.binaryValueOf(max));
+        }
+
+    }
+
+}
@@ -0,0 +1,24 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+
+final class NumberUtils {
+
+    private NumberUtils() {
+        // Hidden constructor.
+    }
+
+    static long saturatedLongValue(final @NotNull BigInteger value) {
+        if (value.bitLength() < Long.SIZE) {
+            return value.longValue();
+        }
+        return value.signum() < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Plain scalar kernels which walk a column with four independent accumulators to shorten dependency chains.
+ */
+final class ScalarSizeColumnKernels implements SizeColumnKernels {
+
+    static final @NotNull ScalarSizeColumnKernels INSTANCE = new ScalarSizeColumnKernels();
+
+    private static final int LANES = 4;
+
+    private ScalarSizeColumnKernels() {
+        // Hidden constructor.
+    }
+
+    @Override
+    public long sum(final long @NotNull [] sizes, final int from, final int to) {
+        long sum0 = 0;
+        long sum1 = 0;
+        long sum2 = 0;
+        long sum3 = 0;
+        long overflow = 0;
+        var index = from;
+        for (; index <= to - LANES; index += LANES) {
+            final var next0 = sum0 + sizes[index];
+            final var next1 = sum1 + sizes[index + 1];
+            final var next2 = sum2 + sizes[index + 2];
+            final var next3 = sum3 + sizes[index + 3];
+            // the sign bit is set whenever both operands share a sign which differs from the sign of their sum
+            overflow |= (sum0 ^ next0) & (sizes[index] ^ next0)
+                    | (sum1 ^ next1) & (sizes[index + 1] ^ next1)
+                    | (sum2 ^ next2) & (sizes[index + 2] ^ next2)
+                    | (sum3 ^ next3) & (sizes[index + 3] ^ next3);
+            sum0 = next0;
+            sum1 = next1;
+            sum2 = next2;
+            sum3 = next3;
+        }
+        for (; index < to; index++) {
+            final var next = sum0 + sizes[index];
+            overflow |= (sum0 ^ next) & (sizes[index] ^ next);
+            sum0 = next;
+        }
+        if (overflow < 0) {
+            throw new ArithmeticException("long overflow");
+        }
+        return Math.addExact(Math.addExact(sum0, sum1), Math.addExact(sum2, sum3));
+    }
+
+    @Override
+    public long min(final long @NotNull [] sizes, final int from, final int to) {
+        long min0 = Long.MAX_VALUE;
+        long min1 = Long.MAX_VALUE;
+        long min2 = Long.MAX_VALUE;
+        long min3 = Long.MAX_VALUE;
+        var index = from;
+        for (; index <= to - LANES; index += LANES) {
+            min0 = Math.min(min0, sizes[index]);
+            min1 = Math.min(min1, sizes[index + 1]);
+            min2 = Math.min(min2, sizes[index + 2]);
+            min3 = Math.min(min3, sizes[index + 3]);
+        }
+        for (; index < to; index++) {
+            min0 = Math.min(min0, sizes[index]);
+        }
+        return Math.min(Math.min(min0, min1), Math.min(min2, min3));
+    }
+
+    @Override
+    public long max(final long @NotNull [] sizes, final int from, final int to) {
+        long max0 = Long.MIN_VALUE;
+        long max1 = Long.MIN_VALUE;
+        long max2 = Long.MIN_VALUE;
+        long max3 = Long.MIN_VALUE;
+        var index = from;
+        for (; index <= to - LANES; index += LANES) {
+            max0 = Math.max(max0, sizes[index]);
+            max1 = Math.max(max1, sizes[index + 1]);
+            max2 = Math.max(max2, sizes[index + 2]);
+            max3 = Math.max(max3, sizes[index + 3]);
+        }
+        for (; index < to; index++) {
+            max0 = Math.max(max0, sizes[index]);
+        }
+        return Math.max(Math.max(max0, max1), Math.max(max2, max3));
+    }
+
+    @Override
+    public long countAtLeast(final long @NotNull [] sizes, final long limit) {
+        long count0 = 0;
+        long count1 = 0;
+        long count2 = 0;
+        long count3 = 0;
+        var index = 0;
+        for (; index <= sizes.length - LANES; index += LANES) {
+            count0 += sizes[index] >= limit ? 1 : 0;
+            count1 += sizes[index + 1] >= limit ? 1 : 0;
+            count2 += sizes[index + 2] >= limit ? 1 : 0;
+            count3 += sizes[index + 3] >= limit ? 1 : 0;
+        }
+        for (; index < sizes.length; index++) {
+            count0 += sizes[index] >= limit ? 1 : 0;
+        }
+        return count0 + count1 + count2 + count3;
+    }
+
+}
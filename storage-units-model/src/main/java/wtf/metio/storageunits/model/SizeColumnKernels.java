@@ -0,0 +1,59 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ServiceLoader;
+
+/**
+ * Service provider interface for the aggregation kernels behind {@link SizeColumns}. Implementations are discovered
+ * using the {@link ServiceLoader}, e.g. the Vector API based kernels of the {@code storage-units-vector} module. The
+ * {@link #scalar() scalar kernels} are used whenever no provider can be loaded. Callers validate all ranges beforehand,
+ * thus implementations can rely on {@code from <= to} within the bounds of the given column.
+ */
+public interface SizeColumnKernels {
+
+    /**
+     * @return The scalar kernels which are available on every runtime.
+     */
+    static @NotNull SizeColumnKernels scalar() {
+        return ScalarSizeColumnKernels.INSTANCE;
+    }
+
+    /**
+     * @param sizes The sizes in bytes to sum up.
+     * @param from  The first index to include.
+     * @param to    The first index to exclude.
+     * @return The sum of all sizes within the given range.
+     * @throws ArithmeticException In case the sum or any partial sum does not fit into a {@code long}, which makes
+     *                             {@link SizeColumns} recalculate the sum exactly.
+     */
+    long sum(long @NotNull [] sizes, int from, int to);
+
+    /**
+     * @param sizes The sizes in bytes to search.
+     * @param from  The first index to include.
+     * @param to    The first index to exclude, greater than {@code from}.
+     * @return The smallest size within the given range.
+     */
+    long min(long @NotNull [] sizes, int from, int to);
+
+    /**
+     * @param sizes The sizes in bytes to search.
+     * @param from  The first index to include.
+     * @param to    The first index to exclude, greater than {@code from}.
+     * @return The largest size within the given range.
+     */
+    long max(long @NotNull [] sizes, int from, int to);
+
+    /**
+     * @param sizes The sizes in bytes to count.
+     * @param limit The smallest size to count.
+     * @return The number of sizes which are greater than or equal to the given limit.
+     */
+    long countAtLeast(long @NotNull [] sizes, long limit);
+
+}
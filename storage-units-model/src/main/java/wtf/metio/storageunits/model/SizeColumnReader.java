@@ -0,0 +1,339 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import com.google.errorprone.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.LongConsumer;
+
+/**
+ * Reads a column of sizes written by {@link SizeColumnWriter}. The file is memory-mapped, values are decoded straight
+ * from the mapping while iterating or aggregating, thus no part of the column is copied onto the heap. The block index
+ * allows skipping entire blocks when filtering by range. Readers are safe to use from multiple threads.
+ */
+public final class SizeColumnReader implements Closeable, Iterable<StorageUnit<?>> {
+
+    private static final long MAX_SEGMENT_SIZE = 1L << 30;
+
+    private final @NotNull FileChannel channel;
+    private final long count;
+    private final int blocks;
+    private final @NotNull ByteBuffer index;
+    private final @NotNull List<MappedByteBuffer> segments = new ArrayList<>();
+    private final long @NotNull [] segmentOffsets;
+    private final int @NotNull [] blockSegments;
+
+    private SizeColumnReader(final @NotNull FileChannel channel) throws IOException {
+        this.channel = channel;
+        final var header = channel.map(FileChannel.MapMode.READ_ONLY, 0, SizeColumnWriter.HEADER_SIZE);
+        if (header.getInt() != SizeColumnWriter.MAGIC) {
+            throw new IOException("Not a size column file");
+        }
+        if (header.getInt() != SizeColumnWriter.VERSION) {
+            throw new IOException("Unsupported size column file version");
+        }
+        header.getInt();
+        blocks = header.getInt();
+        if (blocks < 0 || blocks > SizeColumnWriter.MAX_BLOCKS) {
+            // the index has to fit into a single mapping, which cannot exceed Integer.MAX_VALUE bytes
+            throw new IOException("Unsupported number of blocks " + blocks);
+        }
+        count = header.getLong();
+        final var indexOffset = header.getLong();
+        index = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset,
+                (long) blocks * SizeColumnWriter.INDEX_ENTRY_SIZE);
+        blockSegments = new int[blocks];
+        segmentOffsets = mapSegments(indexOffset);
+    }
+
+    /**
+     * @param file The file to read.
+     * @return A new reader for the given file.
+     * @throws IOException In case the file cannot be read or is not a size column file.
+     */
+    @CheckReturnValue
+    public static @NotNull SizeColumnReader open(final @NotNull Path file) throws IOException {
+        final var channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new SizeColumnReader(channel);
+        } catch (final IOException | RuntimeException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * @return The number of sizes in the column.
+     */
+    @CheckReturnValue
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return The sum of all sizes.
+     */
+    @CheckReturnValue
+    public @NotNull StorageUnit<?> sum() {
+        final var sum = new LongSum();
+        forEachBytes(sum);
+        return sum.result();
+    }
+
+    /**
+     * Reads the smallest size from the block index without decoding any block.
+     *
+     * @return The smallest size.
+     * @throws NoSuchElementException In case the column is empty.
+     */
+    @CheckReturnValue
+    public @NotNull StorageUnit<?> min() {
+        if (blocks == 0) {
+            throw new NoSuchElementException("Column is empty");
+        }
+        var min = Long.MAX_VALUE;
+        for (int block = 0; block < blocks; block++) {
+            min = Math.min(min, blockMin(block));
+        }
+        return StorageUnits.binaryValueOf(min);
+    }
+
+    /**
+     * Reads the largest size from the block index without decoding any block.
+     *
+     * @return The largest size.
+     * @throws NoSuchElementException In case the column is empty.
+     */
+    @CheckReturnValue
+    public @NotNull StorageUnit<?> max() {
+        if (blocks == 0) {
+            throw new NoSuchElementException("Column is empty");
+        }
+        var max = Long.MIN_VALUE;
+        for (int block = 0; block < blocks; block++) {
+            max = Math.max(max, blockMax(block));
+        }
+        return StorageUnits.binaryValueOf(max);
+    }
+
+    /**
+     * Counts all sizes within the given range. Blocks entirely inside or outside the range are not decoded.
+     *
+     * @param from The smallest size to count (inclusive).
+     * @param to   The largest size to count (inclusive).
+     * @return The number of sizes within the given range.
+     */
+    @CheckReturnValue
+    public long countInRange(final @NotNull StorageUnit<?> from, final @NotNull StorageUnit<?> to) {
+        final var lower = NumberUtils.saturatedLongValue(from.inByte());
+        final var upper = NumberUtils.saturatedLongValue(to.inByte());
+        final long[] matches = {0L};
+        for (int block = 0; block < blocks; block++) {
+            final var min = blockMin(block);
+            final var max = blockMax(block);
+            if (max < lower || min > upper) {
+                continue;
+            }
+            if (min >= lower && max <= upper) {
+                matches[0] += blockCount(block);
+            } else {
+                decode(block, value -> {
+                    if (value >= lower && value <= upper) {
+                        matches[0]++;
+                    }
+                });
+            }
+        }
+        return matches[0];
+    }
+
+    /**
+     * Visits all sizes within the given range. Blocks entirely outside the range are not decoded.
+     *
+     * @param from     The smallest size to visit (inclusive).
+     * @param to       The largest size to visit (inclusive).
+     * @param consumer Receives the number of bytes of each matching size.
+     */
+    public void forEachBytesInRange(
+            final @NotNull StorageUnit<?> from,
+            final @NotNull StorageUnit<?> to,
+            final @NotNull LongConsumer consumer) {
+        final var lower = NumberUtils.saturatedLongValue(from.inByte());
+        final var upper = NumberUtils.saturatedLongValue(to.inByte());
+        for (int block = 0; block < blocks; block++) {
+            if (blockMax(block) >= lower && blockMin(block) <= upper) {
+                decode(block, value -> {
+                    if (value >= lower && value <= upper) {
+                        consumer.accept(value);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * @param consumer Receives the number of bytes of each size in the column.
+     */
+    public void forEachBytes(final @NotNull LongConsumer consumer) {
+        for (int block = 0; block < blocks; block++) {
+            decode(block, consumer);
+        }
+    }
+
+    @Override
+    public @NotNull Iterator<StorageUnit<?>> iterator() {
+        return new ColumnIterator();
+    }
+
+    /**
+     * Closes the underlying file. Mappings are released once they are garbage collected.
+     *
+     * @throws IOException In case the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long @NotNull [] mapSegments(final long end) throws IOException {
+        final List<Long> offsets = new ArrayList<>();
+        var block = 0;
+        while (block < blocks) {
+            final var start = blockOffset(block);
+            var last = block;
+            while (last + 1 < blocks && blockOffset(last + 1) - start < MAX_SEGMENT_SIZE) {
+                last++;
+            }
+            final var limit = last + 1 < blocks ? blockOffset(last + 1) : end;
+            for (int segmentBlock = block; segmentBlock <= last; segmentBlock++) {
+                blockSegments[segmentBlock] = segments.size();
+            }
+            segments.add(channel.map(FileChannel.MapMode.READ_ONLY, start, limit - start));
+            offsets.add(start);
+            block = last + 1;
+        }
+        return offsets.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private void decode(final int block, final @NotNull LongConsumer consumer) {
+        final var buffer = blockBuffer(block);
+        final var values = blockCount(block);
+        if (buffer.get() == SizeColumnWriter.FIXED_WIDTH) {
+            for (int value = 0; value < values; value++) {
+                consumer.accept(buffer.getLong());
+            }
+        } else {
+            var previous = 0L;
+            for (int value = 0; value < values; value++) {
+                previous += VarInts.unzigzag(VarInts.getVarLong(buffer));
+                consumer.accept(previous);
+            }
+        }
+    }
+
+    private @NotNull ByteBuffer blockBuffer(final int block) {
+        final var segment = blockSegments[block];
+        // duplicates share the mapped memory but keep their own position, which makes concurrent readers safe
+        final var buffer = segments.get(segment).duplicate();
+        buffer.position((int) (blockOffset(block) - segmentOffsets[segment]));
+        return buffer;
+    }
+
+    private long blockOffset(final int block) {
+        return index.getLong(indexPosition(block, 0));
+    }
+
+    private int blockCount(final int block) {
+        return index.getInt(indexPosition(block, 8));
+    }
+
+    private long blockMin(final int block) {
+        return index.getLong(indexPosition(block, 12));
+    }
+
+    private long blockMax(final int block) {
+        return index.getLong(indexPosition(block, 20));
+    }
+
+    private static int indexPosition(final int block, final int field) {
+        return Math.toIntExact((long) block * SizeColumnWriter.INDEX_ENTRY_SIZE + field);
+    }
+
+    private static final class LongSum implements LongConsumer {
+
+        private long partial;
+        private @NotNull BigInteger overflow = BigInteger.ZERO;
+
+        @Override
+        public void accept(final long value) {
+            final var next = partial + value;
+            if (((partial ^ next) & (value ^ next)) < 0) {
+                overflow = overflow.add(BigInteger.valueOf(partial));
+                partial = value;
+            } else {
+                partial = next;
+            }
+        }
+
+        @NotNull StorageUnit<?> result() {
+            return overflow.signum() == 0
+                    ? StorageUnits.binaryValueOf(partial)
+                    : StorageUnits.binaryValueOf(overflow.add(BigInteger.valueOf(partial)));
+        }
+
+    }
+
+    private final class ColumnIterator implements Iterator<StorageUnit<?>> {
+
+        private int block = -1;
+        private int remaining;
+        private boolean fixedWidth;
+        private long previous;
+        private ByteBuffer buffer;
+
+        @Override
+        public boolean hasNext() {
+            while (remaining == 0) {
+                if (block + 1 >= blocks) {
+                    return false;
+                }
+                block++;
+                buffer = blockBuffer(block);
+                remaining = blockCount(block);
+                fixedWidth = buffer.get() == SizeColumnWriter.FIXED_WIDTH;
+                previous = 0L;
+            }
+            return true;
+        }
+
+        @Override
+        public @NotNull StorageUnit<?> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            remaining--;
+            if (fixedWidth) {
+                return StorageUnits.binaryValueOf(buffer.getLong());
+            }
+            previous += VarInts.unzigzag(VarInts.getVarLong(buffer));
+            return StorageUnits.binaryValueOf(previous);
+        }
+
+    }
+
+}
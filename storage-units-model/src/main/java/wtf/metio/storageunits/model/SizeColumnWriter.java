@@ -0,0 +1,192 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import com.google.errorprone.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a column of sizes into a file which can be read with {@link SizeColumnReader}. Sizes are grouped into blocks,
+ * each of which is stored either as fixed-width values or as zigzag encoded deltas between consecutive values,
+ * whichever is smaller. A block index containing the offset, the number of values, and the smallest and largest value
+ * of each block is appended once the writer is closed. The index has to fit into a single memory mapping, which limits
+ * a column to {@value #MAX_BLOCKS} blocks, thus very long columns require larger block sizes.
+ *
+ * <pre>
+ * header: magic (int), version (int), block size (int), block count (int), value count (long), index offset (long)
+ * block:  encoding (byte), values
+ * index:  offset (long), value count (int), min (long), max (long) per block
+ * </pre>
+ */
+public final class SizeColumnWriter implements Closeable {
+
+    static final int MAGIC = 0x53554346;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int INDEX_ENTRY_SIZE = 28;
+    static final byte FIXED_WIDTH = 0;
+    static final byte DELTA_VARINT = 1;
+    static final int DEFAULT_BLOCK_SIZE = 4096;
+    static final int MAX_BLOCK_SIZE = 1 << 20;
+    static final int MAX_BLOCKS = Integer.MAX_VALUE / INDEX_ENTRY_SIZE;
+
+    private final @NotNull FileChannel channel;
+    private final long @NotNull [] block;
+    private final @NotNull ByteBuffer buffer;
+    private @NotNull ByteBuffer index;
+    private int filled;
+    private int blocks;
+    private long count;
+    private long position = HEADER_SIZE;
+    private boolean closed;
+
+    private SizeColumnWriter(final @NotNull FileChannel channel, final int blockSize) {
+        this.channel = channel;
+        block = new long[blockSize];
+        buffer = ByteBuffer.allocate(1 + blockSize * VarInts.MAX_VAR_LONG_SIZE);
+        index = ByteBuffer.allocate(64 * INDEX_ENTRY_SIZE);
+    }
+
+    /**
+     * Creates a new file or replaces an existing one using the default block size.
+     *
+     * @param file The file to write.
+     * @return A new writer for the given file.
+     * @throws IOException In case the file cannot be created.
+     */
+    @CheckReturnValue
+    public static @NotNull SizeColumnWriter create(final @NotNull Path file) throws IOException {
+        return create(file, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Creates a new file or replaces an existing one.
+     *
+     * @param file      The file to write.
+     * @param blockSize The number of values per block.
+     * @return A new writer for the given file.
+     * @throws IOException In case the file cannot be created.
+     */
+    @CheckReturnValue
+    public static @NotNull SizeColumnWriter create(final @NotNull Path file, final int blockSize) throws IOException {
+        if (blockSize < 1 || blockSize > MAX_BLOCK_SIZE) {
+            throw new IllegalArgumentException("Block size must be between 1 and " + MAX_BLOCK_SIZE);
+        }
+        final var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        return new SizeColumnWriter(channel, blockSize);
+    }
+
+    /**
+     * @param bytes The size to append.
+     * @throws IOException In case the current block cannot be written or the column is full.
+     */
+    public void write(final long bytes) throws IOException {
+        if (closed) {
+            throw new IOException("Writer is closed");
+        }
+        if (filled == 0 && blocks == MAX_BLOCKS) {
+            throw new IOException("Column cannot hold more than " + MAX_BLOCKS + " blocks, use a larger block size");
+        }
+        block[filled++] = bytes;
+        count++;
+        if (filled == block.length) {
+            flushBlock();
+        }
+    }
+
+    /**
+     * @param size The size to append.
+     * @throws IOException         In case the current block cannot be written.
+     * @throws ArithmeticException In case the given size does not fit into a {@code long}.
+     */
+    public void write(final @NotNull StorageUnit<?> size) throws IOException {
+        write(size.inByte().longValueExact());
+    }
+
+    /**
+     * Writes all remaining values, the block index, and the final header.
+     *
+     * @throws IOException In case the file cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (channel) {
+            if (filled > 0) {
+                flushBlock();
+            }
+            index.flip();
+            writeFully(index, position);
+            final var header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putInt(block.length)
+                    .putInt(blocks)
+                    .putLong(count)
+                    .putLong(position)
+                    .flip();
+            writeFully(header, 0);
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        var min = Long.MAX_VALUE;
+        var max = Long.MIN_VALUE;
+        var deltaSize = 0L;
+        var previous = 0L;
+        for (int slot = 0; slot < filled; slot++) {
+            final var value = block[slot];
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            deltaSize += VarInts.varLongSize(VarInts.zigzag(value - previous));
+            previous = value;
+        }
+        buffer.clear();
+        if (deltaSize < (long) filled * Long.BYTES) {
+            buffer.put(DELTA_VARINT);
+            previous = 0L;
+            for (int slot = 0; slot < filled; slot++) {
+                VarInts.putVarLong(buffer, VarInts.zigzag(block[slot] - previous));
+                previous = block[slot];
+            }
+        } else {
+            buffer.put(FIXED_WIDTH);
+            for (int slot = 0; slot < filled; slot++) {
+                buffer.putLong(block[slot]);
+            }
+        }
+        buffer.flip();
+        if (index.remaining() < INDEX_ENTRY_SIZE) {
+            final var larger = ByteBuffer.allocate(
+                    (int) Math.min((long) index.capacity() * 2, (long) MAX_BLOCKS * INDEX_ENTRY_SIZE));
+            index = larger.put(index.flip());
+        }
+        index.putLong(position).putInt(filled).putLong(min).putLong(max);
+        position += writeFully(buffer, position);
+        blocks++;
+        filled = 0;
+    }
+
+    private int writeFully(final @NotNull ByteBuffer source, final long offset) throws IOException {
+        final var length = source.remaining();
+        var written = 0;
+        while (source.hasRemaining()) {
+            written += channel.write(source, offset + written);
+        }
+        return length;
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import com.google.errorprone.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Aggregation kernels for columns of sizes stored in {@code long} arrays. The kernels are selected once at runtime:
+ * the first {@link SizeColumnKernels} found by the {@link ServiceLoader} is used, e.g. the Vector API based kernels of
+ * the {@code storage-units-vector} module, and the {@link SizeColumnKernels#scalar() scalar kernels} otherwise. Sums
+ * are recalculated exactly using {@link BigInteger} whenever they overflow a {@code long}.
+ */
+public final class SizeColumns {
+
+    private static final @NotNull SizeColumnKernels KERNELS = loadKernels();
+
+    private SizeColumns() {
+        // Hidden constructor.
+    }
+
+    /**
+     * @return The kernels selected at runtime.
+     */
+    @CheckReturnValue
+    public static @NotNull SizeColumnKernels kernels() {
+        return KERNELS;
+    }
+
+    /**
+     * @param sizes The sizes in bytes to sum up.
+     * @return The sum of all sizes.
+     */
+    @CheckReturnValue
+    public static @NotNull StorageUnit<?> sum(final long @NotNull [] sizes) {
+        return sum(sizes, 0, sizes.length);
+    }
+
+    /**
+     * @param sizes The sizes in bytes to sum up.
+     * @param from  The first index to include.
+     * @param to    The first index to exclude.
+     * @return The sum of all sizes within the given range.
+     */
+    @CheckReturnValue
+    public static @NotNull StorageUnit<?> sum(final long @NotNull [] sizes, final int from, final int to) {
+        Objects.checkFromToIndex(from, to, sizes.length);
+        try {
+            return StorageUnits.binaryValueOf(KERNELS.sum(sizes, from, to));
+        } catch (final ArithmeticException exception) {
+            return StorageUnits.binaryValueOf(exactSum(sizes, from, to));
+        }
+    }
+
+    /**
+     * @param sizes The sizes in bytes to search.
+     * @return The smallest size.
+     * @throws NoSuchElementException In case the given column is empty.
+     */
+    @CheckReturnValue
+    public static @NotNull StorageUnit<?> min(final long @NotNull [] sizes) {
+        return StorageUnits.binaryValueOf(minOf(sizes, 0, sizes.length));
+    }
+
+    /**
+     * @param sizes The sizes in bytes to search.
+     * @return The largest size.
+     * @throws NoSuchElementException In case the given column is empty.
+     */
+    @CheckReturnValue
+    public static @NotNull StorageUnit<?> max(final long @NotNull [] sizes) {
+        return StorageUnits.binaryValueOf(maxOf(sizes, 0, sizes.length));
+    }
+
+    /**
+     * @param sizes     The sizes in bytes to count.
+     * @param threshold The smallest size to count.
+     * @return The number of sizes which are greater than or equal to the given threshold.
+     */
+    @CheckReturnValue
+    public static long countAtLeast(final long @NotNull [] sizes, final @NotNull StorageUnit<?> threshold) {
+        final var bytes = threshold.inByte();
+        if (bytes.bitLength() >= Long.SIZE) {
+            return bytes.signum() < 0 ? sizes.length : 0;
+        }
+        return KERNELS.countAtLeast(sizes, bytes.longValue());
+    }
+
+    static long minOf(final long @NotNull [] sizes, final int from, final int to) {
+        checkNotEmpty(sizes, from, to);
+        return KERNELS.min(sizes, from, to);
+    }
+
+    static long maxOf(final long @NotNull [] sizes, final int from, final int to) {
+        checkNotEmpty(sizes, from, to);
+        return KERNELS.max(sizes, from, to);
+    }
+
+    private static @NotNull BigInteger exactSum(final long @NotNull [] sizes, final int from, final int to) {
+        var sum = BigInteger.ZERO;
+        long partial = 0;
+        for (int index = from; index < to; index++) {
+            final var next = partial + sizes[index];
+            if (((partial ^ next) & (sizes[index] ^ next)) < 0) {
+                sum = sum.add(BigInteger.valueOf(partial));
+                partial = sizes[index];
+            } else {
+                partial = next;
+            }
+        }
+        return sum.add(BigInteger.valueOf(partial));
+    }
+
+    private static void checkNotEmpty(final long @NotNull [] sizes, final int from, final int to) {
+        Objects.checkFromToIndex(from, to, sizes.length);
+        if (from == to) {
+            throw new NoSuchElementException("Column is empty");
+        }
+    }
+
+    private static @NotNull SizeColumnKernels loadKernels() {
+        try {
+            for (final var kernels : ServiceLoader.load(SizeColumnKernels.class, SizeColumns.class.getClassLoader())) {
+                return kernels;
+            }
+        } catch (final ServiceConfigurationError | LinkageError error) {
+            // providers which require an absent module, e.g. jdk.incubator.vector, fall back to the scalar kernels
+        }
+        return SizeColumnKernels.scalar();
+    }
+
+}
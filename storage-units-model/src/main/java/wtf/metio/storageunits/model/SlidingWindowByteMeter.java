@@ -0,0 +1,161 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import com.google.errorprone.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serial;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Measures the number of bytes recorded within a sliding time window, e.g. the bytes sent in the last 1, 5, and 15
+ * minutes. The window is split into a ring of buckets which are rotated lazily while recording, thus no background
+ * thread is required. Each bucket is spread over multiple counters so that concurrent threads rarely contend on the
+ * same memory. Recording only allocates when it starts a new bucket.
+ */
+public final class SlidingWindowByteMeter {
+
+    private static final int MAX_STRIPES = 16;
+
+    private final int buckets;
+    private final long bucketNanos;
+    private final int stripeMask;
+    private final @NotNull LongSupplier clock;
+    private final @NotNull AtomicReferenceArray<Counter> counters;
+
+    /**
+     * @param window  The longest window that can be queried.
+     * @param buckets The number of buckets the window is split into.
+     */
+    public SlidingWindowByteMeter(final @NotNull Duration window, final int buckets) {
+        this(window, buckets, System::nanoTime);
+    }
+
+    SlidingWindowByteMeter(final @NotNull Duration window, final int buckets, final @NotNull LongSupplier clock) {
+        if (buckets < 1) {
+            throw new IllegalArgumentException("Number of buckets must be positive");
+        }
+        if (window.toNanos() < buckets) {
+            throw new IllegalArgumentException("Window must be at least one nanosecond per bucket");
+        }
+        this.buckets = buckets;
+        this.clock = clock;
+        bucketNanos = window.toNanos() / buckets;
+        final var stripes = Math.min(MAX_STRIPES,
+                Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)));
+        stripeMask = stripes - 1;
+        // each stripe holds all buckets next to each other, counters are allocated by the threads recording into them
+        counters = new AtomicReferenceArray<>(stripes * buckets);
+    }
+
+    /**
+     * Records bytes in the bucket of the current time. Each counter belongs to a single bucket and is replaced once its
+     * bucket is reused for a newer part of the window. Threads which are delayed by almost an entire window between
+     * reading the clock and recording thus either add to a replaced counter or find a newer one. Either way their bytes
+     * are dropped, since they fall outside the window, while newer buckets are never affected.
+     *
+     * @param bytes The number of bytes to record.
+     */
+    public void record(final long bytes) {
+        final var epoch = Math.floorDiv(clock.getAsLong(), bucketNanos);
+        final var index = stripe() * buckets + Math.floorMod(epoch, buckets);
+        while (true) {
+            final var counter = counters.get(index);
+            if (counter != null && counter.epoch >= epoch) {
+                if (counter.epoch == epoch) {
+                    counter.addAndGet(bytes);
+                }
+                return;
+            }
+            if (counters.compareAndSet(index, counter, new Counter(epoch, bytes))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param bytes The amount of bytes to record.
+     */
+    public void record(final @NotNull StorageUnit<?> bytes) {
+        record(NumberUtils.saturatedLongValue(bytes.inByte()));
+    }
+
+    /**
+     * @return The number of bytes recorded within the entire window.
+     */
+    @CheckReturnValue
+    public @NotNull StorageUnit<?> total() {
+        return StorageUnits.binaryValueOf(sumOfBuckets(buckets));
+    }
+
+    /**
+     * @param window The window to sum up, must not exceed the window of this meter.
+     * @return The number of bytes recorded within the given window, rounded up to entire buckets.
+     */
+    @CheckReturnValue
+    public @NotNull StorageUnit<?> sum(final @NotNull Duration window) {
+        return StorageUnits.binaryValueOf(sumOfBuckets(bucketsIn(window)));
+    }
+
+    /**
+     * @param window The window to consider, must not exceed the window of this meter.
+     * @return The average number of bytes per second recorded within the given window, rounded up to entire buckets.
+     */
+    @CheckReturnValue
+    public double bytesPerSecond(final @NotNull Duration window) {
+        final var count = bucketsIn(window);
+        final var seconds = (double) count * bucketNanos / TimeUnit.SECONDS.toNanos(1);
+        return sumOfBuckets(count) / seconds;
+    }
+
+    private int bucketsIn(final @NotNull Duration window) {
+        final var nanos = window.toNanos();
+        if (nanos <= 0) {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        final var count = (nanos + bucketNanos - 1) / bucketNanos;
+        if (count > buckets) {
+            throw new IllegalArgumentException("Window exceeds the window of this meter");
+        }
+        return (int) count;
+    }
+
+    private long sumOfBuckets(final int count) {
+        final var current = Math.floorDiv(clock.getAsLong(), bucketNanos);
+        long sum = 0;
+        for (int index = 0; index < counters.length(); index++) {
+            final var counter = counters.get(index);
+            if (counter != null && counter.epoch <= current && counter.epoch > current - count) {
+                sum += counter.get();
+            }
+        }
+        return sum;
+    }
+
+    private int stripe() {
+        final var id = Thread.currentThread().getId();
+        return (int) (id * 0x9E3779B97F4A7C15L >>> 32) & stripeMask;
+    }
+
+    private static final class Counter extends AtomicLong {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final long epoch;
+
+        Counter(final long epoch, final long bytes) {
+            super(bytes);
+            this.epoch = epoch;
+        }
+
+    }
+
+}
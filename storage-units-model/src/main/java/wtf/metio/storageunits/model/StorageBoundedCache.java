@@ -0,0 +1,377 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import com.google.errorprone.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Cache which evicts entries once the total weight of all cached values exceeds a given storage capacity. The cache is
+ * split into independently locked segments so that concurrent readers and writers never contend on a global lock. The
+ * capacity is shared by all segments: writers first evict the least recently used entries of their own segment, and
+ * continue with the other segments in case their own segment runs out of entries.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the cached values.
+ */
+public final class StorageBoundedCache<K, V> {
+
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    private final @NotNull Weigher<? super K, ? super V> weigher;
+    private final @NotNull Segment<K, V>[] segments;
+    private final long capacity;
+    private final int segmentMask;
+    private final @NotNull AtomicLong weight = new AtomicLong();
+    private final @NotNull AtomicInteger evictionCursor = new AtomicInteger();
+    private final @NotNull LongAdder hits = new LongAdder();
+    private final @NotNull LongAdder misses = new LongAdder();
+    private final @NotNull LongAdder evictions = new LongAdder();
+    private final @NotNull LongAdder evictedBytes = new LongAdder();
+
+    /**
+     * @param capacity The maximum total weight of all cached values.
+     * @param weigher  Calculates the number of bytes a single entry occupies.
+     */
+    public StorageBoundedCache(
+            final @NotNull StorageUnit<?> capacity,
+            final @NotNull Weigher<? super K, ? super V> weigher) {
+        this(capacity, weigher, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * @param capacity         The maximum total weight of all cached values.
+     * @param weigher          Calculates the number of bytes a single entry occupies.
+     * @param concurrencyLevel The expected number of concurrently modifying threads.
+     */
+    @SuppressWarnings("unchecked")
+    public StorageBoundedCache(
+            final @NotNull StorageUnit<?> capacity,
+            final @NotNull Weigher<? super K, ? super V> weigher,
+            final int concurrencyLevel) {
+        if (capacity.inByte().signum() < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative");
+        }
+        if (concurrencyLevel < 1) {
+            throw new IllegalArgumentException("Concurrency level must be positive");
+        }
+        this.weigher = weigher;
+        this.capacity = NumberUtils.saturatedLongValue(capacity.inByte());
+        final var segmentCount = segmentCount(concurrencyLevel);
+        segmentMask = segmentCount - 1;
+        segments = (Segment<K, V>[]) new Segment<?, ?>[segmentCount];
+        for (int index = 0; index < segmentCount; index++) {
+            segments[index] = new Segment<>(this);
+        }
+    }
+
+    private static int segmentCount(final int concurrencyLevel) {
+        var count = Integer.highestOneBit(Math.min(concurrencyLevel, 1 << 16));
+        if (count < concurrencyLevel && count < (1 << 16)) {
+            count <<= 1;
+        }
+        return count;
+    }
+
+    /**
+     * @param key The key to look up.
+     * @return The cached value or {@code null} in case nothing is cached for the given key.
+     */
+    public @Nullable V get(final @NotNull K key) {
+        final var value = segmentFor(key).get(key);
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Returns the cached value for the given key or loads, caches, and returns a new value. The loader is called while
+     * holding the lock of a single segment, thus it should be short and must not access this cache.
+     *
+     * @param key    The key to look up.
+     * @param loader Loads a value in case nothing is cached for the given key.
+     * @return The cached or freshly loaded value.
+     */
+    public @NotNull V computeIfAbsent(final @NotNull K key, final @NotNull Function<? super K, ? extends V> loader) {
+        final var segment = segmentFor(key);
+        final var cached = segment.get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        final var value = segment.computeIfAbsent(key, loader);
+        evict(segment, key);
+        return value;
+    }
+
+    /**
+     * Caches a value. Values heavier than the capacity of the entire cache are not cached at all, and replace any value
+     * previously cached for the same key. Such rejected values do not count as evictions.
+     *
+     * @param key   The key to use.
+     * @param value The value to cache.
+     * @return The previously cached value or {@code null} in case nothing was cached for the given key.
+     */
+    public @Nullable V put(final @NotNull K key, final @NotNull V value) {
+        final var segment = segmentFor(key);
+        final var previous = segment.put(key, value);
+        evict(segment, key);
+        return previous;
+    }
+
+    /**
+     * @param key The key to remove.
+     * @return The previously cached value or {@code null} in case nothing was cached for the given key.
+     */
+    public @Nullable V remove(final @NotNull K key) {
+        return segmentFor(key).remove(key);
+    }
+
+    /**
+     * Removes all cached values without counting them as evictions.
+     */
+    public void clear() {
+        for (final var segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * @return The number of cached entries.
+     */
+    @CheckReturnValue
+    public long size() {
+        long size = 0;
+        for (final var segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return The maximum total weight of all cached values.
+     */
+    @CheckReturnValue
+    public @NotNull StorageUnit<?> capacity() {
+        return StorageUnits.binaryValueOf(capacity);
+    }
+
+    /**
+     * @return The current total weight of all cached values.
+     */
+    @CheckReturnValue
+    public @NotNull StorageUnit<?> weightedSize() {
+        return StorageUnits.binaryValueOf(weight.get());
+    }
+
+    /**
+     * @return A snapshot of the statistics of this cache.
+     */
+    @CheckReturnValue
+    public @NotNull Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), StorageUnits.binaryValueOf(evictedBytes.sum()));
+    }
+
+    private @NotNull Segment<K, V> segmentFor(final @NotNull K key) {
+        final var hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & segmentMask];
+    }
+
+    private void evict(final @NotNull Segment<K, V> origin, final @NotNull K protectedKey) {
+        // the segment of the writer is drained first, all other segments are visited round-robin so that no single
+        // segment takes the entire eviction pressure of all other segments
+        var drained = false;
+        while (weight.get() > capacity && !drained) {
+            drained = !origin.evictEldest(protectedKey);
+        }
+        var idle = 0;
+        while (weight.get() > capacity && idle < segments.length) {
+            final var segment = segments[evictionCursor.getAndIncrement() & segmentMask];
+            idle = segment.evictEldest(protectedKey) ? 0 : idle + 1;
+        }
+    }
+
+    private long weigh(final @NotNull K key, final @NotNull V value) {
+        final var entryWeight = weigher.weigh(key, value);
+        if (entryWeight < 0) {
+            throw new IllegalArgumentException("Weigher returned negative weight " + entryWeight + " for key " + key);
+        }
+        return entryWeight;
+    }
+
+    /**
+     * Calculates the number of bytes a cache entry occupies.
+     *
+     * @param <K> The type of the keys.
+     * @param <V> The type of the values.
+     */
+    @FunctionalInterface
+    public interface Weigher<K, V> {
+
+        /**
+         * @param key   The key of the entry.
+         * @param value The value of the entry.
+         * @return The non-negative number of bytes the entry occupies.
+         */
+        long weigh(@NotNull K key, @NotNull V value);
+
+    }
+
+    /**
+     * Statistics of a {@link StorageBoundedCache}.
+     *
+     * @param hitCount      The number of lookups that found a cached value.
+     * @param missCount     The number of lookups that did not find a cached value.
+     * @param evictionCount The number of entries removed in order to stay within the capacity.
+     * @param evictedBytes  The total weight of all evicted entries.
+     */
+    public record Stats(long hitCount, long missCount, long evictionCount, @NotNull StorageUnit<?> evictedBytes) {
+
+        /**
+         * @return The ratio of lookups that found a cached value or {@code 1.0} if there were no lookups yet.
+         */
+        @CheckReturnValue
+        public double hitRate() {
+            final var requests = hitCount + missCount;
+            return requests == 0 ? 1.0 : (double) hitCount / requests;
+        }
+
+    }
+
+    private static final class Segment<K, V> {
+
+        private final @NotNull StorageBoundedCache<K, V> cache;
+        private final @NotNull ReentrantLock lock = new ReentrantLock();
+        private final @NotNull LinkedHashMap<K, Weighted<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        Segment(final @NotNull StorageBoundedCache<K, V> cache) {
+            this.cache = cache;
+        }
+
+        @Nullable V get(final @NotNull K key) {
+            lock.lock();
+            try {
+                final var entry = entries.get(key);
+                return entry == null ? null : entry.value;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @NotNull V computeIfAbsent(final @NotNull K key, final @NotNull Function<? super K, ? extends V> loader) {
+            lock.lock();
+            try {
+                final var existing = entries.get(key);
+                if (existing != null) {
+                    return existing.value;
+                }
+                final V value = loader.apply(key);
+                insert(key, value);
+                return value;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Nullable V put(final @NotNull K key, final @NotNull V value) {
+            lock.lock();
+            try {
+                return insert(key, value);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Nullable V remove(final @NotNull K key) {
+            lock.lock();
+            try {
+                final var removed = entries.remove(key);
+                if (removed == null) {
+                    return null;
+                }
+                cache.weight.addAndGet(-removed.weight);
+                return removed.value;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                long removed = 0;
+                for (final var entry : entries.values()) {
+                    removed += entry.weight;
+                }
+                entries.clear();
+                cache.weight.addAndGet(-removed);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean evictEldest(final @NotNull K protectedKey) {
+            lock.lock();
+            try {
+                final Iterator<Map.Entry<K, Weighted<V>>> eldest = entries.entrySet().iterator();
+                while (eldest.hasNext()) {
+                    final var candidate = eldest.next();
+                    if (candidate.getKey().equals(protectedKey)) {
+                        continue;
+                    }
+                    final var candidateWeight = candidate.getValue().weight;
+                    eldest.remove();
+                    cache.weight.addAndGet(-candidateWeight);
+                    cache.evictions.increment();
+                    cache.evictedBytes.add(candidateWeight);
+                    return true;
+                }
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private @Nullable V insert(final @NotNull K key, final @NotNull V value) {
+            final var entryWeight = cache.weigh(key, value);
+            final var previous = entries.remove(key);
+            var delta = previous == null ? 0L : -previous.weight;
+            if (entryWeight <= cache.capacity) {
+                entries.put(key, new Weighted<>(value, entryWeight));
+                delta += entryWeight;
+            }
+            cache.weight.addAndGet(delta);
+            return previous == null ? null : previous.value;
+        }
+
+    }
+
+    private record Weighted<V>(@NotNull V value, long weight) {
+    }
+
+}
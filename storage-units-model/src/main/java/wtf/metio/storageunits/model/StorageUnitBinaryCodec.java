@@ -0,0 +1,264 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import com.google.errorprone.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * Compact binary encoding for storage units. The number of bytes is written as a zigzag encoded variable-length
+ * integer, thus small sizes take up a single byte. Sizes beyond 62 bits escape into a length-prefixed, big-endian
+ * two's complement representation. The {@link #TAGGED} codec prepends a single byte identifying the unit, while the
+ * other codecs decode into the best-matching unit. Values within the range of {@code long} are encoded and decoded
+ * without any intermediate allocation.
+ *
+ * <pre>
+ * tag:    unit (byte), only written by the tagged codec
+ * header: zigzag(bytes) &lt;&lt; 1 or length &lt;&lt; 1 | 1 (varint)
+ * escape: length bytes of the two's complement representation
+ * </pre>
+ */
+public final class StorageUnitBinaryCodec {
+
+    /**
+     * Codec without unit tag which decodes into the best-matching binary unit.
+     */
+    public static final StorageUnitBinaryCodec BINARY = new StorageUnitBinaryCodec(
+            false, StorageUnits::binaryValueOf, StorageUnits::binaryValueOf);
+
+    /**
+     * Codec without unit tag which decodes into the best-matching decimal unit.
+     */
+    public static final StorageUnitBinaryCodec DECIMAL = new StorageUnitBinaryCodec(
+            false, StorageUnits::decimalValueOf, StorageUnits::decimalValueOf);
+
+    /**
+     * Codec which preserves the unit of each encoded value.
+     */
+    public static final StorageUnitBinaryCodec TAGGED = new StorageUnitBinaryCodec(
+            true, StorageUnits::binaryValueOf, StorageUnits::binaryValueOf);
+
+    private static final List<Function<BigInteger, StorageUnit<?>>> FACTORIES = List.of(
+            Byte::valueOf,
+            Kibibyte::valueOf, Mebibyte::valueOf, Gibibyte::valueOf, Tebibyte::valueOf, Pebibyte::valueOf,
+            Exbibyte::valueOf, Zebibyte::valueOf, Yobibyte::valueOf, Robibyte::valueOf, Qubibyte::valueOf,
+            Kilobyte::valueOf, Megabyte::valueOf, Gigabyte::valueOf, Terabyte::valueOf, Petabyte::valueOf,
+            Exabyte::valueOf, Zettabyte::valueOf, Yottabyte::valueOf, Ronnabyte::valueOf, Quettabyte::valueOf);
+
+    private static final Map<Class<?>, Integer> TAGS = new HashMap<>();
+
+    static {
+        for (int tag = 0; tag < FACTORIES.size(); tag++) {
+            TAGS.put(FACTORIES.get(tag).apply(BigInteger.ZERO).getClass(), tag);
+        }
+    }
+
+    private final boolean tagged;
+    private final @NotNull LongFunction<StorageUnit<?>> fromLong;
+    private final @NotNull Function<BigInteger, StorageUnit<?>> fromBigInteger;
+
+    private StorageUnitBinaryCodec(
+            final boolean tagged,
+            final @NotNull LongFunction<StorageUnit<?>> fromLong,
+            final @NotNull Function<BigInteger, StorageUnit<?>> fromBigInteger) {
+        this.tagged = tagged;
+        this.fromLong = fromLong;
+        this.fromBigInteger = fromBigInteger;
+    }
+
+    /**
+     * @param unit The unit to encode.
+     * @return The number of bytes required to encode the given unit.
+     */
+    @CheckReturnValue
+    public int encodedSize(final @NotNull StorageUnit<?> unit) {
+        final var bytes = unit.inByte();
+        final var tagSize = tagged ? 1 : 0;
+        if (fitsHeader(bytes)) {
+            return tagSize + VarInts.varLongSize(VarInts.zigzag(bytes.longValue()) << 1);
+        }
+        final var length = escapeLength(bytes);
+        return tagSize + VarInts.varLongSize((long) length << 1 | 1) + length;
+    }
+
+    /**
+     * Writes the given unit at the current position of the target buffer and advances its position.
+     *
+     * @param unit   The unit to encode.
+     * @param target The buffer to write into.
+     * @throws BufferOverflowException In case the target buffer does not have enough space left.
+     */
+    public void encode(final @NotNull StorageUnit<?> unit, final @NotNull ByteBuffer target) {
+        if (target.remaining() < encodedSize(unit)) {
+            throw new BufferOverflowException();
+        }
+        if (tagged) {
+            target.put(tagOf(unit));
+        }
+        final var bytes = unit.inByte();
+        if (fitsHeader(bytes)) {
+            VarInts.putVarLong(target, VarInts.zigzag(bytes.longValue()) << 1);
+        } else {
+            final var magnitude = bytes.toByteArray();
+            VarInts.putVarLong(target, (long) magnitude.length << 1 | 1);
+            target.put(magnitude);
+        }
+    }
+
+    /**
+     * @param unit   The unit to encode.
+     * @param target The array to write into.
+     * @param offset The index of the first byte to write.
+     * @return The number of bytes written.
+     * @throws IndexOutOfBoundsException In case the target array does not have enough space left.
+     */
+    public int encode(final @NotNull StorageUnit<?> unit, final byte @NotNull [] target, final int offset) {
+        final var size = encodedSize(unit);
+        Objects.checkFromIndexSize(offset, size, target.length);
+        var position = offset;
+        if (tagged) {
+            target[position++] = tagOf(unit);
+        }
+        final var bytes = unit.inByte();
+        if (fitsHeader(bytes)) {
+            VarInts.putVarLong(target, position, VarInts.zigzag(bytes.longValue()) << 1);
+        } else {
+            final var magnitude = bytes.toByteArray();
+            position += VarInts.putVarLong(target, position, (long) magnitude.length << 1 | 1);
+            System.arraycopy(magnitude, 0, target, position, magnitude.length);
+        }
+        return size;
+    }
+
+    /**
+     * @param unit The unit to encode.
+     * @return A new array containing the encoded unit.
+     */
+    @CheckReturnValue
+    public byte @NotNull [] encode(final @NotNull StorageUnit<?> unit) {
+        final var target = new byte[encodedSize(unit)];
+        encode(unit, target, 0);
+        return target;
+    }
+
+    /**
+     * Reads a unit at the current position of the source buffer and advances its position.
+     *
+     * @param source The buffer to read from.
+     * @return The decoded unit.
+     * @throws IllegalArgumentException In case the source buffer does not contain an encoded unit.
+     * @throws BufferUnderflowException In case the source buffer ends within an encoded unit.
+     */
+    @CheckReturnValue
+    public @NotNull StorageUnit<?> decode(final @NotNull ByteBuffer source) {
+        final var factory = tagged ? factoryOf(source.get()) : null;
+        final var header = VarInts.getVarLong(source);
+        if ((header & 1) == 0) {
+            final var bytes = VarInts.unzigzag(header >>> 1);
+            return factory == null ? fromLong.apply(bytes) : factory.apply(BigInteger.valueOf(bytes));
+        }
+        final var length = escapeLength(header, source.remaining());
+        final BigInteger bytes;
+        if (source.hasArray()) {
+            bytes = new BigInteger(source.array(), source.arrayOffset() + source.position(), length);
+            source.position(source.position() + length);
+        } else {
+            final var magnitude = new byte[length];
+            source.get(magnitude);
+            bytes = new BigInteger(magnitude);
+        }
+        return factory == null ? fromBigInteger.apply(bytes) : factory.apply(bytes);
+    }
+
+    /**
+     * Reads a unit starting at the given offset. Use {@link #encodedSize(StorageUnit)} on the result to advance to the
+     * next unit.
+     *
+     * @param source The array to read from.
+     * @param offset The index of the first byte to read.
+     * @return The decoded unit.
+     * @throws IllegalArgumentException In case the source array does not contain an encoded unit.
+     */
+    @CheckReturnValue
+    public @NotNull StorageUnit<?> decode(final byte @NotNull [] source, final int offset) {
+        Objects.checkIndex(offset, source.length);
+        var position = offset;
+        final var factory = tagged ? factoryOf(source[position++]) : null;
+        long header = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (position == source.length) {
+                throw new IllegalArgumentException("Truncated storage unit");
+            }
+            if (shift >= Long.SIZE) {
+                throw new IllegalArgumentException("Malformed variable-length integer");
+            }
+            final var next = source[position++];
+            header |= (long) (next & 0x7F) << shift;
+            if (next >= 0) {
+                break;
+            }
+        }
+        if ((header & 1) == 0) {
+            final var bytes = VarInts.unzigzag(header >>> 1);
+            return factory == null ? fromLong.apply(bytes) : factory.apply(BigInteger.valueOf(bytes));
+        }
+        final var bytes = new BigInteger(source, position, escapeLength(header, source.length - position));
+        return factory == null ? fromBigInteger.apply(bytes) : factory.apply(bytes);
+    }
+
+    /**
+     * @param source The array to read from.
+     * @return The decoded unit.
+     * @throws IllegalArgumentException In case the source array does not contain an encoded unit.
+     */
+    @CheckReturnValue
+    public @NotNull StorageUnit<?> decode(final byte @NotNull [] source) {
+        return decode(source, 0);
+    }
+
+    private static boolean fitsHeader(final @NotNull BigInteger bytes) {
+        // zigzag encoding doubles the magnitude and the header needs another bit for the escape flag
+        return bytes.bitLength() < Long.SIZE - 1;
+    }
+
+    private static int escapeLength(final @NotNull BigInteger bytes) {
+        return bytes.bitLength() / 8 + 1;
+    }
+
+    private static int escapeLength(final long header, final int remaining) {
+        final var length = header >>> 1;
+        if (length < 1 || length > remaining) {
+            throw new IllegalArgumentException("Truncated storage unit");
+        }
+        return (int) length;
+    }
+
+    private static byte tagOf(final @NotNull StorageUnit<?> unit) {
+        final var tag = TAGS.get(unit.getClass());
+        if (tag == null) {
+            throw new IllegalArgumentException("Unsupported unit " + unit.getClass().getName());
+        }
+        return tag.byteValue();
+    }
+
+    private static @NotNull Function<BigInteger, StorageUnit<?>> factoryOf(final byte tag) {
+        if (tag < 0 || tag >= FACTORIES.size()) {
+            throw new IllegalArgumentException("Unknown unit tag " + tag);
+        }
+        return FACTORIES.get(tag);
+    }
+
+}
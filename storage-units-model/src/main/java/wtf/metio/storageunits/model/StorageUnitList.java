@@ -0,0 +1,361 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import com.google.errorprone.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigInteger;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+
+/**
+ * List of storage units which stores the number of bytes of each element in a primitive {@code long} array. Elements
+ * are converted into storage units only when accessed, using the best-matching binary unit. Aggregations and sorting
+ * run directly on the primitive array. The rare values outside the range of {@code long} are kept in a separate table,
+ * which moves all operations that touch them onto a slower {@link BigInteger} based path.
+ */
+public final class StorageUnitList extends AbstractList<StorageUnit<?>> implements RandomAccess {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long @NotNull [] values;
+    private int size;
+    private final @NotNull TreeMap<Integer, BigInteger> overflow = new TreeMap<>();
+
+    /**
+     * Creates a new, empty list.
+     */
+    public StorageUnitList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param initialCapacity The number of elements the list can hold before it has to grow.
+     */
+    public StorageUnitList(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must not be negative");
+        }
+        values = new long[initialCapacity];
+    }
+
+    /**
+     * @param bytes The number of bytes of each element.
+     * @return A new list containing the given number of bytes.
+     */
+    @CheckReturnValue
+    public static @NotNull StorageUnitList of(final long @NotNull ... bytes) {
+        final var list = new StorageUnitList(bytes.length);
+        System.arraycopy(bytes, 0, list.values, 0, bytes.length);
+        list.size = bytes.length;
+        return list;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public @NotNull StorageUnit<?> get(final int index) {
+        checkIndex(index);
+        final var big = overflowAt(index);
+        return big == null ? StorageUnits.binaryValueOf(values[index]) : StorageUnits.binaryValueOf(big);
+    }
+
+    /**
+     * @param index The index of the element to read.
+     * @return The number of bytes of the element at the given index.
+     * @throws ArithmeticException In case the element does not fit into a {@code long}.
+     */
+    @CheckReturnValue
+    public long getAsLong(final int index) {
+        checkIndex(index);
+        if (overflowAt(index) != null) {
+            throw new ArithmeticException("Element at index " + index + " does not fit into a long");
+        }
+        return values[index];
+    }
+
+    /**
+     * @param bytes The number of bytes to append.
+     */
+    public void add(final long bytes) {
+        ensureCapacity(size + 1);
+        values[size++] = bytes;
+        modCount++;
+    }
+
+    @Override
+    public void add(final int index, final @NotNull StorageUnit<?> element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        ensureCapacity(size + 1);
+        System.arraycopy(values, index, values, index + 1, size - index);
+        shiftOverflow(index, 1);
+        size++;
+        store(index, element.inByte());
+        modCount++;
+    }
+
+    @Override
+    public @NotNull StorageUnit<?> set(final int index, final @NotNull StorageUnit<?> element) {
+        final var previous = get(index);
+        store(index, element.inByte());
+        return previous;
+    }
+
+    @Override
+    public @NotNull StorageUnit<?> remove(final int index) {
+        final var previous = get(index);
+        overflow.remove(index);
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        shiftOverflow(index + 1, -1);
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        overflow.clear();
+        modCount++;
+    }
+
+    /**
+     * @return The sum of all elements.
+     */
+    @CheckReturnValue
+    public @NotNull StorageUnit<?> sum() {
+        if (overflow.isEmpty()) {
+            return SizeColumns.sum(values, 0, size);
+        }
+        return StorageUnits.binaryValueOf(exactSum());
+    }
+
+    /**
+     * @return The smallest element.
+     * @throws NoSuchElementException In case the list is empty.
+     */
+    @CheckReturnValue
+    public @NotNull StorageUnit<?> min() {
+        return extreme(-1);
+    }
+
+    /**
+     * @return The largest element.
+     * @throws NoSuchElementException In case the list is empty.
+     */
+    @CheckReturnValue
+    public @NotNull StorageUnit<?> max() {
+        return extreme(1);
+    }
+
+    /**
+     * Calculates a percentile using the nearest-rank method. The list itself is not modified. Elements are selected
+     * from a copy in linear time on average instead of sorting the copy entirely.
+     *
+     * @param percentile The percentile to calculate, between {@code 0} and {@code 100}.
+     * @return The smallest element which is greater than or equal to the given percentage of all elements.
+     * @throws NoSuchElementException In case the list is empty.
+     */
+    @CheckReturnValue
+    public @NotNull StorageUnit<?> percentile(final double percentile) {
+        if (!(percentile >= 0.0 && percentile <= 100.0)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        if (size == 0) {
+            throw new NoSuchElementException("List is empty");
+        }
+        final var rank = (int) Math.ceil(percentile / 100.0 * size);
+        final var index = Math.max(0, rank - 1);
+        if (overflow.isEmpty()) {
+            return StorageUnits.binaryValueOf(select(Arrays.copyOf(values, size), index));
+        }
+        final var copy = new StorageUnitList(size);
+        System.arraycopy(values, 0, copy.values, 0, size);
+        copy.size = size;
+        copy.overflow.putAll(overflow);
+        copy.sort();
+        return copy.get(index);
+    }
+
+    /**
+     * Sorts all elements in ascending order, in parallel for large lists.
+     */
+    public void sort() {
+        if (overflow.isEmpty()) {
+            Arrays.parallelSort(values, 0, size);
+        } else {
+            // values beyond the range of long are either smaller or larger than all other values
+            final List<BigInteger> below = new ArrayList<>();
+            final List<BigInteger> above = new ArrayList<>();
+            for (final var value : overflow.values()) {
+                (value.signum() < 0 ? below : above).add(value);
+            }
+            below.sort(Comparator.naturalOrder());
+            above.sort(Comparator.naturalOrder());
+            final var sorted = new long[values.length];
+            var position = below.size();
+            for (int index = 0; index < size; index++) {
+                if (!overflow.containsKey(index)) {
+                    sorted[position++] = values[index];
+                }
+            }
+            Arrays.parallelSort(sorted, below.size(), position);
+            overflow.clear();
+            for (int index = 0; index < below.size(); index++) {
+                store(sorted, index, below.get(index));
+            }
+            for (final var value : above) {
+                store(sorted, position++, value);
+            }
+            values = sorted;
+        }
+        modCount++;
+    }
+
+    @Override
+    public void sort(final @Nullable Comparator<? super StorageUnit<?>> comparator) {
+        if (comparator == null || comparator == Comparator.naturalOrder()) {
+            sort();
+        } else {
+            super.sort(comparator);
+        }
+    }
+
+    private static long select(final long @NotNull [] elements, final int index) {
+        var left = 0;
+        var right = elements.length - 1;
+        while (left < right) {
+            final var pivot = medianOfThree(elements[left], elements[(left + right) >>> 1], elements[right]);
+            var lower = left;
+            var upper = right;
+            while (lower <= upper) {
+                while (elements[lower] < pivot) {
+                    lower++;
+                }
+                while (elements[upper] > pivot) {
+                    upper--;
+                }
+                if (lower <= upper) {
+                    final var swap = elements[lower];
+                    elements[lower++] = elements[upper];
+                    elements[upper--] = swap;
+                }
+            }
+            if (index <= upper) {
+                right = upper;
+            } else if (index >= lower) {
+                left = lower;
+            } else {
+                // everything between both partitions equals the pivot
+                return pivot;
+            }
+        }
+        return elements[index];
+    }
+
+    private static long medianOfThree(final long first, final long second, final long third) {
+        return Math.max(Math.min(first, second), Math.min(Math.max(first, second), third));
+    }
+
+    private @NotNull StorageUnit<?> extreme(final int direction) {
+        if (size == 0) {
+            throw new NoSuchElementException("List is empty");
+        }
+        if (overflow.isEmpty()) {
+            return StorageUnits.binaryValueOf(direction < 0
+                    ? SizeColumns.minOf(values, 0, size)
+                    : SizeColumns.maxOf(values, 0, size));
+        }
+        var result = valueAt(0);
+        for (int index = 1; index < size; index++) {
+            final var value = valueAt(index);
+            if (value.compareTo(result) == direction) {
+                result = value;
+            }
+        }
+        return StorageUnits.binaryValueOf(result);
+    }
+
+    private @NotNull BigInteger exactSum() {
+        var sum = BigInteger.ZERO;
+        long partial = 0;
+        for (int index = 0; index < size; index++) {
+            final var big = overflowAt(index);
+            if (big != null) {
+                sum = sum.add(big);
+                continue;
+            }
+            final var value = values[index];
+            final var next = partial + value;
+            if (((partial ^ next) & (value ^ next)) < 0) {
+                sum = sum.add(BigInteger.valueOf(partial));
+                partial = value;
+            } else {
+                partial = next;
+            }
+        }
+        return sum.add(BigInteger.valueOf(partial));
+    }
+
+    private @NotNull BigInteger valueAt(final int index) {
+        final var big = overflowAt(index);
+        return big == null ? BigInteger.valueOf(values[index]) : big;
+    }
+
+    private @Nullable BigInteger overflowAt(final int index) {
+        return overflow.isEmpty() ? null : overflow.get(index);
+    }
+
+    private void store(final int index, final @NotNull BigInteger bytes) {
+        store(values, index, bytes);
+    }
+
+    private void store(final long @NotNull [] target, final int index, final @NotNull BigInteger bytes) {
+        target[index] = NumberUtils.saturatedLongValue(bytes);
+        if (bytes.bitLength() < Long.SIZE) {
+            overflow.remove(index);
+        } else {
+            overflow.put(index, bytes);
+        }
+    }
+
+    private void shiftOverflow(final int from, final int distance) {
+        if (overflow.isEmpty()) {
+            return;
+        }
+        final var moved = new TreeMap<>(overflow.tailMap(from, true));
+        overflow.keySet().removeAll(moved.keySet());
+        for (final Map.Entry<Integer, BigInteger> entry : moved.entrySet()) {
+            overflow.put(entry.getKey() + distance, entry.getValue());
+        }
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > values.length) {
+            values = Arrays.copyOf(values, Math.max(capacity, values.length + (values.length >> 1) + 1));
+        }
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+}
@@ -7,6 +7,7 @@ package wtf.metio.storageunits.model;
 import com.google.errorprone.annotations.CheckReturnValue;
 import org.jetbrains.annotations.NotNull;
 
+import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.text.DecimalFormat;
 import java.text.Format;
@@ -24,62 +25,50 @@ public final class StorageUnits {
     }
 
     /**
+     * Parses sizes like {@code "512"}, {@code "512 B"}, {@code "1.5 GiB"}, or {@code "10 kB"}. Amounts may contain a
+     * fraction, the resulting number of bytes is rounded towards zero.
+     *
      * @param value The storage unit as string
-     * @return The best matching binary- or decimal-prefixed unit for the given input.
+     * @return The unit matching the symbol of the given input, or {@link Byte} in case the input has no symbol.
+     * @throws NumberFormatException In case the input does not start with a number or uses an unknown unit symbol.
      */
     @CheckReturnValue
     public static @NotNull StorageUnit<?> parse(final @NotNull String value) {
         final var trimmed = value.trim();
-
-        if (trimmed.endsWith("kB")) {
-            return kilobyte(parseValue(value, "kB"));
-        } else if (trimmed.endsWith("MB")) {
-            return megabyte(parseValue(value, "MB"));
-        } else if (trimmed.endsWith("GB")) {
-            return gigabyte(parseValue(value, "GB"));
-        } else if (trimmed.endsWith("TB")) {
-            return terabyte(parseValue(value, "TB"));
-        } else if (trimmed.endsWith("PB")) {
-            return petabyte(parseValue(value, "PB"));
-        } else if (trimmed.endsWith("EB")) {
-            return exabyte(parseValue(value, "EB"));
-        } else if (trimmed.endsWith("ZB")) {
-            return zettabyte(parseValue(value, "ZB"));
-        } else if (trimmed.endsWith("YB")) {
-            return yottabyte(parseValue(value, "YB"));
-        } else if (trimmed.endsWith("RB")) {
-            return ronnabyte(parseValue(value, "RB"));
-        } else if (trimmed.endsWith("QB")) {
-            return quettabyte(parseValue(value, "QB"));
-        }
-
-        if (trimmed.endsWith("KiB")) {
-            return kibibyte(parseValue(value, "KiB"));
-        } else if (trimmed.endsWith("MiB")) {
-            return mebibyte(parseValue(value, "MiB"));
-        } else if (trimmed.endsWith("GiB")) {
-            return gibibyte(parseValue(value, "GiB"));
-        } else if (trimmed.endsWith("TiB")) {
-            return tebibyte(parseValue(value, "TiB"));
-        } else if (trimmed.endsWith("PiB")) {
-            return pebibyte(parseValue(value, "PiB"));
-        } else if (trimmed.endsWith("EiB")) {
-            return exbibyte(parseValue(value, "EiB"));
-        } else if (trimmed.endsWith("ZiB")) {
-            return zebibyte(parseValue(value, "ZiB"));
-        } else if (trimmed.endsWith("YiB")) {
-            return yobibyte(parseValue(value, "YiB"));
-        } else if (trimmed.endsWith("RiB")) {
-            return robibyte(parseValue(value, "RiB"));
-        } else if (trimmed.endsWith("QiB")) {
-            return robibyte(parseValue(value, "QiB"));
+        var end = trimmed.length();
+        while (end > 0 && Character.isLetter(trimmed.charAt(end - 1))) {
+            end--;
         }
-
-        return bytes(parseValue(value, "b"));
-    }
-
-    private static @NotNull BigInteger parseValue(final @NotNull String value, final @NotNull String unit) {
-        return new BigInteger(value.replace(unit, "").trim());
+        final var amount = new BigDecimal(trimmed.substring(0, end).trim());
+        final var symbol = trimmed.substring(end);
+        return switch (symbol) {
+            case "", "b", "B" -> Byte.valueOf(amount.toBigInteger());
+            case "kB" -> Kilobyte.valueOf(parseValue(amount, StorageUnit.BYTES_IN_A_KILOBYTE));
+            case "MB" -> Megabyte.valueOf(parseValue(amount, StorageUnit.BYTES_IN_A_MEGABYTE));
+            case "GB" -> Gigabyte.valueOf(parseValue(amount, StorageUnit.BYTES_IN_A_GIGABYTE));
+            case "TB" -> Terabyte.valueOf(parseValue(amount, StorageUnit.BYTES_IN_A_TERABYTE));
+            case "PB" -> Petabyte.valueOf(parseValue(amount, StorageUnit.BYTES_IN_A_PETABYTE));
+            case "EB" -> Exabyte.valueOf(parseValue(amount, StorageUnit.BYTES_IN_A_EXABYTE));
+            case "ZB" -> Zettabyte.valueOf(parseValue(amount, StorageUnit.BYTES_IN_A_ZETTABYTE));
+            case "YB" -> Yottabyte.valueOf(parseValue(amount, StorageUnit.BYTES_IN_A_YOTTABYTE));
+            case "RB" -> Ronnabyte.valueOf(parseValue(amount, StorageUnit.BYTES_IN_A_RONNABYTE));
+            case "QB" -> Quettabyte.valueOf(parseValue(amount, StorageUnit.BYTES_IN_A_QUETTABYTE));
+            case "KiB" -> Kibibyte.valueOf(parseValue(amount, StorageUnit.BYTES_IN_A_KIBIBYTE));
+            case "MiB" -> Mebibyte.valueOf(parseValue(amount, StorageUnit.BYTES_IN_A_MEBIBYTE));
+            case "GiB" -> Gibibyte.valueOf(parseValue(amount, StorageUnit.BYTES_IN_A_GIBIBYTE));
+            case "TiB" -> Tebibyte.valueOf(parseValue(amount, StorageUnit.BYTES_IN_A_TEBIBYTE));
+            case "PiB" -> Pebibyte.valueOf(parseValue(amount, StorageUnit.BYTES_IN_A_PEBIBYTE));
+            case "EiB" -> Exbibyte.valueOf(parseValue(amount, StorageUnit.BYTES_IN_A_EXBIBYTE));
+            case "ZiB" -> Zebibyte.valueOf(parseValue(amount, StorageUnit.BYTES_IN_A_ZEBIBYTE));
+            case "YiB" -> Yobibyte.valueOf(parseValue(amount, StorageUnit.BYTES_IN_A_YOBIBYTE));
+            case "RiB" -> Robibyte.valueOf(parseValue(amount, StorageUnit.BYTES_IN_A_ROBIBYTE));
+            case "QiB" -> Qubibyte.valueOf(parseValue(amount, StorageUnit.BYTES_IN_A_QUBIBYTE));
+            default -> throw new NumberFormatException("Unknown unit symbol '" + symbol + "'");
+        };
+    }
+
+    private static @NotNull BigInteger parseValue(final @NotNull BigDecimal amount, final @NotNull BigInteger unitSize) {
+        return amount.multiply(new BigDecimal(unitSize)).toBigInteger();
     }
 
     /**
@@ -88,7 +77,20 @@ public final class StorageUnits {
      */
     @CheckReturnValue
     public static @NotNull StorageUnit<?> binaryValueOf(final long bytes) {
-        return binaryValueOf(BigInteger.valueOf(bytes));
+        if (bytes == Long.MIN_VALUE) {
+            return binaryValueOf(BigInteger.valueOf(bytes));
+        }
+        final var amount = BigInteger.valueOf(bytes);
+        // every binary unit covers 10 bits, thus the position of the highest bit selects the unit without any division
+        return switch ((Long.SIZE - 1 - Long.numberOfLeadingZeros(Math.abs(bytes))) / 10) {
+            case 0 -> Byte.valueOf(amount);
+            case 1 -> Kibibyte.valueOf(amount);
+            case 2 -> Mebibyte.valueOf(amount);
+            case 3 -> Gibibyte.valueOf(amount);
+            case 4 -> Tebibyte.valueOf(amount);
+            case 5 -> Pebibyte.valueOf(amount);
+            default -> Exbibyte.valueOf(amount);
+        };
     }
 
     /**
@@ -131,7 +133,25 @@ public final class StorageUnits {
      */
     @CheckReturnValue
     public static @NotNull StorageUnit<?> decimalValueOf(final long bytes) {
-        return decimalValueOf(BigInteger.valueOf(bytes));
+        if (bytes == Long.MIN_VALUE) {
+            return decimalValueOf(BigInteger.valueOf(bytes));
+        }
+        final var amount = BigInteger.valueOf(bytes);
+        final var positiveNumberOfBytes = Math.abs(bytes);
+        if (positiveNumberOfBytes < 1_000L) {
+            return Byte.valueOf(amount);
+        } else if (positiveNumberOfBytes < 1_000_000L) {
+            return Kilobyte.valueOf(amount);
+        } else if (positiveNumberOfBytes < 1_000_000_000L) {
+            return Megabyte.valueOf(amount);
+        } else if (positiveNumberOfBytes < 1_000_000_000_000L) {
+            return Gigabyte.valueOf(amount);
+        } else if (positiveNumberOfBytes < 1_000_000_000_000_000L) {
+            return Terabyte.valueOf(amount);
+        } else if (positiveNumberOfBytes < 1_000_000_000_000_000_000L) {
+            return Petabyte.valueOf(amount);
+        }
+        return Exabyte.valueOf(amount);
     }
 
     /**
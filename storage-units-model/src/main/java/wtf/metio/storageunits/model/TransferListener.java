@@ -0,0 +1,20 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Notified periodically about the number of bytes transferred through a counting stream or channel.
+ */
+@FunctionalInterface
+public interface TransferListener {
+
+    /**
+     * @param bytesTransferred The total number of bytes transferred so far.
+     */
+    void onTransfer(@NotNull StorageUnit<?> bytesTransferred);
+
+}
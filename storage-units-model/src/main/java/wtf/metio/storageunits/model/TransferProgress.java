@@ -0,0 +1,199 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import com.google.errorprone.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks the progress of a transfer of a known size. Any number of threads may report transferred bytes concurrently
+ * without blocking each other. At most once per refresh interval one of them updates an exponentially weighted
+ * throughput estimate and renders a progress line like {@code 1.20 GiB of 4.00 GiB at 85.30 MiB/s, ETA 34s}, all other
+ * threads skip rendering and continue their transfer immediately. The line for the finished transfer is always rendered,
+ * if necessary by the thread which was rendering while the last bytes arrived.
+ */
+public final class TransferProgress {
+
+    private static final double SMOOTHING_SECONDS = 5.0;
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long total;
+    private final long refreshInterval;
+    private final @NotNull Consumer<String> renderer;
+    private final @NotNull LongSupplier clock;
+    private final @NotNull LongAdder transferred = new LongAdder();
+    private final @NotNull AtomicBoolean refreshing = new AtomicBoolean();
+    private final @NotNull AtomicBoolean finished = new AtomicBoolean();
+    private final @NotNull AtomicBoolean finalLinePending = new AtomicBoolean();
+    private volatile long lastRefresh;
+    private volatile double bytesPerSecond = -1.0;
+    private long lastSampleTime;
+    private long lastSampleBytes;
+
+    /**
+     * @param total           The total size of the transfer.
+     * @param refreshInterval The minimum time between two rendered progress lines.
+     * @param renderer        Receives each rendered progress line.
+     */
+    public TransferProgress(
+            final @NotNull StorageUnit<?> total,
+            final @NotNull Duration refreshInterval,
+            final @NotNull Consumer<String> renderer) {
+        this(total, refreshInterval, renderer, System::nanoTime);
+    }
+
+    TransferProgress(
+            final @NotNull StorageUnit<?> total,
+            final @NotNull Duration refreshInterval,
+            final @NotNull Consumer<String> renderer,
+            final @NotNull LongSupplier clock) {
+        if (total.inByte().signum() < 0) {
+            throw new IllegalArgumentException("Total size must not be negative");
+        }
+        if (refreshInterval.isNegative()) {
+            throw new IllegalArgumentException("Refresh interval must not be negative");
+        }
+        this.total = NumberUtils.saturatedLongValue(total.inByte());
+        this.refreshInterval = refreshInterval.toNanos();
+        this.renderer = renderer;
+        this.clock = clock;
+        lastSampleTime = clock.getAsLong();
+        lastRefresh = lastSampleTime;
+    }
+
+    /**
+     * Reports transferred bytes and renders a new progress line in case the refresh interval has passed or the
+     * transfer just finished.
+     *
+     * @param bytes The number of bytes transferred since the last report.
+     */
+    public void add(final long bytes) {
+        transferred.add(bytes);
+        final var now = clock.getAsLong();
+        if (transferred.sum() >= total && finished.compareAndSet(false, true)) {
+            finalLinePending.set(true);
+            refresh(now);
+        } else if (now - lastRefresh >= refreshInterval) {
+            refresh(now);
+        }
+    }
+
+    /**
+     * @return The number of bytes transferred so far.
+     */
+    @CheckReturnValue
+    public @NotNull StorageUnit<?> transferred() {
+        return StorageUnits.binaryValueOf(transferred.sum());
+    }
+
+    /**
+     * @return The total size of the transfer.
+     */
+    @CheckReturnValue
+    public @NotNull StorageUnit<?> total() {
+        return StorageUnits.binaryValueOf(total);
+    }
+
+    /**
+     * @return The estimated number of bytes transferred per second or {@code null} if not known yet.
+     */
+    @CheckReturnValue
+    public @Nullable StorageUnit<?> throughput() {
+        final var rate = bytesPerSecond;
+        return rate < 0 ? null : StorageUnits.binaryValueOf(Math.round(rate));
+    }
+
+    /**
+     * @return The estimated time until the transfer finishes or {@code null} if not known yet.
+     */
+    @CheckReturnValue
+    public @Nullable Duration eta() {
+        final var remaining = Math.max(0L, total - transferred.sum());
+        if (remaining == 0L) {
+            return Duration.ZERO;
+        }
+        final var rate = bytesPerSecond;
+        return rate <= 0 ? null : Duration.ofSeconds((long) Math.ceil(remaining / rate));
+    }
+
+    /**
+     * @return The current progress line.
+     */
+    @CheckReturnValue
+    public @NotNull String render() {
+        final var line = new StringBuilder(64)
+                .append(transferred())
+                .append(" of ")
+                .append(total());
+        final var throughput = throughput();
+        if (throughput != null) {
+            line.append(" at ").append(throughput).append("/s");
+        }
+        final var eta = eta();
+        if (eta != null) {
+            line.append(", ETA ").append(formatDuration(eta));
+        }
+        return line.toString();
+    }
+
+    private void refresh(final long now) {
+        var time = now;
+        while (refreshing.compareAndSet(false, true)) {
+            try {
+                finalLinePending.set(false);
+                lastRefresh = time;
+                updateThroughput(time);
+                renderer.accept(render());
+            } finally {
+                refreshing.set(false);
+            }
+            // the final line was requested while rendering, thus the rendered line might miss the last bytes
+            if (!finalLinePending.get()) {
+                return;
+            }
+            time = clock.getAsLong();
+        }
+    }
+
+    private void updateThroughput(final long now) {
+        final var elapsed = now - lastSampleTime;
+        if (elapsed <= 0) {
+            return;
+        }
+        final var bytes = transferred.sum();
+        final var seconds = elapsed / NANOS_PER_SECOND;
+        final var current = (bytes - lastSampleBytes) / seconds;
+        final var previous = bytesPerSecond;
+        if (previous < 0) {
+            bytesPerSecond = current;
+        } else {
+            final var weight = 1.0 - Math.exp(-seconds / SMOOTHING_SECONDS);
+            bytesPerSecond = previous + weight * (current - previous);
+        }
+        lastSampleTime = now;
+        lastSampleBytes = bytes;
+    }
+
+    static @NotNull String formatDuration(final @NotNull Duration duration) {
+        final var seconds = duration.getSeconds();
+        if (seconds < 60) {
+            return seconds + "s";
+        }
+        if (seconds < 3600) {
+            return String.format(Locale.ROOT, "%dm %02ds", seconds / 60, seconds % 60);
+        }
+        return String.format(Locale.ROOT, "%dh %02dm", seconds / 3600, seconds % 3600 / 60);
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+final class VarInts {
+
+    static final int MAX_VAR_LONG_SIZE = 10;
+
+    private VarInts() {
+        // Hidden constructor.
+    }
+
+    static long zigzag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static int varLongSize(final long value) {
+        // every byte carries 7 bits, zero still needs a single byte
+        return Math.max(1, (Long.SIZE - Long.numberOfLeadingZeros(value) + 6) / 7);
+    }
+
+    static void putVarLong(final @NotNull ByteBuffer buffer, final long value) {
+        var remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            buffer.put((byte) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        buffer.put((byte) remaining);
+    }
+
+    static int putVarLong(final byte @NotNull [] target, final int offset, final long value) {
+        var position = offset;
+        var remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            target[position++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        target[position++] = (byte) remaining;
+        return position - offset;
+    }
+
+    static long getVarLong(final @NotNull ByteBuffer buffer) {
+        long result = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            final var next = buffer.get();
+            result |= (long) (next & 0x7F) << shift;
+            if (next >= 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed variable-length integer");
+    }
+
+}
@@ -0,0 +1,224 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class ByteBoundedBlockingQueueTest {
+
+    private static ByteBoundedBlockingQueue<byte[]> queue(final long capacity) {
+        return new ByteBoundedBlockingQueue<>(StorageUnits.bytes(capacity), value -> value.length);
+    }
+
+    @Test
+    void trackFillLevel() {
+        // given
+        final var queue = queue(100);
+
+        // when
+        queue.offer(new byte[30]);
+        queue.offer(new byte[20]);
+
+        // then
+        Assertions.assertEquals(2, queue.size());
+        Assertions.assertEquals(StorageUnits.bytes(50), queue.fillLevel());
+        Assertions.assertEquals(StorageUnits.bytes(50), queue.remainingBytes());
+    }
+
+    @Test
+    void rejectElementsExceedingTheBudget() {
+        // given
+        final var queue = queue(100);
+        queue.offer(new byte[80]);
+
+        // when
+        final var accepted = queue.offer(new byte[21]);
+
+        // then
+        Assertions.assertFalse(accepted);
+        Assertions.assertEquals(StorageUnits.bytes(80), queue.fillLevel());
+    }
+
+    @Test
+    void rejectElementsLargerThanCapacity() {
+        // given
+        final var queue = queue(100);
+
+        // when
+        // then
+        Assertions.assertThrows(IllegalArgumentException.class, () -> queue.offer(new byte[101]));
+    }
+
+    @Test
+    void timeoutWhileFull() throws InterruptedException {
+        // given
+        final var queue = queue(100);
+        queue.put(new byte[100]);
+
+        // when
+        final var accepted = queue.offer(new byte[1], 10, TimeUnit.MILLISECONDS);
+
+        // then
+        Assertions.assertFalse(accepted);
+    }
+
+    @Test
+    void releaseBudgetOnTake() throws InterruptedException {
+        // given
+        final var queue = queue(100);
+        queue.put(new byte[70]);
+        queue.put(new byte[30]);
+
+        // when
+        final var element = queue.take();
+
+        // then
+        Assertions.assertEquals(70, element.length);
+        Assertions.assertEquals(StorageUnits.bytes(30), queue.fillLevel());
+    }
+
+    @Test
+    void releaseBudgetOnRemove() {
+        // given
+        final var queue = queue(100);
+        final var element = new byte[70];
+        queue.offer(element);
+        queue.offer(new byte[30]);
+
+        // when
+        queue.remove(element);
+
+        // then
+        Assertions.assertEquals(1, queue.size());
+        Assertions.assertEquals(StorageUnits.bytes(30), queue.fillLevel());
+    }
+
+    @Test
+    void drainElements() {
+        // given
+        final var queue = queue(100);
+        queue.offer(new byte[10]);
+        queue.offer(new byte[20]);
+        queue.offer(new byte[30]);
+        final var target = new ArrayList<byte[]>();
+
+        // when
+        final var drained = queue.drainTo(target, 2);
+
+        // then
+        Assertions.assertEquals(2, drained);
+        Assertions.assertEquals(30, target.get(0).length + target.get(1).length);
+        Assertions.assertEquals(StorageUnits.bytes(30), queue.fillLevel());
+    }
+
+    @Test
+    void clearQueue() {
+        // given
+        final var queue = queue(100);
+        queue.offer(new byte[10]);
+        queue.offer(new byte[20]);
+
+        // when
+        queue.clear();
+
+        // then
+        Assertions.assertTrue(queue.isEmpty());
+        Assertions.assertNull(queue.poll());
+        Assertions.assertEquals(StorageUnits.bytes(0), queue.fillLevel());
+    }
+
+    @Test
+    void removeThroughIterator() {
+        // given
+        final var queue = queue(100);
+        queue.offer(new byte[10]);
+        queue.offer(new byte[20]);
+
+        // when
+        final var iterator = queue.iterator();
+        iterator.next();
+        iterator.remove();
+
+        // then
+        Assertions.assertEquals(1, queue.size());
+        Assertions.assertEquals(20, queue.peek().length);
+    }
+
+    @Test
+    void unblockProducersOnceBudgetIsAvailable() throws InterruptedException {
+        // given
+        final var queue = queue(100);
+        queue.put(new byte[90]);
+        final var started = new CountDownLatch(1);
+        final var producer = new Thread(() -> {
+            try {
+                started.countDown();
+                queue.put(new byte[50]);
+            } catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // when
+        producer.start();
+        started.await();
+        queue.take();
+        producer.join(TimeUnit.SECONDS.toMillis(10));
+
+        // then
+        Assertions.assertFalse(producer.isAlive(), "Producer is still blocked");
+        Assertions.assertEquals(StorageUnits.bytes(50), queue.fillLevel());
+    }
+
+    @Test
+    void neverExceedBudgetWithConcurrentProducersAndConsumers() throws InterruptedException {
+        // given
+        final var queue = queue(1_000);
+        final var produced = new AtomicLong();
+        final var consumed = new AtomicLong();
+        final var threads = new ArrayList<Thread>();
+        for (int index = 0; index < 4; index++) {
+            final var seed = index;
+            threads.add(new Thread(() -> {
+                try {
+                    for (int element = 0; element < 5_000; element++) {
+                        final var size = (element * 31 + seed) % 200;
+                        queue.put(new byte[size]);
+                        produced.addAndGet(size);
+                        Assertions.assertTrue(queue.fillLevel().compareTo(StorageUnits.bytes(1_000)) <= 0);
+                    }
+                } catch (final InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            threads.add(new Thread(() -> {
+                try {
+                    for (int element = 0; element < 5_000; element++) {
+                        consumed.addAndGet(queue.take().length);
+                    }
+                } catch (final InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+
+        // when
+        threads.forEach(Thread::start);
+        for (final var thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+
+        // then
+        Assertions.assertTrue(queue.isEmpty());
+        Assertions.assertEquals(produced.get(), consumed.get());
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class ByteCounterTest {
+
+    @Test
+    void shouldCountBytes() {
+        // given
+        final var counter = new ByteCounter();
+
+        // when
+        counter.add(10);
+        counter.add(20);
+
+        // then
+        Assertions.assertEquals(30L, counter.count());
+    }
+
+    @Test
+    void shouldNotifyOncePerInterval() {
+        // given
+        final List<StorageUnit<?>> notifications = new ArrayList<>();
+        final var counter = new ByteCounter(StorageUnits.bytes(100), notifications::add);
+
+        // when
+        counter.add(60);
+        counter.add(60);
+        counter.add(60);
+        counter.add(250);
+
+        // then
+        Assertions.assertEquals(List.of(StorageUnits.binaryValueOf(120), StorageUnits.binaryValueOf(430)),
+                notifications);
+    }
+
+    @Test
+    void shouldResetCount() {
+        // given
+        final List<StorageUnit<?>> notifications = new ArrayList<>();
+        final var counter = new ByteCounter(StorageUnits.bytes(100), notifications::add);
+        counter.add(150);
+
+        // when
+        counter.reset(50);
+        counter.add(60);
+
+        // then
+        Assertions.assertEquals(110L, counter.count());
+        Assertions.assertEquals(2, notifications.size());
+    }
+
+    @Test
+    void shouldRejectNonPositiveInterval() {
+        // given
+        final var interval = StorageUnits.bytes(0);
+
+        // when
+        // then
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ByteCounter(interval, unit -> {
+        }));
+    }
+
+}
@@ -0,0 +1,292 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+class ByteWindowProcessorTest {
+
+    @Test
+    void shouldSumTumblingWindows() {
+        // given
+        final var processor = ByteWindowProcessor.tumbling(2, ByteWindowProcessor.sum());
+        final var subscriber = new CollectingSubscriber<StorageUnit<?>>(Long.MAX_VALUE);
+        processor.subscribe(subscriber);
+
+        // when
+        publish(processor, StorageUnits.bytes(1), StorageUnits.bytes(2), StorageUnits.bytes(3),
+                StorageUnits.bytes(4), StorageUnits.bytes(5));
+
+        // then
+        Assertions.assertEquals(List.of(StorageUnits.binaryValueOf(3), StorageUnits.binaryValueOf(7),
+                StorageUnits.binaryValueOf(5)), subscriber.items);
+        Assertions.assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void shouldFindMaximumOfSlidingWindows() {
+        // given
+        final ByteWindowProcessor<Long, StorageUnit<?>> processor = ByteWindowProcessor.sliding(
+                Long::longValue, 3, 1, ByteWindowProcessor.max());
+        final var subscriber = new CollectingSubscriber<StorageUnit<?>>(Long.MAX_VALUE);
+        processor.subscribe(subscriber);
+
+        // when
+        publish(processor, 5L, 1L, 2L, 3L, 1L);
+
+        // then
+        Assertions.assertEquals(List.of(StorageUnits.binaryValueOf(5), StorageUnits.binaryValueOf(3),
+                StorageUnits.binaryValueOf(3)), subscriber.items);
+        Assertions.assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void shouldPublishTrailingSlidingWindow() {
+        // given
+        final ByteWindowProcessor<Long, StorageUnit<?>> processor = ByteWindowProcessor.sliding(
+                Long::longValue, 3, 2, ByteWindowProcessor.sum());
+        final var subscriber = new CollectingSubscriber<StorageUnit<?>>(Long.MAX_VALUE);
+        processor.subscribe(subscriber);
+
+        // when
+        publish(processor, 1L, 2L, 4L, 8L, 16L, 32L);
+
+        // then
+        Assertions.assertEquals(List.of(StorageUnits.binaryValueOf(7), StorageUnits.binaryValueOf(28),
+                StorageUnits.binaryValueOf(48)), subscriber.items);
+        Assertions.assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void shouldNotRepeatLastSlidingWindow() {
+        // given
+        final ByteWindowProcessor<Long, StorageUnit<?>> processor = ByteWindowProcessor.sliding(
+                Long::longValue, 3, 2, ByteWindowProcessor.sum());
+        final var subscriber = new CollectingSubscriber<StorageUnit<?>>(Long.MAX_VALUE);
+        processor.subscribe(subscriber);
+
+        // when
+        publish(processor, 1L, 2L, 4L, 8L, 16L);
+
+        // then
+        Assertions.assertEquals(List.of(StorageUnits.binaryValueOf(7), StorageUnits.binaryValueOf(28)),
+                subscriber.items);
+    }
+
+    @Test
+    void shouldCountHistogramBuckets() {
+        // given
+        final ByteWindowProcessor<Long, ByteWindowProcessor.Histogram> processor = ByteWindowProcessor.tumbling(
+                Long::longValue, 4, ByteWindowProcessor.histogram(StorageUnits.kibibyte(1), StorageUnits.mebibyte(1)));
+        final var subscriber = new CollectingSubscriber<ByteWindowProcessor.Histogram>(Long.MAX_VALUE);
+        processor.subscribe(subscriber);
+
+        // when
+        publish(processor, 10L, 1024L, 2048L, 1_048_576L);
+
+        // then
+        Assertions.assertEquals(1, subscriber.items.size());
+        Assertions.assertArrayEquals(new long[]{1, 2, 1}, subscriber.items.get(0).counts());
+    }
+
+    @Test
+    void shouldRequestOnlyElementsForDemandedWindows() {
+        // given
+        final var processor = ByteWindowProcessor.tumbling(3, ByteWindowProcessor.sum());
+        final var subscriber = new CollectingSubscriber<StorageUnit<?>>(2);
+        final var upstream = new RecordingSubscription();
+        processor.subscribe(subscriber);
+
+        // when
+        processor.onSubscribe(upstream);
+
+        // then
+        Assertions.assertEquals(List.of(6L), upstream.requests);
+    }
+
+    @Test
+    void shouldCompleteAfterLastWindow() {
+        // given
+        final var processor = ByteWindowProcessor.tumbling(1, ByteWindowProcessor.sum());
+        final var subscriber = new CollectingSubscriber<StorageUnit<?>>(1);
+        final var upstream = new RecordingSubscription();
+        processor.subscribe(subscriber);
+        processor.onSubscribe(upstream);
+        processor.onNext(StorageUnits.bytes(1));
+
+        // when
+        processor.onComplete();
+
+        // then
+        Assertions.assertEquals(1, subscriber.items.size());
+        Assertions.assertTrue(subscriber.completed);
+        Assertions.assertEquals(List.of(1L), upstream.requests);
+    }
+
+    @Test
+    void shouldWorkWithAsynchronousPublishers() throws InterruptedException {
+        // given
+        final var processor = ByteWindowProcessor.tumbling(10, ByteWindowProcessor.sum());
+        final List<StorageUnit<?>> windows = new ArrayList<>();
+        final var latch = new CountDownLatch(1);
+        processor.subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(final Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(final StorageUnit<?> item) {
+                windows.add(item);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+                latch.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                latch.countDown();
+            }
+        });
+
+        // when
+        try (final var publisher = new SubmissionPublisher<StorageUnit<?>>()) {
+            publisher.subscribe(processor);
+            for (int index = 0; index < 1_000; index++) {
+                publisher.submit(StorageUnits.bytes(1));
+            }
+        }
+
+        // then
+        Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(100, windows.size());
+        Assertions.assertTrue(windows.stream().allMatch(StorageUnits.binaryValueOf(10)::equals));
+    }
+
+    @Test
+    void shouldSumBeyondLongRange() {
+        // given
+        final var values = new long[]{Long.MAX_VALUE, Long.MAX_VALUE};
+
+        // when
+        final var sum = ByteWindowProcessor.sum().aggregate(values, 2);
+
+        // then
+        Assertions.assertEquals(StorageUnits.bytes(Long.MAX_VALUE).add(Long.MAX_VALUE), sum);
+    }
+
+    @Test
+    void shouldForwardErrors() {
+        // given
+        final var processor = ByteWindowProcessor.tumbling(2, ByteWindowProcessor.sum());
+        final var subscriber = new CollectingSubscriber<StorageUnit<?>>(Long.MAX_VALUE);
+        processor.subscribe(subscriber);
+        processor.onSubscribe(new RecordingSubscription());
+
+        // when
+        processor.onError(new IllegalStateException("test"));
+
+        // then
+        Assertions.assertInstanceOf(IllegalStateException.class, subscriber.error);
+    }
+
+    @Test
+    void shouldRejectSecondSubscriber() {
+        // given
+        final var processor = ByteWindowProcessor.tumbling(2, ByteWindowProcessor.sum());
+        processor.subscribe(new CollectingSubscriber<>(1));
+        final var second = new CollectingSubscriber<StorageUnit<?>>(1);
+
+        // when
+        processor.subscribe(second);
+
+        // then
+        Assertions.assertInstanceOf(IllegalStateException.class, second.error);
+    }
+
+    @Test
+    void shouldRejectInvalidStep() {
+        // given
+        final var aggregation = ByteWindowProcessor.sum();
+
+        // when
+        // then
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ByteWindowProcessor.sliding(2, 3, aggregation));
+    }
+
+    @SafeVarargs
+    private static <T> void publish(final Flow.Subscriber<T> processor, final T... items) {
+        final var upstream = new RecordingSubscription();
+        processor.onSubscribe(upstream);
+        for (final var item : items) {
+            processor.onNext(item);
+        }
+        processor.onComplete();
+    }
+
+    private static final class RecordingSubscription implements Flow.Subscription {
+
+        private final List<Long> requests = new ArrayList<>();
+
+        @Override
+        public void request(final long n) {
+            requests.add(n);
+        }
+
+        @Override
+        public void cancel() {
+        }
+
+    }
+
+    private static final class CollectingSubscriber<T> implements Flow.Subscriber<T> {
+
+        private final long initialDemand;
+        private final List<T> items = new ArrayList<>();
+        private Throwable error;
+        private boolean completed;
+
+        CollectingSubscriber(final long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            subscription.request(initialDemand);
+        }
+
+        @Override
+        public void onNext(final T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+class CountingInputStreamTest {
+
+    @Test
+    void shouldCountSingleBytes() throws IOException {
+        // given
+        final var stream = new CountingInputStream(new ByteArrayInputStream(new byte[3]));
+
+        // when
+        while (stream.read() != -1) {
+            // read all bytes
+        }
+
+        // then
+        Assertions.assertEquals(StorageUnits.bytes(3), stream.bytesTransferred());
+    }
+
+    @Test
+    void shouldCountBulkReads() throws IOException {
+        // given
+        final var stream = new CountingInputStream(new ByteArrayInputStream(new byte[2048]));
+
+        // when
+        final var bytes = stream.readAllBytes();
+
+        // then
+        Assertions.assertEquals(2048, bytes.length);
+        Assertions.assertEquals(StorageUnits.kibibyte(2), stream.bytesTransferred());
+    }
+
+    @Test
+    void shouldCountTransfers() throws IOException {
+        // given
+        final var stream = new CountingInputStream(new ByteArrayInputStream(new byte[100]));
+        final var out = new ByteArrayOutputStream();
+
+        // when
+        stream.transferTo(out);
+
+        // then
+        Assertions.assertEquals(100, out.size());
+        Assertions.assertEquals(StorageUnits.bytes(100), stream.bytesTransferred());
+    }
+
+    @Test
+    void shouldNotCountSkippedBytes() throws IOException {
+        // given
+        final var stream = new CountingInputStream(new ByteArrayInputStream(new byte[100]));
+
+        // when
+        stream.skip(40);
+
+        // then
+        Assertions.assertEquals(StorageUnits.bytes(0), stream.bytesTransferred());
+    }
+
+    @Test
+    void shouldRestoreCountOnReset() throws IOException {
+        // given
+        final var stream = new CountingInputStream(new ByteArrayInputStream(new byte[100]));
+        stream.readNBytes(10);
+        stream.mark(100);
+        stream.readNBytes(50);
+
+        // when
+        stream.reset();
+
+        // then
+        Assertions.assertEquals(StorageUnits.bytes(10), stream.bytesTransferred());
+    }
+
+    @Test
+    void shouldNotifyListener() throws IOException {
+        // given
+        final List<StorageUnit<?>> notifications = new ArrayList<>();
+        final var stream = new CountingInputStream(new ByteArrayInputStream(new byte[4096]),
+                StorageUnits.kibibyte(1), notifications::add);
+
+        // when
+        stream.readNBytes(new byte[4096], 0, 4096);
+
+        // then
+        Assertions.assertFalse(notifications.isEmpty());
+        Assertions.assertEquals(StorageUnits.kibibyte(4), notifications.get(notifications.size() - 1));
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+class CountingOutputStreamTest {
+
+    @Test
+    void shouldCountSingleBytes() throws IOException {
+        // given
+        final var stream = new CountingOutputStream(new ByteArrayOutputStream());
+
+        // when
+        stream.write(1);
+        stream.write(2);
+
+        // then
+        Assertions.assertEquals(StorageUnits.bytes(2), stream.bytesTransferred());
+    }
+
+    @Test
+    void shouldPassBulkWritesThrough() throws IOException {
+        // given
+        final List<Integer> writes = new ArrayList<>();
+        final var stream = new CountingOutputStream(new OutputStream() {
+            @Override
+            public void write(final int b) {
+                writes.add(1);
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) {
+                writes.add(len);
+            }
+        });
+
+        // when
+        stream.write(new byte[1024]);
+
+        // then
+        Assertions.assertEquals(List.of(1024), writes);
+        Assertions.assertEquals(StorageUnits.kibibyte(1), stream.bytesTransferred());
+    }
+
+    @Test
+    void shouldNotifyListener() throws IOException {
+        // given
+        final List<StorageUnit<?>> notifications = new ArrayList<>();
+        final var stream = new CountingOutputStream(new ByteArrayOutputStream(),
+                StorageUnits.bytes(10), notifications::add);
+
+        // when
+        stream.write(new byte[5]);
+        stream.write(new byte[5]);
+        stream.write(new byte[5]);
+
+        // then
+        Assertions.assertEquals(List.of(StorageUnits.binaryValueOf(10)), notifications);
+    }
+
+}
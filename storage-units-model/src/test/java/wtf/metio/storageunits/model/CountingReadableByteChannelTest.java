@@ -0,0 +1,46 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+
+class CountingReadableByteChannelTest {
+
+    @Test
+    void shouldCountReadBytes() throws IOException {
+        // given
+        final var channel = new CountingReadableByteChannel(
+                Channels.newChannel(new ByteArrayInputStream(new byte[300])));
+        final var buffer = ByteBuffer.allocate(128);
+
+        // when
+        while (channel.read(buffer) != -1) {
+            buffer.clear();
+        }
+
+        // then
+        Assertions.assertEquals(StorageUnits.bytes(300), channel.bytesTransferred());
+    }
+
+    @Test
+    void shouldDelegateClose() throws IOException {
+        // given
+        final var channel = new CountingReadableByteChannel(
+                Channels.newChannel(new ByteArrayInputStream(new byte[0])));
+
+        // when
+        channel.close();
+
+        // then
+        Assertions.assertFalse(channel.isOpen());
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+class CountingSeekableByteChannelTest {
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempFile("counting", ".bin");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void shouldCountReadAndWrittenBytes() throws IOException {
+        // given
+        try (final var channel = new CountingSeekableByteChannel(Files.newByteChannel(file,
+                StandardOpenOption.READ, StandardOpenOption.WRITE))) {
+            // when
+            channel.write(ByteBuffer.allocate(200));
+            channel.position(0);
+            channel.read(ByteBuffer.allocate(50));
+
+            // then
+            Assertions.assertEquals(StorageUnits.bytes(250), channel.bytesTransferred());
+            Assertions.assertEquals(50L, channel.position());
+            Assertions.assertEquals(200L, channel.size());
+        }
+    }
+
+    @Test
+    void shouldDelegateTruncate() throws IOException {
+        // given
+        try (final var channel = new CountingSeekableByteChannel(Files.newByteChannel(file,
+                StandardOpenOption.WRITE))) {
+            channel.write(ByteBuffer.allocate(200));
+
+            // when
+            channel.truncate(100);
+
+            // then
+            Assertions.assertEquals(100L, channel.size());
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+
+class CountingWritableByteChannelTest {
+
+    @Test
+    void shouldCountWrittenBytes() throws IOException {
+        // given
+        final var out = new ByteArrayOutputStream();
+        final var channel = new CountingWritableByteChannel(Channels.newChannel(out));
+
+        // when
+        channel.write(ByteBuffer.allocate(100));
+        channel.write(ByteBuffer.allocate(50));
+
+        // then
+        Assertions.assertEquals(150, out.size());
+        Assertions.assertEquals(StorageUnits.bytes(150), channel.bytesTransferred());
+    }
+
+    @Test
+    void shouldDelegateClose() throws IOException {
+        // given
+        final var channel = new CountingWritableByteChannel(Channels.newChannel(new ByteArrayOutputStream()));
+
+        // when
+        channel.close();
+
+        // then
+        Assertions.assertFalse(channel.isOpen());
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+class DiskUsageIndexTest {
+
+    private Path root;
+    private DiskUsageIndex index;
+
+    private static void awaitSize(final StorageUnit<?> expected, final Supplier<StorageUnit<?>> actual)
+            throws InterruptedException {
+        final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!expected.equals(actual.get()) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(expected, actual.get());
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        root = Files.createTempDirectory("disk-usage-index");
+        Files.createDirectories(root.resolve("first/second"));
+        Files.write(root.resolve("a.bin"), new byte[100]);
+        Files.write(root.resolve("first/b.bin"), new byte[200]);
+        Files.write(root.resolve("first/second/c.bin"), new byte[300]);
+        index = DiskUsageIndex.open(root);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+        try (final Stream<Path> paths = Files.walk(root)) {
+            for (final var path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    void indexInitialState() {
+        Assertions.assertEquals(StorageUnits.bytes(600), index.total());
+        Assertions.assertEquals(StorageUnits.bytes(500), index.sizeOf(root.resolve("first")));
+        Assertions.assertEquals(StorageUnits.bytes(300), index.sizeOf(root.resolve("first/second")));
+    }
+
+    @Test
+    void returnZeroForUnknownDirectories() {
+        Assertions.assertEquals(StorageUnits.bytes(0), index.sizeOf(root.resolve("unknown")));
+    }
+
+    @Test
+    void propagateCreatedFiles() throws Exception {
+        // given
+        final var file = root.resolve("first/second/d.bin");
+
+        // when
+        Files.write(file, new byte[400]);
+
+        // then
+        awaitSize(StorageUnits.bytes(700), () -> index.sizeOf(root.resolve("first/second")));
+        awaitSize(StorageUnits.bytes(900), () -> index.sizeOf(root.resolve("first")));
+        awaitSize(StorageUnits.bytes(1000), index::total);
+    }
+
+    @Test
+    void propagateModifiedFiles() throws Exception {
+        // given
+        final var file = root.resolve("first/b.bin");
+
+        // when
+        Files.write(file, new byte[50]);
+
+        // then
+        awaitSize(StorageUnits.bytes(350), () -> index.sizeOf(root.resolve("first")));
+        awaitSize(StorageUnits.bytes(450), index::total);
+    }
+
+    @Test
+    void propagateDeletedFiles() throws Exception {
+        // given
+        final var file = root.resolve("first/second/c.bin");
+
+        // when
+        Files.delete(file);
+
+        // then
+        awaitSize(StorageUnits.bytes(0), () -> index.sizeOf(root.resolve("first/second")));
+        awaitSize(StorageUnits.bytes(300), index::total);
+    }
+
+    @Test
+    void indexCreatedDirectories() throws Exception {
+        // given
+        final var directory = root.resolve("other");
+
+        // when
+        Files.createDirectories(directory.resolve("nested"));
+        Files.write(directory.resolve("nested/d.bin"), new byte[400]);
+
+        // then
+        awaitSize(StorageUnits.bytes(400), () -> index.sizeOf(directory));
+        awaitSize(StorageUnits.bytes(1000), index::total);
+    }
+
+    @Test
+    void removeDeletedDirectories() throws Exception {
+        // given
+        final var directory = root.resolve("first/second");
+
+        // when
+        Files.delete(directory.resolve("c.bin"));
+        Files.delete(directory);
+
+        // then
+        awaitSize(StorageUnits.bytes(300), index::total);
+        Assertions.assertEquals(StorageUnits.bytes(0), index.sizeOf(directory));
+    }
+
+    @Test
+    void countHardLinksOnce() throws Exception {
+        // given
+        final var prepared = Files.createTempDirectory("disk-usage-links");
+        Files.createLink(prepared.resolve("a.bin"), root.resolve("a.bin"));
+        Files.write(prepared.resolve("d.bin"), new byte[400]);
+        final var directory = root.resolve("links");
+
+        // when
+        Files.move(prepared, directory);
+        awaitSize(StorageUnits.bytes(400), () -> index.sizeOf(directory));
+        Files.write(root.resolve("e.bin"), new byte[1]);
+
+        // then
+        awaitSize(StorageUnits.bytes(1001), index::total);
+        Files.delete(root.resolve("a.bin"));
+        awaitSize(StorageUnits.bytes(500), () -> index.sizeOf(directory));
+        awaitSize(StorageUnits.bytes(1001), index::total);
+    }
+
+}
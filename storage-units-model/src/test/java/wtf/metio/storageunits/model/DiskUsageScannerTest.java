@@ -0,0 +1,154 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+class DiskUsageScannerTest {
+
+    private Path root;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        root = Files.createTempDirectory("disk-usage");
+        Files.write(root.resolve("a.bin"), new byte[100]);
+        Files.createDirectories(root.resolve("first/second"));
+        Files.write(root.resolve("first/b.bin"), new byte[200]);
+        Files.write(root.resolve("first/second/c.bin"), new byte[300]);
+        Files.createDirectories(root.resolve("other"));
+        Files.write(root.resolve("other/d.bin"), new byte[400]);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (final Stream<Path> paths = Files.walk(root)) {
+            for (final var path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    void calculateTotalSize() throws IOException {
+        // given
+        final var scanner = new DiskUsageScanner();
+
+        // when
+        final var usage = scanner.scan(root);
+
+        // then
+        Assertions.assertEquals(StorageUnits.bytes(1000), usage.total());
+        Assertions.assertEquals(4, usage.files());
+        Assertions.assertEquals(4, usage.directories());
+        Assertions.assertTrue(usage.failures().isEmpty());
+    }
+
+    @Test
+    void calculateDirectorySizes() throws IOException {
+        // given
+        final var scanner = new DiskUsageScanner();
+
+        // when
+        final var usage = scanner.scan(root);
+
+        // then
+        Assertions.assertEquals(StorageUnits.bytes(1000), usage.sizeOf(root));
+        Assertions.assertEquals(StorageUnits.bytes(500), usage.sizeOf(root.resolve("first")));
+        Assertions.assertEquals(StorageUnits.bytes(300), usage.sizeOf(root.resolve("first/second")));
+        Assertions.assertEquals(StorageUnits.bytes(400), usage.sizeOf(root.resolve("other")));
+    }
+
+    @Test
+    void limitDepth() throws IOException {
+        // given
+        final var scanner = new DiskUsageScanner(DiskUsageScanner.SizeMode.APPARENT,
+                DiskUsageScanner.SymbolicLinks.SKIP, 2);
+
+        // when
+        final var usage = scanner.scan(root);
+
+        // then
+        Assertions.assertEquals(StorageUnits.bytes(1000), usage.total());
+        Assertions.assertEquals(StorageUnits.bytes(500), usage.sizeOf(root.resolve("first")));
+        Assertions.assertFalse(usage.visitedDirectories().contains(root.resolve("first/second")));
+        Assertions.assertEquals(4, usage.files());
+    }
+
+    @Test
+    void countHardLinksOnce() throws IOException {
+        // given
+        Files.createLink(root.resolve("other/hard.bin"), root.resolve("a.bin"));
+        final var scanner = new DiskUsageScanner();
+
+        // when
+        final var usage = scanner.scan(root);
+
+        // then
+        Assertions.assertEquals(StorageUnits.bytes(1000), usage.total());
+        Assertions.assertEquals(4, usage.files());
+    }
+
+    @Test
+    void roundUpToBlockSize() throws IOException {
+        // given
+        final var scanner = new DiskUsageScanner(DiskUsageScanner.SizeMode.ALLOCATED,
+                DiskUsageScanner.SymbolicLinks.SKIP, Integer.MAX_VALUE);
+
+        // when
+        final var usage = scanner.scan(root);
+
+        // then
+        final var blockSize = Files.getFileStore(root).getBlockSize();
+        Assertions.assertEquals(StorageUnits.bytes(4 * blockSize), usage.total());
+    }
+
+    @Test
+    void skipSymbolicLinks() throws IOException {
+        // given
+        Files.createSymbolicLink(root.resolve("link"), root.resolve("other"));
+        final var scanner = new DiskUsageScanner();
+
+        // when
+        final var usage = scanner.scan(root);
+
+        // then
+        Assertions.assertEquals(StorageUnits.bytes(1000), usage.total());
+    }
+
+    @Test
+    void followSymbolicLinksOnlyOnce() throws IOException {
+        // given
+        Files.createSymbolicLink(root.resolve("first/loop"), root);
+        Files.createSymbolicLink(root.resolve("file"), root.resolve("a.bin"));
+        final var scanner = new DiskUsageScanner(DiskUsageScanner.SizeMode.APPARENT,
+                DiskUsageScanner.SymbolicLinks.FOLLOW, Integer.MAX_VALUE);
+
+        // when
+        final var usage = scanner.scan(root);
+
+        // then
+        Assertions.assertEquals(StorageUnits.bytes(1000), usage.total());
+    }
+
+    @Test
+    void rejectFiles() {
+        // given
+        final var scanner = new DiskUsageScanner();
+
+        // when
+        // then
+        Assertions.assertThrows(IOException.class, () -> scanner.scan(root.resolve("a.bin")));
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class FileStoreSamplerTest {
+
+    private FileStore fileStore;
+    private FileStoreSampler sampler;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fileStore = Files.getFileStore(Path.of(System.getProperty("java.io.tmpdir")));
+        sampler = new FileStoreSampler(() -> List.of(fileStore), Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        sampler.close();
+    }
+
+    @Test
+    void shouldHaveNoSnapshotsBeforeFirstSample() {
+        // given
+        // when
+        final var snapshot = sampler.snapshot(fileStore);
+
+        // then
+        Assertions.assertNull(snapshot);
+        Assertions.assertTrue(sampler.snapshots().isEmpty());
+    }
+
+    @Test
+    void shouldSampleCapacity() throws IOException {
+        // given
+        final var totalSpace = StorageUnits.binaryValueOf(fileStore.getTotalSpace());
+
+        // when
+        sampler.sample();
+
+        // then
+        final var snapshot = sampler.snapshot(fileStore);
+        Assertions.assertNotNull(snapshot);
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(totalSpace, snapshot.totalSpace()),
+                () -> Assertions.assertTrue(snapshot.usableSpace().compareTo(snapshot.totalSpace()) <= 0),
+                () -> Assertions.assertTrue(snapshot.usedSpace().compareTo(snapshot.totalSpace()) <= 0),
+                () -> Assertions.assertEquals(1, sampler.snapshots().size()));
+    }
+
+    @Test
+    void shouldNotifyListenersAboutFirstSample() {
+        // given
+        final List<FileStoreSampler.Snapshot> previousSnapshots = new ArrayList<>();
+        final List<FileStoreSampler.Snapshot> currentSnapshots = new ArrayList<>();
+        sampler.addListener((previous, current) -> {
+            previousSnapshots.add(previous);
+            currentSnapshots.add(current);
+        });
+
+        // when
+        sampler.sample();
+
+        // then
+        Assertions.assertEquals(1, currentSnapshots.size());
+        Assertions.assertNull(previousSnapshots.get(0));
+        Assertions.assertSame(sampler.snapshot(fileStore), currentSnapshots.get(0));
+    }
+
+    @Test
+    void shouldNotifyThresholdListenersOnlyOnCrossing() {
+        // given
+        final List<Boolean> crossings = new ArrayList<>();
+        sampler.addThreshold(StorageUnits.quettabyte(1), (snapshot, below) -> crossings.add(below));
+
+        // when
+        sampler.sample();
+        sampler.sample();
+
+        // then
+        Assertions.assertEquals(List.of(Boolean.TRUE), crossings);
+    }
+
+    @Test
+    void shouldNotNotifyThresholdListenersAboveThreshold() {
+        // given
+        final List<Boolean> crossings = new ArrayList<>();
+        sampler.addThreshold(StorageUnits.bytes(0), (snapshot, below) -> crossings.add(below));
+
+        // when
+        sampler.sample();
+
+        // then
+        Assertions.assertTrue(crossings.isEmpty());
+    }
+
+    @Test
+    void shouldSampleOnSchedule() throws InterruptedException {
+        // given
+        final var latch = new CountDownLatch(1);
+        sampler.addListener((previous, current) -> latch.countDown());
+
+        // when
+        sampler.start();
+
+        // then
+        Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldIgnoreRepeatedStart() throws InterruptedException {
+        // given
+        final var samples = new AtomicInteger();
+        final var latch = new CountDownLatch(1);
+        final var counting = new FileStoreSampler(() -> {
+            samples.incrementAndGet();
+            latch.countDown();
+            return List.of(fileStore);
+        }, Duration.ofHours(1));
+
+        // when
+        try (counting) {
+            counting.start();
+            counting.start();
+            Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+            Thread.sleep(100);
+        }
+
+        // then
+        Assertions.assertEquals(1, samples.get());
+    }
+
+    @Test
+    void shouldRejectNonPositiveInterval() {
+        // given
+        final var interval = Duration.ZERO;
+
+        // when
+        // then
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new FileStoreSampler(interval));
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+
+class JvmMemorySamplerTest {
+
+    private JvmMemorySampler sampler;
+
+    @BeforeEach
+    void setUp() {
+        sampler = new JvmMemorySampler(Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        sampler.close();
+    }
+
+    @Test
+    void shouldReturnEmptySnapshotBeforeFirstSample() {
+        // given
+        // when
+        final var snapshot = sampler.snapshot();
+
+        // then
+        Assertions.assertEquals(0L, snapshot.sampledAt());
+        Assertions.assertEquals(BigInteger.ZERO, snapshot.heap().used().inByte());
+    }
+
+    @Test
+    void shouldSampleHeap() {
+        // given
+        // when
+        sampler.sample();
+
+        // then
+        final var heap = sampler.snapshot().heap();
+        Assertions.assertAll(
+                () -> Assertions.assertTrue(heap.used().inByte().signum() > 0),
+                () -> Assertions.assertTrue(heap.committed().compareTo(heap.used()) >= 0));
+    }
+
+    @Test
+    void shouldSampleMemoryPools() {
+        // given
+        sampler.sample();
+
+        // when
+        final var snapshot = sampler.snapshot();
+
+        // then
+        Assertions.assertFalse(snapshot.memoryPoolNames().isEmpty());
+        for (final var name : snapshot.memoryPoolNames()) {
+            Assertions.assertNotNull(snapshot.memoryPool(name), name);
+        }
+        Assertions.assertNull(snapshot.memoryPool("unknown"));
+    }
+
+    @Test
+    void shouldSampleDirectBuffers() {
+        // given
+        final var buffer = ByteBuffer.allocateDirect(4096);
+
+        // when
+        sampler.sample();
+
+        // then
+        final var direct = sampler.snapshot().bufferPool("direct");
+        Assertions.assertNotNull(direct);
+        Assertions.assertTrue(direct.count() > 0);
+        Assertions.assertTrue(direct.capacity().compareTo(StorageUnits.bytes(buffer.capacity())) >= 0);
+    }
+
+    @Test
+    void shouldKeepSnapshotsImmutable() {
+        // given
+        final var before = sampler.snapshot();
+
+        // when
+        sampler.sample();
+
+        // then
+        Assertions.assertEquals(0L, before.sampledAt());
+        Assertions.assertNotEquals(0L, sampler.snapshot().sampledAt());
+    }
+
+    @Test
+    void shouldReuseSnapshotBetweenSamples() {
+        // given
+        sampler.sample();
+
+        // when
+        final var first = sampler.snapshot();
+        final var second = sampler.snapshot();
+
+        // then
+        Assertions.assertSame(first, second);
+    }
+
+    @Test
+    void shouldIgnoreRepeatedStart() {
+        // given
+        sampler.start();
+
+        // when
+        final var result = sampler.start();
+
+        // then
+        Assertions.assertSame(sampler, result);
+    }
+
+    @Test
+    void shouldSampleAfterGarbageCollection() throws InterruptedException {
+        // given
+        sampler.start();
+        final var first = sampler.snapshot().sampledAt();
+
+        // when
+        Thread.sleep(20);
+        System.gc();
+
+        // then
+        final var deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (sampler.snapshot().sampledAt() <= first && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertTrue(sampler.snapshot().sampledAt() > first);
+    }
+
+    @Test
+    void shouldRejectNonPositiveInterval() {
+        // given
+        final var interval = Duration.ofSeconds(-1);
+
+        // when
+        // then
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new JvmMemorySampler(interval));
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.math.BigInteger;
+
+class NumberUtilsTest {
+
+    @Test
+    void declarePrivateConstructor()
+            throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException {
+        // Given
+        final var constructor = NumberUtils.class.getDeclaredConstructor();
+
+        // When
+        final var isPrivate = Modifier.isPrivate(constructor.getModifiers());
+
+        // Then
+        Assertions.assertTrue(isPrivate, "Constructor is not private");
+        constructor.setAccessible(true);
+        constructor.newInstance();
+    }
+
+    @Test
+    void keepLongValues() {
+        // given
+        final var value = BigInteger.valueOf(Long.MAX_VALUE);
+
+        // when
+        final var result = NumberUtils.saturatedLongValue(value);
+
+        // then
+        Assertions.assertEquals(Long.MAX_VALUE, result);
+    }
+
+    @Test
+    void saturateLargeValues() {
+        // given
+        final var value = BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE);
+
+        // when
+        final var result = NumberUtils.saturatedLongValue(value);
+
+        // then
+        Assertions.assertEquals(Long.MAX_VALUE, result);
+    }
+
+    @Test
+    void saturateSmallValues() {
+        // given
+        final var value = BigInteger.valueOf(Long.MIN_VALUE).subtract(BigInteger.ONE);
+
+        // when
+        final var result = NumberUtils.saturatedLongValue(value);
+
+        // then
+        Assertions.assertEquals(Long.MIN_VALUE, result);
+    }
+
+}
@@ -0,0 +1,190 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+class SizeColumnFileTest {
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempFile("sizes", ".column");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void shouldRoundTripValues() throws IOException {
+        // given
+        final var values = new long[]{0, 1, 1024, -5, Long.MAX_VALUE, Long.MIN_VALUE, 42};
+        write(3, values);
+
+        // when
+        final List<Long> read = new ArrayList<>();
+        try (final var reader = SizeColumnReader.open(file)) {
+            reader.forEachBytes(read::add);
+
+            // then
+            Assertions.assertEquals(values.length, reader.count());
+        }
+        Assertions.assertEquals(List.of(0L, 1L, 1024L, -5L, Long.MAX_VALUE, Long.MIN_VALUE, 42L), read);
+    }
+
+    @Test
+    void shouldIterateAsStorageUnits() throws IOException {
+        // given
+        write(2, 1024, 2048, 4096);
+
+        // when
+        final List<StorageUnit<?>> read = new ArrayList<>();
+        try (final var reader = SizeColumnReader.open(file)) {
+            reader.iterator().forEachRemaining(read::add);
+        }
+
+        // then
+        Assertions.assertEquals(List.of(StorageUnits.kibibyte(1), StorageUnits.kibibyte(2),
+                StorageUnits.kibibyte(4)), read);
+    }
+
+    @Test
+    void shouldCompressSortedValues() throws IOException {
+        // given
+        final var values = new long[10_000];
+        for (int index = 0; index < values.length; index++) {
+            values[index] = 1_000_000_000L + index * 10L;
+        }
+
+        // when
+        write(1024, values);
+
+        // then
+        Assertions.assertTrue(Files.size(file) < values.length * 2L);
+        try (final var reader = SizeColumnReader.open(file)) {
+            Assertions.assertEquals(StorageUnits.bytes(10_000_000_000_000L + 499_950_000L), reader.sum());
+        }
+    }
+
+    @Test
+    void shouldAggregateValues() throws IOException {
+        // given
+        write(2, 5, 1, 9, 3, 7);
+
+        // when
+        try (final var reader = SizeColumnReader.open(file)) {
+            // then
+            Assertions.assertAll(
+                    () -> Assertions.assertEquals(StorageUnits.bytes(25), reader.sum()),
+                    () -> Assertions.assertEquals(StorageUnits.bytes(1), reader.min()),
+                    () -> Assertions.assertEquals(StorageUnits.bytes(9), reader.max()));
+        }
+    }
+
+    @Test
+    void shouldSumBeyondLongRange() throws IOException {
+        // given
+        write(4, Long.MAX_VALUE, Long.MAX_VALUE, 2);
+
+        // when
+        try (final var reader = SizeColumnReader.open(file)) {
+            // then
+            Assertions.assertEquals(BigInteger.valueOf(Long.MAX_VALUE).shiftLeft(1).add(BigInteger.TWO),
+                    reader.sum().inByte());
+        }
+    }
+
+    @Test
+    void shouldFilterByRange() throws IOException {
+        // given
+        write(2, 1, 2, 10, 11, 20, 30);
+
+        // when
+        try (final var reader = SizeColumnReader.open(file)) {
+            final List<Long> matches = new ArrayList<>();
+            reader.forEachBytesInRange(StorageUnits.bytes(2), StorageUnits.bytes(20), matches::add);
+
+            // then
+            Assertions.assertEquals(List.of(2L, 10L, 11L, 20L), matches);
+            Assertions.assertEquals(4L, reader.countInRange(StorageUnits.bytes(2), StorageUnits.bytes(20)));
+        }
+    }
+
+    @Test
+    void shouldHandleEmptyColumns() throws IOException {
+        // given
+        write(16);
+
+        // when
+        try (final var reader = SizeColumnReader.open(file)) {
+            // then
+            Assertions.assertEquals(0L, reader.count());
+            Assertions.assertEquals(StorageUnits.bytes(0), reader.sum());
+            Assertions.assertFalse(reader.iterator().hasNext());
+            Assertions.assertThrows(NoSuchElementException.class, reader::min);
+        }
+    }
+
+    @Test
+    void shouldRejectOtherFiles() throws IOException {
+        // given
+        Files.write(file, new byte[64]);
+
+        // when
+        // then
+        Assertions.assertThrows(IOException.class, () -> SizeColumnReader.open(file));
+    }
+
+    @Test
+    void shouldRejectIndexBeyondSingleMapping() throws IOException {
+        // given
+        final var header = ByteBuffer.allocate(SizeColumnWriter.HEADER_SIZE)
+                .putInt(SizeColumnWriter.MAGIC)
+                .putInt(SizeColumnWriter.VERSION)
+                .putInt(1)
+                .putInt(SizeColumnWriter.MAX_BLOCKS + 1)
+                .putLong(SizeColumnWriter.MAX_BLOCKS + 1L)
+                .putLong(SizeColumnWriter.HEADER_SIZE);
+        Files.write(file, header.array());
+
+        // when
+        // then
+        Assertions.assertThrows(IOException.class, () -> SizeColumnReader.open(file));
+    }
+
+    @Test
+    void shouldRejectInvalidBlockSize() {
+        // given
+        final var blockSize = 0;
+
+        // when
+        // then
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SizeColumnWriter.create(file, blockSize));
+    }
+
+    private void write(final int blockSize, final long... values) throws IOException {
+        try (final var writer = SizeColumnWriter.create(file, blockSize)) {
+            for (final var value : values) {
+                writer.write(value);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.NoSuchElementException;
+import java.util.stream.LongStream;
+
+class SizeColumnsTest {
+
+    @Test
+    void shouldSumColumn() {
+        // given
+        final var sizes = LongStream.rangeClosed(1, 1_001).toArray();
+
+        // when
+        final var sum = SizeColumns.sum(sizes);
+
+        // then
+        Assertions.assertEquals(StorageUnits.bytes(501_501), sum);
+    }
+
+    @Test
+    void shouldSumRange() {
+        // given
+        final var sizes = new long[]{1, 2, 3, 4, 5, 6, 7};
+
+        // when
+        final var sum = SizeColumns.sum(sizes, 1, 6);
+
+        // then
+        Assertions.assertEquals(StorageUnits.bytes(20), sum);
+    }
+
+    @Test
+    void shouldSumBeyondLongRangeWithinLane() {
+        // given
+        final var sizes = new long[]{Long.MAX_VALUE, 0, 0, 0, Long.MAX_VALUE, 0, 0, 0};
+
+        // when
+        final var sum = SizeColumns.sum(sizes);
+
+        // then
+        Assertions.assertEquals(BigInteger.valueOf(Long.MAX_VALUE).shiftLeft(1), sum.inByte());
+    }
+
+    @Test
+    void shouldSumBeyondLongRangeAcrossLanes() {
+        // given
+        final var sizes = new long[]{Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, 1};
+
+        // when
+        final var sum = SizeColumns.sum(sizes);
+
+        // then
+        Assertions.assertEquals(BigInteger.valueOf(Long.MAX_VALUE).shiftLeft(2).add(BigInteger.ONE), sum.inByte());
+    }
+
+    @Test
+    void shouldSumNegativeValues() {
+        // given
+        final var sizes = new long[]{Long.MIN_VALUE, Long.MAX_VALUE, -1, 1, 5};
+
+        // when
+        final var sum = SizeColumns.sum(sizes);
+
+        // then
+        Assertions.assertEquals(StorageUnits.bytes(4), sum);
+    }
+
+    @Test
+    void shouldFindExtremes() {
+        // given
+        final var sizes = new long[]{7, 3, 9, 1, 12, 4};
+
+        // when
+        // then
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(StorageUnits.bytes(1), SizeColumns.min(sizes)),
+                () -> Assertions.assertEquals(StorageUnits.bytes(12), SizeColumns.max(sizes)));
+    }
+
+    @Test
+    void shouldRejectExtremesOfEmptyColumn() {
+        // given
+        final var sizes = new long[0];
+
+        // when
+        // then
+        Assertions.assertThrows(NoSuchElementException.class, () -> SizeColumns.min(sizes));
+        Assertions.assertThrows(NoSuchElementException.class, () -> SizeColumns.max(sizes));
+    }
+
+    @Test
+    void shouldCountSizesAboveThreshold() {
+        // given
+        final var sizes = new long[]{512, 1024, 2048, 100, 4096};
+
+        // when
+        final var count = SizeColumns.countAtLeast(sizes, StorageUnits.kibibyte(1));
+
+        // then
+        Assertions.assertEquals(3L, count);
+    }
+
+    @Test
+    void shouldCountWithThresholdBeyondLongRange() {
+        // given
+        final var sizes = new long[]{Long.MAX_VALUE};
+
+        // when
+        final var count = SizeColumns.countAtLeast(sizes, StorageUnits.quettabyte(1));
+
+        // then
+        Assertions.assertEquals(0L, count);
+    }
+
+    @Test
+    void shouldUseScalarKernelsWithoutProvider() {
+        // given
+        // when
+        final var kernels = SizeColumns.kernels();
+
+        // then
+        Assertions.assertSame(SizeColumnKernels.scalar(), kernels);
+    }
+
+    @Test
+    void shouldSignalOverflowingSumsInScalarKernels() {
+        // given
+        final var sizes = new long[]{Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, 1};
+
+        // when
+        // then
+        Assertions.assertThrows(ArithmeticException.class,
+                () -> SizeColumnKernels.scalar().sum(sizes, 0, sizes.length));
+    }
+
+}
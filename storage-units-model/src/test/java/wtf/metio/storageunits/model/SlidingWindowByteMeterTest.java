@@ -0,0 +1,161 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+class SlidingWindowByteMeterTest {
+
+    private AtomicLong clock;
+    private SlidingWindowByteMeter meter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        meter = new SlidingWindowByteMeter(Duration.ofMinutes(15), 15, clock::get);
+    }
+
+    @Test
+    void shouldSumRecordedBytes() {
+        // given
+        // when
+        meter.record(512);
+        meter.record(StorageUnits.bytes(512));
+
+        // then
+        Assertions.assertEquals(StorageUnits.kibibyte(1), meter.total());
+    }
+
+    @Test
+    void shouldSumSmallerWindows() {
+        // given
+        meter.record(100);
+        advance(Duration.ofMinutes(5));
+        meter.record(10);
+        advance(Duration.ofMinutes(4));
+
+        // when
+        meter.record(1);
+
+        // then
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(StorageUnits.bytes(1), meter.sum(Duration.ofMinutes(1))),
+                () -> Assertions.assertEquals(StorageUnits.bytes(11), meter.sum(Duration.ofMinutes(5))),
+                () -> Assertions.assertEquals(StorageUnits.bytes(111), meter.sum(Duration.ofMinutes(15))));
+    }
+
+    @Test
+    void shouldDropExpiredBuckets() {
+        // given
+        meter.record(100);
+
+        // when
+        advance(Duration.ofMinutes(15));
+        meter.record(1);
+
+        // then
+        Assertions.assertEquals(StorageUnits.bytes(1), meter.total());
+    }
+
+    @Test
+    void shouldReuseRotatedBuckets() {
+        // given
+        meter.record(100);
+        advance(Duration.ofMinutes(30));
+
+        // when
+        meter.record(5);
+
+        // then
+        Assertions.assertEquals(StorageUnits.bytes(5), meter.total());
+    }
+
+    @Test
+    void shouldDropBytesOfRotatedBuckets() {
+        // given
+        meter.record(5);
+        advance(Duration.ofMinutes(15));
+        meter.record(7);
+
+        // when
+        advance(Duration.ofMinutes(-15));
+        meter.record(100);
+
+        // then
+        advance(Duration.ofMinutes(15));
+        Assertions.assertEquals(StorageUnits.bytes(7), meter.total());
+    }
+
+    @Test
+    void shouldCalculateRate() {
+        // given
+        meter.record(6_000);
+
+        // when
+        final var rate = meter.bytesPerSecond(Duration.ofMinutes(1));
+
+        // then
+        Assertions.assertEquals(100.0, rate);
+    }
+
+    @Test
+    void shouldRecordConcurrently() {
+        // given
+        // when
+        IntStream.range(0, 10_000).parallel().forEach(index -> meter.record(1));
+
+        // then
+        Assertions.assertEquals(StorageUnits.bytes(10_000), meter.total());
+    }
+
+    @Test
+    void shouldNeverCountNegativeBytesWhileRotating() {
+        // given
+        final var bucket = Duration.ofMinutes(1).toNanos();
+
+        // when
+        IntStream.range(0, 100_000).parallel().forEach(index -> {
+            if (index % 100 == 0) {
+                clock.addAndGet(bucket);
+            }
+            meter.record(1);
+        });
+
+        // then
+        final var total = meter.total().inByte().longValue();
+        Assertions.assertTrue(total >= 0 && total <= 100_000, "total: " + total);
+    }
+
+    @Test
+    void shouldRejectWindowsLargerThanMeter() {
+        // given
+        final var window = Duration.ofMinutes(16);
+
+        // when
+        // then
+        Assertions.assertThrows(IllegalArgumentException.class, () -> meter.sum(window));
+    }
+
+    @Test
+    void shouldRejectNonPositiveBuckets() {
+        // given
+        final var window = Duration.ofMinutes(1);
+
+        // when
+        // then
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SlidingWindowByteMeter(window, 0));
+    }
+
+    private void advance(final Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+}
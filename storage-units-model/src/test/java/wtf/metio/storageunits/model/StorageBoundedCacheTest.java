@@ -0,0 +1,209 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+class StorageBoundedCacheTest {
+
+    private static StorageBoundedCache<String, byte[]> cache(final StorageUnit<?> capacity) {
+        return new StorageBoundedCache<>(capacity, (key, value) -> value.length, 1);
+    }
+
+    @Test
+    void returnCachedValues() {
+        // given
+        final var cache = cache(StorageUnits.kibibyte(1));
+        final var value = new byte[100];
+
+        // when
+        cache.put("first", value);
+
+        // then
+        Assertions.assertSame(value, cache.get("first"));
+        Assertions.assertEquals(StorageUnits.bytes(100), cache.weightedSize());
+    }
+
+    @Test
+    void evictLeastRecentlyUsedEntries() {
+        // given
+        final var cache = cache(StorageUnits.bytes(300));
+        cache.put("first", new byte[100]);
+        cache.put("second", new byte[100]);
+        cache.put("third", new byte[100]);
+        cache.get("first");
+
+        // when
+        cache.put("fourth", new byte[150]);
+
+        // then
+        Assertions.assertNotNull(cache.get("first"));
+        Assertions.assertNull(cache.get("second"));
+        Assertions.assertNull(cache.get("third"));
+        Assertions.assertNotNull(cache.get("fourth"));
+        Assertions.assertEquals(StorageUnits.bytes(250), cache.weightedSize());
+        Assertions.assertEquals(2, cache.stats().evictionCount());
+        Assertions.assertEquals(StorageUnits.bytes(200), cache.stats().evictedBytes());
+    }
+
+    @Test
+    void rejectEntriesLargerThanCapacity() {
+        // given
+        final var cache = cache(StorageUnits.bytes(100));
+
+        // when
+        cache.put("first", new byte[101]);
+
+        // then
+        Assertions.assertNull(cache.get("first"));
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals(0, cache.stats().evictionCount());
+        Assertions.assertEquals(StorageUnits.bytes(0), cache.stats().evictedBytes());
+    }
+
+    @Test
+    void cacheHeavyEntriesAcrossSegments() {
+        // given
+        final var cache = new StorageBoundedCache<String, byte[]>(StorageUnits.bytes(1_000), (key, value) -> value.length);
+
+        // when
+        cache.put("first", new byte[900]);
+
+        // then
+        Assertions.assertNotNull(cache.get("first"));
+        Assertions.assertEquals(StorageUnits.bytes(900), cache.weightedSize());
+    }
+
+    @Test
+    void shareCapacityAcrossSegments() {
+        // given
+        final var cache = new StorageBoundedCache<Integer, byte[]>(StorageUnits.bytes(1_000), (key, value) -> value.length);
+
+        // when
+        for (int index = 0; index < 10; index++) {
+            cache.put(index, new byte[100]);
+        }
+
+        // then
+        Assertions.assertEquals(10, cache.size());
+        Assertions.assertEquals(0, cache.stats().evictionCount());
+    }
+
+    @Test
+    void evictFromOtherSegments() {
+        // given
+        final var cache = new StorageBoundedCache<Integer, byte[]>(StorageUnits.bytes(1_000), (key, value) -> value.length);
+        for (int index = 0; index < 10; index++) {
+            cache.put(index, new byte[100]);
+        }
+
+        // when
+        cache.put(42, new byte[500]);
+
+        // then
+        Assertions.assertNotNull(cache.get(42));
+        Assertions.assertTrue(cache.weightedSize().compareTo(StorageUnits.bytes(1_000)) <= 0);
+        Assertions.assertEquals(5, cache.stats().evictionCount());
+        Assertions.assertEquals(StorageUnits.bytes(500), cache.stats().evictedBytes());
+    }
+
+    @Test
+    void replaceExistingEntries() {
+        // given
+        final var cache = cache(StorageUnits.bytes(100));
+        cache.put("first", new byte[60]);
+
+        // when
+        final var previous = cache.put("first", new byte[80]);
+
+        // then
+        Assertions.assertEquals(60, previous.length);
+        Assertions.assertEquals(StorageUnits.bytes(80), cache.weightedSize());
+        Assertions.assertEquals(0, cache.stats().evictionCount());
+    }
+
+    @Test
+    void removeEntries() {
+        // given
+        final var cache = cache(StorageUnits.bytes(100));
+        cache.put("first", new byte[60]);
+
+        // when
+        cache.remove("first");
+
+        // then
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals(StorageUnits.bytes(0), cache.weightedSize());
+    }
+
+    @Test
+    void computeMissingValues() {
+        // given
+        final var cache = cache(StorageUnits.bytes(100));
+
+        // when
+        final var first = cache.computeIfAbsent("first", key -> new byte[10]);
+        final var second = cache.computeIfAbsent("first", key -> new byte[20]);
+
+        // then
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, cache.stats().hitCount());
+        Assertions.assertEquals(1, cache.stats().missCount());
+        Assertions.assertEquals(0.5, cache.stats().hitRate());
+    }
+
+    @Test
+    void rejectNegativeWeights() {
+        // given
+        final var cache = new StorageBoundedCache<String, String>(StorageUnits.bytes(100), (key, value) -> -1);
+
+        // when
+        // then
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cache.put("first", "value"));
+    }
+
+    @Test
+    void rejectNegativeCapacity() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cache(StorageUnits.bytes(-1)));
+    }
+
+    @Test
+    void stayWithinCapacityUnderConcurrentAccess() throws Exception {
+        // given
+        final var capacity = StorageUnits.kibibyte(64);
+        final var cache = new StorageBoundedCache<Integer, byte[]>(capacity, (key, value) -> value.length);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // when
+        try {
+            final var futures = new ArrayList<Future<?>>();
+            for (int thread = 0; thread < 4; thread++) {
+                final var offset = thread * 10_000;
+                futures.add(executor.submit(() -> {
+                    for (int index = 0; index < 10_000; index++) {
+                        cache.put(offset + index, new byte[index % 512]);
+                        cache.get(offset + index / 2);
+                    }
+                }));
+            }
+            for (final var future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then
+        Assertions.assertTrue(cache.weightedSize().compareTo(capacity) <= 0, "Cache exceeds its capacity");
+    }
+
+}
@@ -0,0 +1,190 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.stream.Stream;
+
+class StorageUnitBinaryCodecTest {
+
+    @TestFactory
+    Stream<DynamicTest> shouldRoundTripThroughArrays() {
+        return sizes().map(bytes -> DynamicTest.dynamicTest(bytes.toString(), () -> {
+            // given
+            final var unit = StorageUnits.binaryValueOf(bytes);
+
+            // when
+            final var encoded = StorageUnitBinaryCodec.BINARY.encode(unit);
+            final var decoded = StorageUnitBinaryCodec.BINARY.decode(encoded);
+
+            // then
+            Assertions.assertEquals(unit, decoded);
+            Assertions.assertEquals(StorageUnitBinaryCodec.BINARY.encodedSize(unit), encoded.length);
+        }));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> shouldRoundTripThroughBuffers() {
+        return sizes().map(bytes -> DynamicTest.dynamicTest(bytes.toString(), () -> {
+            // given
+            final var unit = StorageUnits.decimalValueOf(bytes);
+            final var buffer = ByteBuffer.allocateDirect(64);
+
+            // when
+            StorageUnitBinaryCodec.DECIMAL.encode(unit, buffer);
+            final var written = buffer.position();
+            final var decoded = StorageUnitBinaryCodec.DECIMAL.decode(buffer.flip());
+
+            // then
+            Assertions.assertEquals(unit, decoded);
+            Assertions.assertEquals(StorageUnitBinaryCodec.DECIMAL.encodedSize(unit), written);
+            Assertions.assertFalse(buffer.hasRemaining());
+        }));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> shouldPreserveUnitWhenTagged() {
+        return TestObjects.highLevelBigIntegerBasedConstructors().stream()
+                .map(constructor -> constructor.apply(BigInteger.valueOf(1_536)))
+                .map(unit -> DynamicTest.dynamicTest(unit.getClass().getSimpleName(), () -> {
+                    // given
+                    final var encoded = StorageUnitBinaryCodec.TAGGED.encode(unit);
+
+                    // when
+                    final var decoded = StorageUnitBinaryCodec.TAGGED.decode(encoded);
+
+                    // then
+                    Assertions.assertEquals(unit.getClass(), decoded.getClass());
+                    Assertions.assertEquals(unit.inByte(), decoded.inByte());
+                }));
+    }
+
+    @Test
+    void shouldDecodeIntoBestMatchingUnit() {
+        // given
+        final var encoded = StorageUnitBinaryCodec.BINARY.encode(StorageUnits.kilobyte(2048));
+
+        // when
+        final var binary = StorageUnitBinaryCodec.BINARY.decode(encoded);
+        final var decimal = StorageUnitBinaryCodec.DECIMAL.decode(encoded);
+
+        // then
+        Assertions.assertInstanceOf(Mebibyte.class, binary);
+        Assertions.assertInstanceOf(Megabyte.class, decimal);
+    }
+
+    @Test
+    void shouldDecodeConsecutiveUnits() {
+        // given
+        final var first = StorageUnits.bytes(Long.MAX_VALUE);
+        final var second = StorageUnits.quettabyte(3);
+        final var target = new byte[64];
+        final var written = StorageUnitBinaryCodec.TAGGED.encode(first, target, 0);
+        StorageUnitBinaryCodec.TAGGED.encode(second, target, written);
+
+        // when
+        final var decodedFirst = StorageUnitBinaryCodec.TAGGED.decode(target, 0);
+        final var decodedSecond = StorageUnitBinaryCodec.TAGGED.decode(target,
+                StorageUnitBinaryCodec.TAGGED.encodedSize(decodedFirst));
+
+        // then
+        Assertions.assertEquals(first, decodedFirst);
+        Assertions.assertEquals(second, decodedSecond);
+    }
+
+    @Test
+    void shouldBeSmallerThanStringEncoding() {
+        // given
+        final var unit = StorageUnits.gibibyte(5);
+
+        // when
+        final var size = StorageUnitBinaryCodec.BINARY.encodedSize(unit);
+
+        // then
+        Assertions.assertEquals(5, size);
+        Assertions.assertTrue(size < unit.inByte().toString().length());
+    }
+
+    @Test
+    void shouldEncodeSmallSizesInSingleByte() {
+        // given
+        final var unit = StorageUnits.bytes(31);
+
+        // when
+        final var encoded = StorageUnitBinaryCodec.BINARY.encode(unit);
+
+        // then
+        Assertions.assertEquals(1, encoded.length);
+    }
+
+    @Test
+    void shouldRejectTruncatedInput() {
+        // given
+        final var encoded = StorageUnitBinaryCodec.BINARY.encode(StorageUnits.mebibyte(1));
+        final var truncated = new byte[encoded.length - 1];
+        System.arraycopy(encoded, 0, truncated, 0, truncated.length);
+
+        // when
+        // then
+        Assertions.assertThrows(IllegalArgumentException.class, () -> StorageUnitBinaryCodec.BINARY.decode(truncated));
+    }
+
+    @Test
+    void shouldRejectTruncatedEscape() {
+        // given
+        final var encoded = new byte[]{(byte) (4 << 1 | 1), 1, 2};
+
+        // when
+        // then
+        Assertions.assertThrows(IllegalArgumentException.class, () -> StorageUnitBinaryCodec.BINARY.decode(encoded));
+    }
+
+    @Test
+    void shouldRejectUnknownTag() {
+        // given
+        final var encoded = new byte[]{42, 0};
+
+        // when
+        // then
+        Assertions.assertThrows(IllegalArgumentException.class, () -> StorageUnitBinaryCodec.TAGGED.decode(encoded));
+    }
+
+    @Test
+    void shouldRejectSmallBuffer() {
+        // given
+        final var buffer = ByteBuffer.allocate(2);
+        final var unit = StorageUnits.exbibyte(1);
+
+        // when
+        // then
+        Assertions.assertThrows(BufferOverflowException.class, () -> StorageUnitBinaryCodec.BINARY.encode(unit, buffer));
+        Assertions.assertEquals(0, buffer.position());
+    }
+
+    private static Stream<BigInteger> sizes() {
+        return Stream.of(
+                BigInteger.ZERO,
+                BigInteger.ONE,
+                BigInteger.valueOf(-1),
+                BigInteger.valueOf(1_023),
+                BigInteger.valueOf(1_000_000),
+                BigInteger.valueOf(-5_000_000_000L),
+                BigInteger.ONE.shiftLeft(62).subtract(BigInteger.ONE),
+                BigInteger.ONE.shiftLeft(62),
+                BigInteger.ONE.shiftLeft(62).negate(),
+                BigInteger.valueOf(Long.MAX_VALUE),
+                BigInteger.valueOf(Long.MIN_VALUE),
+                StorageUnit.BYTES_IN_A_QUETTABYTE.multiply(BigInteger.valueOf(7)),
+                StorageUnit.BYTES_IN_A_QUBIBYTE.negate());
+    }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+class StorageUnitListTest {
+
+    private static final BigInteger HUGE = BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.TEN);
+
+    @Test
+    void shouldConvertElementsOnAccess() {
+        // given
+        final var list = StorageUnitList.of(1024, 1_048_576);
+
+        // when
+        final var first = list.get(0);
+
+        // then
+        Assertions.assertEquals(StorageUnits.kibibyte(1), first);
+        Assertions.assertEquals(2, list.size());
+        Assertions.assertEquals(1_048_576L, list.getAsLong(1));
+    }
+
+    @Test
+    void shouldBehaveLikeList() {
+        // given
+        final var list = new StorageUnitList(1);
+
+        // when
+        list.add(StorageUnits.bytes(1));
+        list.add(StorageUnits.bytes(3));
+        list.add(1, StorageUnits.bytes(2));
+        list.remove(0);
+        list.set(0, StorageUnits.bytes(5));
+
+        // then
+        Assertions.assertEquals(List.of(StorageUnits.bytes(5), StorageUnits.bytes(3)), list);
+    }
+
+    @Test
+    void shouldAggregatePrimitives() {
+        // given
+        final var list = StorageUnitList.of(5, 1, 9, 3);
+
+        // when
+        // then
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(StorageUnits.bytes(18), list.sum()),
+                () -> Assertions.assertEquals(StorageUnits.bytes(1), list.min()),
+                () -> Assertions.assertEquals(StorageUnits.bytes(9), list.max()));
+    }
+
+    @Test
+    void shouldSumBeyondLongRange() {
+        // given
+        final var list = StorageUnitList.of(Long.MAX_VALUE, Long.MAX_VALUE);
+
+        // when
+        final var sum = list.sum();
+
+        // then
+        Assertions.assertEquals(BigInteger.valueOf(Long.MAX_VALUE).shiftLeft(1), sum.inByte());
+    }
+
+    @Test
+    void shouldKeepValuesBeyondLongRange() {
+        // given
+        final var list = StorageUnitList.of(1, 2);
+
+        // when
+        list.add(0, StorageUnits.bytes(HUGE));
+
+        // then
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(HUGE, list.get(0).inByte()),
+                () -> Assertions.assertEquals(StorageUnits.bytes(1), list.get(1)),
+                () -> Assertions.assertEquals(HUGE.add(BigInteger.valueOf(3)), list.sum().inByte()),
+                () -> Assertions.assertEquals(HUGE, list.max().inByte()),
+                () -> Assertions.assertEquals(StorageUnits.bytes(1), list.min()),
+                () -> Assertions.assertThrows(ArithmeticException.class, () -> list.getAsLong(0)));
+    }
+
+    @Test
+    void shouldShiftValuesBeyondLongRangeOnRemoval() {
+        // given
+        final var list = StorageUnitList.of(1, 2);
+        list.add(StorageUnits.bytes(HUGE));
+
+        // when
+        list.remove(0);
+
+        // then
+        Assertions.assertEquals(HUGE, list.get(1).inByte());
+    }
+
+    @Test
+    void shouldSortInPlace() {
+        // given
+        final var list = StorageUnitList.of(5, 1, 9, 3);
+
+        // when
+        list.sort(null);
+
+        // then
+        Assertions.assertEquals(List.of(StorageUnits.bytes(1), StorageUnits.bytes(3), StorageUnits.bytes(5),
+                StorageUnits.bytes(9)), list);
+    }
+
+    @Test
+    void shouldSortValuesBeyondLongRange() {
+        // given
+        final var list = StorageUnitList.of(Long.MAX_VALUE, 5);
+        list.add(0, StorageUnits.bytes(HUGE));
+        list.add(StorageUnits.bytes(HUGE.negate()));
+
+        // when
+        list.sort();
+
+        // then
+        Assertions.assertEquals(List.of(StorageUnits.bytes(HUGE.negate()), StorageUnits.bytes(5),
+                StorageUnits.bytes(Long.MAX_VALUE), StorageUnits.bytes(HUGE)), list);
+    }
+
+    @Test
+    void shouldSortWithCustomComparator() {
+        // given
+        final var list = StorageUnitList.of(5, 1, 9);
+
+        // when
+        list.sort(Comparator.reverseOrder());
+
+        // then
+        Assertions.assertEquals(List.of(StorageUnits.bytes(9), StorageUnits.bytes(5), StorageUnits.bytes(1)), list);
+    }
+
+    @Test
+    void shouldCalculatePercentiles() {
+        // given
+        final var list = new StorageUnitList();
+        for (int value = 100; value > 0; value--) {
+            list.add(value);
+        }
+
+        // when
+        // then
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(StorageUnits.bytes(1), list.percentile(0)),
+                () -> Assertions.assertEquals(StorageUnits.bytes(50), list.percentile(50)),
+                () -> Assertions.assertEquals(StorageUnits.bytes(99), list.percentile(99)),
+                () -> Assertions.assertEquals(StorageUnits.bytes(100), list.percentile(100)),
+                () -> Assertions.assertEquals(StorageUnits.bytes(100), list.get(0)));
+    }
+
+    @Test
+    void shouldSelectPercentilesOfUnsortedValues() {
+        // given
+        final var random = new Random(42);
+        final var values = new long[1_001];
+        for (int index = 0; index < values.length; index++) {
+            values[index] = random.nextInt(100) - 50;
+        }
+        final var list = StorageUnitList.of(values);
+        final var sorted = values.clone();
+        Arrays.sort(sorted);
+
+        // when
+        // then
+        for (int percentile = 0; percentile <= 100; percentile++) {
+            final var index = Math.max(0, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1);
+            Assertions.assertEquals(StorageUnits.bytes(sorted[index]), list.percentile(percentile));
+        }
+        Assertions.assertEquals(StorageUnits.bytes(values[0]), list.get(0));
+    }
+
+    @Test
+    void shouldRejectAggregationsOfEmptyList() {
+        // given
+        final var list = new StorageUnitList();
+
+        // when
+        // then
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(StorageUnits.bytes(0), list.sum()),
+                () -> Assertions.assertThrows(NoSuchElementException.class, list::min),
+                () -> Assertions.assertThrows(NoSuchElementException.class, list::max),
+                () -> Assertions.assertThrows(NoSuchElementException.class, () -> list.percentile(50)));
+    }
+
+}
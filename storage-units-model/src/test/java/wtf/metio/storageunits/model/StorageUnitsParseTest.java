@@ -6,6 +6,7 @@ package wtf.metio.storageunits.model;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestFactory;
 
 import java.math.BigInteger;
@@ -22,11 +23,51 @@ class StorageUnitsParseTest {
                         Map.entry("10 kB", BigInteger.valueOf(10L * 1000L)),
                         Map.entry("10 KiB", BigInteger.valueOf(10L * 1024L)),
                         Map.entry("5 MB", BigInteger.valueOf(5L * 1000L * 1000L)),
-                        Map.entry("5 MiB", BigInteger.valueOf(5L * 1024L * 1024L))
+                        Map.entry("5 MiB", BigInteger.valueOf(5L * 1024L * 1024L)),
+                        Map.entry("512 B", BigInteger.valueOf(512L)),
+                        Map.entry("512B", BigInteger.valueOf(512L)),
+                        Map.entry("1.5 GiB", BigInteger.valueOf(3L << 29)),
+                        Map.entry("2.5 kB", BigInteger.valueOf(2_500L)),
+                        Map.entry("-1.5 KiB", BigInteger.valueOf(-1_536L)),
+                        Map.entry("1.9 B", BigInteger.ONE),
+                        Map.entry("1 QiB", StorageUnit.BYTES_IN_A_QUBIBYTE),
+                        Map.entry("1 QB", StorageUnit.BYTES_IN_A_QUETTABYTE)
                 )
                 .entrySet().stream()
                 .map(entry -> DynamicTest.dynamicTest(entry.getKey(),
                         () -> Assertions.assertEquals(entry.getValue(), StorageUnits.parse(entry.getKey()).inByte())));
     }
 
+    @Test
+    void keepUnitOfSymbol() {
+        // given
+        final var input = "1 QiB";
+
+        // when
+        final var unit = StorageUnits.parse(input);
+
+        // then
+        Assertions.assertInstanceOf(Qubibyte.class, unit);
+    }
+
+    @Test
+    void rejectUnknownSymbol() {
+        // given
+        final var input = "5 XB";
+
+        // when
+        // then
+        Assertions.assertThrows(NumberFormatException.class, () -> StorageUnits.parse(input));
+    }
+
+    @Test
+    void rejectMissingNumber() {
+        // given
+        final var input = "MiB";
+
+        // when
+        // then
+        Assertions.assertThrows(NumberFormatException.class, () -> StorageUnits.parse(input));
+    }
+
 }
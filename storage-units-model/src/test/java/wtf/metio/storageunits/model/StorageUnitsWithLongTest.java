@@ -8,6 +8,8 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DynamicTest;
 import org.junit.jupiter.api.TestFactory;
 
+import java.math.BigInteger;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 final class StorageUnitsWithLongTest {
@@ -22,4 +24,19 @@ final class StorageUnitsWithLongTest {
                 });
     }
 
+    @TestFactory
+    Stream<DynamicTest> selectSameUnitAsBigInteger() {
+        return LongStream.of(0, 1, -1, 999, 1_000, 1_023, 1_024, -1_024, 1_048_575, 1_048_576, 999_999_999_999L,
+                        1_000_000_000_000L, 1L << 50, 1_000_000_000_000_000_000L, Long.MAX_VALUE, Long.MIN_VALUE)
+                .mapToObj(bytes -> DynamicTest.dynamicTest(String.valueOf(bytes), () -> {
+                    final var big = BigInteger.valueOf(bytes);
+
+                    Assertions.assertEquals(StorageUnits.binaryValueOf(big).getClass(),
+                            StorageUnits.binaryValueOf(bytes).getClass());
+                    Assertions.assertEquals(StorageUnits.decimalValueOf(big).getClass(),
+                            StorageUnits.decimalValueOf(bytes).getClass());
+                    Assertions.assertEquals(big, StorageUnits.binaryValueOf(bytes).inByte());
+                }));
+    }
+
 }
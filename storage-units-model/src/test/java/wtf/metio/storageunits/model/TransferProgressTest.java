@@ -0,0 +1,155 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+class TransferProgressTest {
+
+    private AtomicLong clock;
+    private List<String> lines;
+    private TransferProgress progress;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        lines = new ArrayList<>();
+        progress = new TransferProgress(StorageUnits.gibibyte(4), Duration.ofSeconds(1), lines::add, clock::get);
+    }
+
+    @Test
+    void shouldTrackTransferredBytes() {
+        // given
+        // when
+        progress.add(1024);
+        progress.add(1024);
+
+        // then
+        Assertions.assertEquals(StorageUnits.kibibyte(2), progress.transferred());
+        Assertions.assertEquals(StorageUnits.gibibyte(4), progress.total());
+    }
+
+    @Test
+    void shouldThrottleRendering() {
+        // given
+        // when
+        progress.add(1024);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        progress.add(1024);
+
+        // then
+        Assertions.assertTrue(lines.isEmpty());
+    }
+
+    @Test
+    void shouldRenderAfterRefreshInterval() {
+        // given
+        progress.add(StorageUnits.mebibyte(512).inByte().longValue());
+
+        // when
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        progress.add(StorageUnits.mebibyte(512).inByte().longValue());
+
+        // then
+        Assertions.assertEquals(List.of("1.00 GiB of 4.00 GiB at 256.00 MiB/s, ETA 12s"), lines);
+    }
+
+    @Test
+    void shouldSmoothThroughput() {
+        // given
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        progress.add(StorageUnits.mebibyte(100).inByte().longValue());
+
+        // when
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        progress.add(StorageUnits.mebibyte(200).inByte().longValue());
+
+        // then
+        final var throughput = progress.throughput();
+        Assertions.assertNotNull(throughput);
+        Assertions.assertTrue(throughput.compareTo(StorageUnits.mebibyte(100)) > 0);
+        Assertions.assertTrue(throughput.compareTo(StorageUnits.mebibyte(200)) < 0);
+    }
+
+    @Test
+    void shouldRenderWhenFinished() {
+        // given
+        // when
+        progress.add(StorageUnits.gibibyte(4).inByte().longValue());
+
+        // then
+        Assertions.assertEquals(1, lines.size());
+        Assertions.assertEquals(Duration.ZERO, progress.eta());
+    }
+
+    @Test
+    void shouldRenderFinalLineArrivingWhileRendering() {
+        // given
+        final var total = StorageUnits.mebibyte(1).inByte().longValue();
+        final var rendering = new TransferProgress[1];
+        rendering[0] = new TransferProgress(StorageUnits.mebibyte(1), Duration.ofSeconds(1), line -> {
+            lines.add(line);
+            if (lines.size() == 1) {
+                // the last bytes arrive while the first line is rendered
+                rendering[0].add(total / 2);
+            }
+        }, clock::get);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        // when
+        rendering[0].add(total / 2);
+
+        // then
+        Assertions.assertEquals(2, lines.size());
+        Assertions.assertTrue(lines.get(1).startsWith("1.00 MiB of 1.00 MiB"), lines.get(1));
+    }
+
+    @Test
+    void shouldNotKnowThroughputInitially() {
+        // given
+        // when
+        final var throughput = progress.throughput();
+        final var eta = progress.eta();
+
+        // then
+        Assertions.assertNull(throughput);
+        Assertions.assertNull(eta);
+        Assertions.assertEquals("0.00 B of 4.00 GiB", progress.render());
+    }
+
+    @Test
+    void shouldAcceptConcurrentUpdates() {
+        // given
+        final var concurrent = new TransferProgress(StorageUnits.mebibyte(1), Duration.ZERO, line -> {
+        });
+
+        // when
+        IntStream.range(0, 1024).parallel().forEach(index -> concurrent.add(1024));
+
+        // then
+        Assertions.assertEquals(StorageUnits.mebibyte(1), concurrent.transferred());
+    }
+
+    @Test
+    void shouldFormatDurations() {
+        // given
+        // when
+        // then
+        Assertions.assertAll(
+                () -> Assertions.assertEquals("34s", TransferProgress.formatDuration(Duration.ofSeconds(34))),
+                () -> Assertions.assertEquals("2m 05s", TransferProgress.formatDuration(Duration.ofSeconds(125))),
+                () -> Assertions.assertEquals("1h 02m", TransferProgress.formatDuration(Duration.ofMinutes(62))));
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.nio.ByteBuffer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+class VarIntsTest {
+
+    @TestFactory
+    Stream<DynamicTest> shouldRoundTripValues() {
+        return LongStream.of(0, 1, -1, 63, -64, 64, 127, 128, 16_383, 16_384, Long.MAX_VALUE, Long.MIN_VALUE)
+                .mapToObj(value -> DynamicTest.dynamicTest(String.valueOf(value), () -> {
+                    // given
+                    final var buffer = ByteBuffer.allocate(VarInts.MAX_VAR_LONG_SIZE);
+                    final var encoded = VarInts.zigzag(value);
+
+                    // when
+                    VarInts.putVarLong(buffer, encoded);
+                    final var written = buffer.position();
+                    final var decoded = VarInts.unzigzag(VarInts.getVarLong(buffer.flip()));
+
+                    // then
+                    Assertions.assertEquals(value, decoded);
+                    Assertions.assertEquals(VarInts.varLongSize(encoded), written);
+                }));
+    }
+
+    @Test
+    void shouldEncodeSmallMagnitudesInSingleByte() {
+        // given
+        // when
+        // then
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(1, VarInts.varLongSize(VarInts.zigzag(0))),
+                () -> Assertions.assertEquals(1, VarInts.varLongSize(VarInts.zigzag(-64))),
+                () -> Assertions.assertEquals(2, VarInts.varLongSize(VarInts.zigzag(64))),
+                () -> Assertions.assertEquals(10, VarInts.varLongSize(VarInts.zigzag(Long.MIN_VALUE))));
+    }
+
+}
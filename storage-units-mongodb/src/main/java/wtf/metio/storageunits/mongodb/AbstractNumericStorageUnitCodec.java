@@ -0,0 +1,45 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.mongodb;
+
+import org.bson.BsonReader;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import wtf.metio.storageunits.model.StorageUnit;
+
+import java.math.BigInteger;
+
+/**
+ * Abstract implementation of a MongoDB {@link Codec} for {@link StorageUnit StorageUnits} which stores the number of
+ * bytes as {@code Int64}, or as {@code Decimal128} for values beyond the range of {@code long}. Numeric fields can be
+ * aggregated, compared and indexed by the server. Values written as strings by {@link AbstractStorageUnitCodec} as well
+ * as {@code Int32} and {@code Double} values are still accepted while decoding.
+ *
+ * @see <a href="http://mongodb.github.io/mongo-java-driver/3.3/bson/codecs/">MongoDB Codec documentation</a>
+ */
+abstract class AbstractNumericStorageUnitCodec implements Codec<StorageUnit<?>> {
+
+    @Override
+    public final void encode(final BsonWriter bsonWriter, final StorageUnit<?> t, final EncoderContext encoderContext) {
+        StorageUnitBson.write(bsonWriter, t);
+    }
+
+    @Override
+    public Class getEncoderClass() {
+        return StorageUnit.class;
+    }
+
+    @Override
+    public final StorageUnit<?> decode(final BsonReader bsonReader, final DecoderContext decoderContext) {
+        return StorageUnitBson.read(bsonReader, this::convertToStorageUnit, this::convertToStorageUnit);
+    }
+
+    protected abstract StorageUnit<?> convertToStorageUnit(long value);
+
+    protected abstract StorageUnit<?> convertToStorageUnit(BigInteger value);
+
+}
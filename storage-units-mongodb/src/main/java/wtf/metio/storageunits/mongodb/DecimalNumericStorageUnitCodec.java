@@ -0,0 +1,27 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.mongodb;
+
+import wtf.metio.storageunits.model.StorageUnit;
+import wtf.metio.storageunits.model.StorageUnits;
+
+import java.math.BigInteger;
+
+/**
+ * Stores storage units as BSON numbers and decodes them into decimal units.
+ */
+public final class DecimalNumericStorageUnitCodec extends AbstractNumericStorageUnitCodec {
+
+    @Override
+    protected StorageUnit<?> convertToStorageUnit(final long value) {
+        return StorageUnits.decimalValueOf(value);
+    }
+
+    @Override
+    protected StorageUnit<?> convertToStorageUnit(final BigInteger value) {
+        return StorageUnits.decimalValueOf(value);
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.mongodb;
+
+import org.bson.BsonInvalidOperationException;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.types.Decimal128;
+import wtf.metio.storageunits.model.StorageUnit;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * Reads and writes the number of bytes of storage units as BSON numbers.
+ */
+final class StorageUnitBson {
+
+    private StorageUnitBson() {
+        // Hidden constructor.
+    }
+
+    /**
+     * Writes an {@code Int64} whenever the number of bytes fits, a {@code Decimal128} for larger values, and a string
+     * for the few values which exceed the 34 significant digits of {@code Decimal128}.
+     */
+    static void write(final BsonWriter bsonWriter, final StorageUnit<?> unit) {
+        final var bytes = unit.inByte();
+        if (bytes.bitLength() < Long.SIZE) {
+            bsonWriter.writeInt64(bytes.longValue());
+            return;
+        }
+        final Decimal128 decimal;
+        try {
+            decimal = new Decimal128(new BigDecimal(bytes));
+        } catch (final NumberFormatException exception) {
+            bsonWriter.writeString(bytes.toString());
+            return;
+        }
+        bsonWriter.writeDecimal128(decimal);
+    }
+
+    /**
+     * Reads the current value, which can be any of the representations written by this or earlier versions.
+     */
+    static <T> T read(
+            final BsonReader bsonReader,
+            final LongFunction<T> fromLong,
+            final Function<BigInteger, T> fromBigInteger) {
+        final var type = bsonReader.getCurrentBsonType();
+        switch (type) {
+            case INT64:
+                return fromLong.apply(bsonReader.readInt64());
+            case INT32:
+                return fromLong.apply(bsonReader.readInt32());
+            case DECIMAL128:
+                return fromBigDecimal(bsonReader.readDecimal128().bigDecimalValue(), fromLong, fromBigInteger);
+            case DOUBLE:
+                return fromBigDecimal(BigDecimal.valueOf(bsonReader.readDouble()), fromLong, fromBigInteger);
+            case STRING:
+                return fromString(bsonReader.readString(), fromLong, fromBigInteger);
+            default:
+                throw new BsonInvalidOperationException("Cannot decode storage unit from BSON type " + type);
+        }
+    }
+
+    private static <T> T fromBigDecimal(
+            final BigDecimal value,
+            final LongFunction<T> fromLong,
+            final Function<BigInteger, T> fromBigInteger) {
+        final var bytes = value.toBigInteger();
+        return bytes.bitLength() < Long.SIZE ? fromLong.apply(bytes.longValue()) : fromBigInteger.apply(bytes);
+    }
+
+    private static <T> T fromString(
+            final String value,
+            final LongFunction<T> fromLong,
+            final Function<BigInteger, T> fromBigInteger) {
+        // 18 digits always fit into a long
+        if (value.length() <= 18) {
+            return fromLong.apply(Long.parseLong(value));
+        }
+        return fromBigInteger.apply(new BigInteger(value));
+    }
+
+}
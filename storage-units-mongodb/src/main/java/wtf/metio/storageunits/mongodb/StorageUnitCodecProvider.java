@@ -0,0 +1,131 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.mongodb;
+
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecProvider;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.jspecify.annotations.Nullable;
+import wtf.metio.storageunits.model.Byte;
+import wtf.metio.storageunits.model.Exabyte;
+import wtf.metio.storageunits.model.Exbibyte;
+import wtf.metio.storageunits.model.Gibibyte;
+import wtf.metio.storageunits.model.Gigabyte;
+import wtf.metio.storageunits.model.Kibibyte;
+import wtf.metio.storageunits.model.Kilobyte;
+import wtf.metio.storageunits.model.Mebibyte;
+import wtf.metio.storageunits.model.Megabyte;
+import wtf.metio.storageunits.model.Pebibyte;
+import wtf.metio.storageunits.model.Petabyte;
+import wtf.metio.storageunits.model.Qubibyte;
+import wtf.metio.storageunits.model.Quettabyte;
+import wtf.metio.storageunits.model.Robibyte;
+import wtf.metio.storageunits.model.Ronnabyte;
+import wtf.metio.storageunits.model.StorageUnit;
+import wtf.metio.storageunits.model.StorageUnitList;
+import wtf.metio.storageunits.model.Tebibyte;
+import wtf.metio.storageunits.model.Terabyte;
+import wtf.metio.storageunits.model.Yobibyte;
+import wtf.metio.storageunits.model.Yottabyte;
+import wtf.metio.storageunits.model.Zebibyte;
+import wtf.metio.storageunits.model.Zettabyte;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * MongoDB {@link CodecProvider} for {@link StorageUnit} and all of its subclasses. All codecs store values as BSON
+ * numbers, see {@link AbstractNumericStorageUnitCodec}. Values declared as one of the concrete units are decoded
+ * into that unit, while values declared as {@link StorageUnit} use the best-matching unit of the preferred unit type.
+ * Lists of sizes declared as {@link StorageUnitList} are packed by the {@link StorageUnitListCodec}.
+ */
+public final class StorageUnitCodecProvider implements CodecProvider {
+
+    private static final Map<Class<?>, Codec<?>> CONCRETE_CODECS = new HashMap<>();
+
+    static {
+        register(Byte.class, Byte::valueOf, Byte::valueOf);
+        register(Kibibyte.class, Kibibyte::valueOf, Kibibyte::valueOf);
+        register(Mebibyte.class, Mebibyte::valueOf, Mebibyte::valueOf);
+        register(Gibibyte.class, Gibibyte::valueOf, Gibibyte::valueOf);
+        register(Tebibyte.class, Tebibyte::valueOf, Tebibyte::valueOf);
+        register(Pebibyte.class, Pebibyte::valueOf, Pebibyte::valueOf);
+        register(Exbibyte.class, Exbibyte::valueOf, Exbibyte::valueOf);
+        register(Zebibyte.class, Zebibyte::valueOf, Zebibyte::valueOf);
+        register(Yobibyte.class, Yobibyte::valueOf, Yobibyte::valueOf);
+        register(Robibyte.class, Robibyte::valueOf, Robibyte::valueOf);
+        register(Qubibyte.class, Qubibyte::valueOf, Qubibyte::valueOf);
+        register(Kilobyte.class, Kilobyte::valueOf, Kilobyte::valueOf);
+        register(Megabyte.class, Megabyte::valueOf, Megabyte::valueOf);
+        register(Gigabyte.class, Gigabyte::valueOf, Gigabyte::valueOf);
+        register(Terabyte.class, Terabyte::valueOf, Terabyte::valueOf);
+        register(Petabyte.class, Petabyte::valueOf, Petabyte::valueOf);
+        register(Exabyte.class, Exabyte::valueOf, Exabyte::valueOf);
+        register(Zettabyte.class, Zettabyte::valueOf, Zettabyte::valueOf);
+        register(Yottabyte.class, Yottabyte::valueOf, Yottabyte::valueOf);
+        register(Ronnabyte.class, Ronnabyte::valueOf, Ronnabyte::valueOf);
+        register(Quettabyte.class, Quettabyte::valueOf, Quettabyte::valueOf);
+        CONCRETE_CODECS.put(StorageUnitList.class, new StorageUnitListCodec());
+    }
+
+    private final PreferredUnitType preferredUnitType;
+
+    /**
+     * Creates a new provider which defaults to binary unit types.
+     */
+    public StorageUnitCodecProvider() {
+        this(PreferredUnitType.BINARY);
+    }
+
+    /**
+     * @param preferredUnitType The preferred decoding unit type.
+     */
+    public StorageUnitCodecProvider(final PreferredUnitType preferredUnitType) {
+        this.preferredUnitType = preferredUnitType;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable Codec<T> get(final Class<T> clazz, final CodecRegistry registry) {
+        if (clazz == StorageUnit.class) {
+            return (Codec<T>) preferredUnitType.codec;
+        }
+        return (Codec<T>) CONCRETE_CODECS.get(clazz);
+    }
+
+    private static <T extends StorageUnit<?>> void register(
+            final Class<T> type,
+            final LongFunction<T> fromLong,
+            final Function<BigInteger, T> fromBigInteger) {
+        CONCRETE_CODECS.put(type, new TypedStorageUnitCodec<>(type, fromLong, fromBigInteger));
+    }
+
+    /**
+     * The preferred storage unit type for decoding.
+     */
+    public enum PreferredUnitType {
+
+        /**
+         * Decodes values as binary units.
+         */
+        BINARY(new BinaryNumericStorageUnitCodec()),
+
+        /**
+         * Decodes values as decimal units.
+         */
+        DECIMAL(new DecimalNumericStorageUnitCodec());
+
+        final Codec<StorageUnit<?>> codec;
+
+        PreferredUnitType(final Codec<StorageUnit<?>> codec) {
+            this.codec = codec;
+        }
+
+    }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.mongodb;
+
+import org.bson.BsonBinary;
+import org.bson.BsonBinarySubType;
+import org.bson.BsonInvalidOperationException;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.jspecify.annotations.Nullable;
+import wtf.metio.storageunits.model.StorageUnitList;
+import wtf.metio.storageunits.model.StorageUnits;
+
+import java.nio.ByteBuffer;
+
+/**
+ * MongoDB {@link Codec} which packs a {@link StorageUnitList} into a single BSON binary value instead of an array with
+ * one element per size. The binary value holds a format version, the number of elements, and the difference of each
+ * element to its predecessor as zigzag encoded variable-length integers, thus sorted or similar sizes take up only a
+ * few bytes each. Lists containing values beyond the range of {@code long} are written as an array of BSON numbers
+ * instead. Decoding reads both representations, as well as arrays written by any other storage unit codec, straight
+ * into the primitive storage of the list.
+ * <p>
+ * The codec is selected by the declared type of a field, thus fields have to be declared as {@link StorageUnitList}.
+ * Fields declared as {@code List<StorageUnit<?>>} are still encoded element by element, even if they hold a
+ * {@link StorageUnitList} at runtime.
+ *
+ * <pre>
+ * version: 1 (byte)
+ * count:   number of elements (varint)
+ * deltas:  zigzag(element - previous) (varint) for each element
+ * </pre>
+ */
+public final class StorageUnitListCodec implements Codec<StorageUnitList> {
+
+    private static final byte VERSION = 1;
+
+    @Override
+    public void encode(final BsonWriter bsonWriter, final StorageUnitList list, final EncoderContext encoderContext) {
+        final var packed = pack(list);
+        if (packed == null) {
+            bsonWriter.writeStartArray();
+            for (final var unit : list) {
+                StorageUnitBson.write(bsonWriter, unit);
+            }
+            bsonWriter.writeEndArray();
+        } else {
+            bsonWriter.writeBinaryData(new BsonBinary(BsonBinarySubType.USER_DEFINED, packed));
+        }
+    }
+
+    @Override
+    public Class<StorageUnitList> getEncoderClass() {
+        return StorageUnitList.class;
+    }
+
+    @Override
+    public StorageUnitList decode(final BsonReader bsonReader, final DecoderContext decoderContext) {
+        final var type = bsonReader.getCurrentBsonType();
+        if (type == BsonType.BINARY) {
+            return unpack(bsonReader.readBinaryData());
+        }
+        if (type == BsonType.ARRAY) {
+            return readArray(bsonReader);
+        }
+        throw new BsonInvalidOperationException("Cannot decode storage unit list from BSON type " + type);
+    }
+
+    private static byte @Nullable [] pack(final StorageUnitList list) {
+        final var size = list.size();
+        // the first pass sizes the buffer exactly and detects values which do not fit into a long
+        var length = 1 + varLongSize(size);
+        var previous = 0L;
+        for (int index = 0; index < size; index++) {
+            final long bytes;
+            try {
+                bytes = list.getAsLong(index);
+            } catch (final ArithmeticException exception) {
+                return null;
+            }
+            length += varLongSize(zigzag(bytes - previous));
+            previous = bytes;
+        }
+        final var target = new byte[length];
+        target[0] = VERSION;
+        var position = putVarLong(target, 1, size);
+        previous = 0L;
+        for (int index = 0; index < size; index++) {
+            final var bytes = list.getAsLong(index);
+            position = putVarLong(target, position, zigzag(bytes - previous));
+            previous = bytes;
+        }
+        return target;
+    }
+
+    // deltas may wrap around, which the decoder reverses by wrapping around again
+    private static long zigzag(final long delta) {
+        return (delta << 1) ^ (delta >> 63);
+    }
+
+    private static int varLongSize(final long value) {
+        return Math.max(1, (Long.SIZE - Long.numberOfLeadingZeros(value) + 6) / 7);
+    }
+
+    private static StorageUnitList unpack(final BsonBinary binary) {
+        if (binary.getType() != BsonBinarySubType.USER_DEFINED.getValue()) {
+            throw new BsonInvalidOperationException("Unexpected binary subtype " + binary.getType());
+        }
+        final var source = binary.getData();
+        if (source.length == 0 || source[0] != VERSION) {
+            throw new BsonInvalidOperationException("Unsupported storage unit list format");
+        }
+        final var buffer = ByteBuffer.wrap(source, 1, source.length - 1);
+        final var count = getVarLong(buffer);
+        if (count < 0 || count > buffer.remaining()) {
+            throw new BsonInvalidOperationException("Truncated storage unit list");
+        }
+        final var list = new StorageUnitList((int) count);
+        var previous = 0L;
+        for (long index = 0; index < count; index++) {
+            final var zigzag = getVarLong(buffer);
+            previous += (zigzag >>> 1) ^ -(zigzag & 1);
+            list.add(previous);
+        }
+        return list;
+    }
+
+    private static StorageUnitList readArray(final BsonReader bsonReader) {
+        final var list = new StorageUnitList();
+        bsonReader.readStartArray();
+        while (bsonReader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            if (bsonReader.getCurrentBsonType() == BsonType.INT64) {
+                list.add(bsonReader.readInt64());
+            } else {
+                list.add(StorageUnitBson.read(bsonReader, StorageUnits::binaryValueOf, StorageUnits::binaryValueOf));
+            }
+        }
+        bsonReader.readEndArray();
+        return list;
+    }
+
+    private static int putVarLong(final byte[] target, final int offset, final long value) {
+        var position = offset;
+        var remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            target[position++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        target[position++] = (byte) remaining;
+        return position;
+    }
+
+    private static long getVarLong(final ByteBuffer source) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            if (!source.hasRemaining()) {
+                throw new BsonInvalidOperationException("Truncated storage unit list");
+            }
+            final var next = source.get();
+            value |= (long) (next & 0x7F) << shift;
+            if (next >= 0) {
+                return value;
+            }
+        }
+        throw new BsonInvalidOperationException("Malformed variable-length integer");
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.mongodb;
+
+import org.bson.BsonReader;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import wtf.metio.storageunits.model.StorageUnit;
+
+import java.math.BigInteger;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * Numeric {@link Codec} for a single concrete storage unit which decodes values directly into that unit.
+ *
+ * @param <T> The type of storage unit to encode and decode.
+ */
+final class TypedStorageUnitCodec<T extends StorageUnit<?>> implements Codec<T> {
+
+    private final Class<T> encoderClass;
+    private final LongFunction<T> fromLong;
+    private final Function<BigInteger, T> fromBigInteger;
+
+    TypedStorageUnitCodec(
+            final Class<T> encoderClass,
+            final LongFunction<T> fromLong,
+            final Function<BigInteger, T> fromBigInteger) {
+        this.encoderClass = encoderClass;
+        this.fromLong = fromLong;
+        this.fromBigInteger = fromBigInteger;
+    }
+
+    @Override
+    public void encode(final BsonWriter bsonWriter, final T t, final EncoderContext encoderContext) {
+        StorageUnitBson.write(bsonWriter, t);
+    }
+
+    @Override
+    public Class<T> getEncoderClass() {
+        return encoderClass;
+    }
+
+    @Override
+    public T decode(final BsonReader bsonReader, final DecoderContext decoderContext) {
+        return StorageUnitBson.read(bsonReader, fromLong, fromBigInteger);
+    }
+
+}
@@ -0,0 +1,180 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.mongodb;
+
+import org.bson.BsonInvalidOperationException;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import wtf.metio.storageunits.model.StorageUnit;
+import wtf.metio.storageunits.model.StorageUnits;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.stream.Stream;
+
+class NumericStorageUnitCodecTest {
+
+    private static Stream<AbstractNumericStorageUnitCodec> codecs() {
+        return Stream.of(new BinaryNumericStorageUnitCodec(), new DecimalNumericStorageUnitCodec());
+    }
+
+    @TestFactory
+    Stream<DynamicTest> encodeStorageUnitClass() {
+        return codecs()
+                .map(AbstractNumericStorageUnitCodec::getEncoderClass)
+                .map(encoderClass -> DynamicTest.dynamicTest("should use correct encoder class",
+                        () -> Assertions.assertEquals(StorageUnit.class, encoderClass)));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> encodeStorageUnitAsInt64() {
+        return codecs()
+                .map(codec -> DynamicTest.dynamicTest("should encode storage unit as int64", () -> {
+                    final var writer = Mockito.mock(BsonWriter.class);
+                    final var context = EncoderContext.builder().build();
+                    final var value = StorageUnits.kilobyte(1L);
+
+                    codec.encode(writer, value, context);
+
+                    Mockito.verify(writer).writeInt64(1000L);
+                }));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> encodeLargeStorageUnitAsDecimal128() {
+        return codecs()
+                .map(codec -> DynamicTest.dynamicTest("should encode large storage unit as decimal128", () -> {
+                    final var writer = Mockito.mock(BsonWriter.class);
+                    final var context = EncoderContext.builder().build();
+                    final var value = StorageUnits.quettabyte(5L);
+
+                    codec.encode(writer, value, context);
+
+                    Mockito.verify(writer).writeDecimal128(new Decimal128(new BigDecimal(value.inByte())));
+                }));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> encodeHugeStorageUnitAsString() {
+        return codecs()
+                .map(codec -> DynamicTest.dynamicTest("should encode huge storage unit as string", () -> {
+                    final var writer = Mockito.mock(BsonWriter.class);
+                    final var context = EncoderContext.builder().build();
+                    final var bytes = new BigInteger("1234567890123456789012345678901234567890");
+                    final var value = StorageUnits.binaryValueOf(bytes);
+
+                    codec.encode(writer, value, context);
+
+                    Mockito.verify(writer).writeString(bytes.toString());
+                }));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> decodeInt64() {
+        return codecs()
+                .map(codec -> DynamicTest.dynamicTest("should decode int64", () -> {
+                    final var reader = reader(BsonType.INT64);
+                    BDDMockito.given(reader.readInt64()).willReturn(2000L);
+
+                    final var value = codec.decode(reader, DecoderContext.builder().build());
+
+                    Assertions.assertEquals(StorageUnits.kilobyte(2).inByte(), value.inByte());
+                }));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> decodeInt32() {
+        return codecs()
+                .map(codec -> DynamicTest.dynamicTest("should decode int32", () -> {
+                    final var reader = reader(BsonType.INT32);
+                    BDDMockito.given(reader.readInt32()).willReturn(1024);
+
+                    final var value = codec.decode(reader, DecoderContext.builder().build());
+
+                    Assertions.assertEquals(BigInteger.valueOf(1024L), value.inByte());
+                }));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> decodeDouble() {
+        return codecs()
+                .map(codec -> DynamicTest.dynamicTest("should decode double", () -> {
+                    final var reader = reader(BsonType.DOUBLE);
+                    BDDMockito.given(reader.readDouble()).willReturn(4096.0);
+
+                    final var value = codec.decode(reader, DecoderContext.builder().build());
+
+                    Assertions.assertEquals(BigInteger.valueOf(4096L), value.inByte());
+                }));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> decodeDecimal128() {
+        return codecs()
+                .map(codec -> DynamicTest.dynamicTest("should decode decimal128", () -> {
+                    final var bytes = StorageUnits.quettabyte(5L).inByte();
+                    final var reader = reader(BsonType.DECIMAL128);
+                    BDDMockito.given(reader.readDecimal128()).willReturn(new Decimal128(new BigDecimal(bytes)));
+
+                    final var value = codec.decode(reader, DecoderContext.builder().build());
+
+                    Assertions.assertEquals(bytes, value.inByte());
+                }));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> decodeString() {
+        return codecs()
+                .map(codec -> DynamicTest.dynamicTest("should decode string", () -> {
+                    final var reader = reader(BsonType.STRING);
+                    BDDMockito.given(reader.readString()).willReturn("2000");
+
+                    final var value = codec.decode(reader, DecoderContext.builder().build());
+
+                    Assertions.assertEquals(BigInteger.valueOf(2000L), value.inByte());
+                }));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> decodeLongString() {
+        return codecs()
+                .map(codec -> DynamicTest.dynamicTest("should decode long string", () -> {
+                    final var bytes = "1234567890123456789012345678901234567890";
+                    final var reader = reader(BsonType.STRING);
+                    BDDMockito.given(reader.readString()).willReturn(bytes);
+
+                    final var value = codec.decode(reader, DecoderContext.builder().build());
+
+                    Assertions.assertEquals(new BigInteger(bytes), value.inByte());
+                }));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> rejectUnsupportedType() {
+        return codecs()
+                .map(codec -> DynamicTest.dynamicTest("should reject unsupported type", () -> {
+                    final var reader = reader(BsonType.BOOLEAN);
+
+                    Assertions.assertThrows(BsonInvalidOperationException.class,
+                            () -> codec.decode(reader, DecoderContext.builder().build()));
+                }));
+    }
+
+    private static BsonReader reader(final BsonType type) {
+        final var reader = Mockito.mock(BsonReader.class);
+        BDDMockito.given(reader.getCurrentBsonType()).willReturn(type);
+        return reader;
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.mongodb;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import wtf.metio.storageunits.model.Gibibyte;
+import wtf.metio.storageunits.model.Kibibyte;
+import wtf.metio.storageunits.model.Megabyte;
+import wtf.metio.storageunits.model.Mebibyte;
+import wtf.metio.storageunits.model.StorageUnit;
+import wtf.metio.storageunits.model.StorageUnits;
+
+class StorageUnitCodecProviderTest {
+
+    private final CodecRegistry registry = Mockito.mock(CodecRegistry.class);
+
+    @Test
+    void provideTypedCodec() {
+        final var codec = new StorageUnitCodecProvider().get(Gibibyte.class, registry);
+
+        Assertions.assertNotNull(codec);
+        Assertions.assertEquals(Gibibyte.class, codec.getEncoderClass());
+    }
+
+    @Test
+    void decodeIntoDeclaredType() {
+        final var codec = new StorageUnitCodecProvider().get(Megabyte.class, registry);
+        final var reader = Mockito.mock(BsonReader.class);
+        BDDMockito.given(reader.getCurrentBsonType()).willReturn(BsonType.INT64);
+        BDDMockito.given(reader.readInt64()).willReturn(1024L);
+
+        final Megabyte value = codec.decode(reader, DecoderContext.builder().build());
+
+        Assertions.assertEquals(Megabyte.valueOf(1024L), value);
+    }
+
+    @Test
+    void encodeTypedValue() {
+        final var codec = new StorageUnitCodecProvider().get(Kibibyte.class, registry);
+        final var writer = Mockito.mock(BsonWriter.class);
+
+        codec.encode(writer, StorageUnits.kibibyte(2L), EncoderContext.builder().build());
+
+        Mockito.verify(writer).writeInt64(2048L);
+    }
+
+    @Test
+    void decodeStorageUnitAsBinary() {
+        final var codec = new StorageUnitCodecProvider().get(StorageUnit.class, registry);
+        final var reader = Mockito.mock(BsonReader.class);
+        BDDMockito.given(reader.getCurrentBsonType()).willReturn(BsonType.INT64);
+        BDDMockito.given(reader.readInt64()).willReturn(1_048_576L);
+
+        final var value = codec.decode(reader, DecoderContext.builder().build());
+
+        Assertions.assertInstanceOf(Mebibyte.class, value);
+    }
+
+    @Test
+    void decodeStorageUnitAsDecimal() {
+        final var provider = new StorageUnitCodecProvider(StorageUnitCodecProvider.PreferredUnitType.DECIMAL);
+        final var codec = provider.get(StorageUnit.class, registry);
+        final var reader = Mockito.mock(BsonReader.class);
+        BDDMockito.given(reader.getCurrentBsonType()).willReturn(BsonType.INT64);
+        BDDMockito.given(reader.readInt64()).willReturn(1_000_000L);
+
+        final var value = codec.decode(reader, DecoderContext.builder().build());
+
+        Assertions.assertInstanceOf(Megabyte.class, value);
+    }
+
+    @Test
+    void cacheCodecs() {
+        final var provider = new StorageUnitCodecProvider();
+
+        Assertions.assertSame(provider.get(Gibibyte.class, registry), provider.get(Gibibyte.class, registry));
+        Assertions.assertSame(provider.get(StorageUnit.class, registry), provider.get(StorageUnit.class, registry));
+    }
+
+    @Test
+    void ignoreUnrelatedTypes() {
+        Assertions.assertNull(new StorageUnitCodecProvider().get(String.class, registry));
+    }
+
+}
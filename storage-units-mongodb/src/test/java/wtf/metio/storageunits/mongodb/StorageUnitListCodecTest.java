@@ -0,0 +1,126 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.mongodb;
+
+import org.bson.BsonBinary;
+import org.bson.BsonBinarySubType;
+import org.bson.BsonInvalidOperationException;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import wtf.metio.storageunits.model.StorageUnitList;
+import wtf.metio.storageunits.model.StorageUnits;
+
+class StorageUnitListCodecTest {
+
+    private final StorageUnitListCodec codec = new StorageUnitListCodec();
+
+    @Test
+    void encodeStorageUnitListClass() {
+        Assertions.assertEquals(StorageUnitList.class, codec.getEncoderClass());
+    }
+
+    @Test
+    void roundTripPackedList() {
+        final var list = StorageUnitList.of(0L, 1L, -1L, 4_096L, 4_097L, 1L << 40, Long.MAX_VALUE, Long.MIN_VALUE);
+
+        final var decoded = codec.decode(reader(encode(list)), DecoderContext.builder().build());
+
+        Assertions.assertEquals(list, decoded);
+    }
+
+    @Test
+    void roundTripEmptyList() {
+        final var list = new StorageUnitList();
+
+        final var decoded = codec.decode(reader(encode(list)), DecoderContext.builder().build());
+
+        Assertions.assertTrue(decoded.isEmpty());
+    }
+
+    @Test
+    void packSimilarSizesTightly() {
+        final var list = new StorageUnitList();
+        for (int index = 0; index < 1_000; index++) {
+            list.add(4L << 20);
+        }
+
+        final var packed = encode(list);
+
+        // version, two bytes for the count, four bytes for the first chunk, and one byte for each further chunk
+        Assertions.assertEquals(1 + 2 + 4 + 999, packed.getData().length);
+    }
+
+    @Test
+    void writeArrayForHugeSizes() {
+        final var writer = Mockito.mock(BsonWriter.class);
+        final var list = StorageUnitList.of(1_024L);
+        list.add(StorageUnits.quettabyte(5L));
+
+        codec.encode(writer, list, EncoderContext.builder().build());
+
+        final var order = Mockito.inOrder(writer);
+        order.verify(writer).writeStartArray();
+        order.verify(writer).writeInt64(1_024L);
+        order.verify(writer).writeDecimal128(Mockito.any());
+        order.verify(writer).writeEndArray();
+        Mockito.verify(writer, Mockito.never()).writeBinaryData(Mockito.any());
+    }
+
+    @Test
+    void decodeArray() {
+        final var reader = Mockito.mock(BsonReader.class);
+        BDDMockito.given(reader.getCurrentBsonType()).willReturn(BsonType.ARRAY, BsonType.INT64, BsonType.STRING);
+        BDDMockito.given(reader.readBsonType()).willReturn(BsonType.INT64, BsonType.STRING, BsonType.END_OF_DOCUMENT);
+        BDDMockito.given(reader.readInt64()).willReturn(2_048L);
+        BDDMockito.given(reader.readString()).willReturn("1000");
+
+        final var decoded = codec.decode(reader, DecoderContext.builder().build());
+
+        Assertions.assertEquals(StorageUnitList.of(2_048L, 1_000L), decoded);
+    }
+
+    @Test
+    void rejectUnknownFormat() {
+        final var reader = reader(new BsonBinary(BsonBinarySubType.USER_DEFINED, new byte[]{42}));
+
+        Assertions.assertThrows(BsonInvalidOperationException.class,
+                () -> codec.decode(reader, DecoderContext.builder().build()));
+    }
+
+    @Test
+    void rejectTruncatedData() {
+        final var packed = encode(StorageUnitList.of(1L << 40, 1L << 41)).getData();
+        final var truncated = new byte[packed.length - 1];
+        System.arraycopy(packed, 0, truncated, 0, truncated.length);
+        final var reader = reader(new BsonBinary(BsonBinarySubType.USER_DEFINED, truncated));
+
+        Assertions.assertThrows(BsonInvalidOperationException.class,
+                () -> codec.decode(reader, DecoderContext.builder().build()));
+    }
+
+    private BsonBinary encode(final StorageUnitList list) {
+        final var writer = Mockito.mock(BsonWriter.class);
+        final var captor = ArgumentCaptor.forClass(BsonBinary.class);
+        codec.encode(writer, list, EncoderContext.builder().build());
+        Mockito.verify(writer).writeBinaryData(captor.capture());
+        return captor.getValue();
+    }
+
+    private static BsonReader reader(final BsonBinary binary) {
+        final var reader = Mockito.mock(BsonReader.class);
+        BDDMockito.given(reader.getCurrentBsonType()).willReturn(BsonType.BINARY);
+        BDDMockito.given(reader.readBinaryData()).willReturn(binary);
+        return reader;
+    }
+
+}
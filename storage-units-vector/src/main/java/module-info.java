@@ -0,0 +1,18 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+/**
+ * Module for Vector API based size column kernels.
+ */
+@org.jspecify.annotations.NullMarked
+module wtf.metio.storageunits.vector {
+
+    requires wtf.metio.storageunits.model;
+    requires jdk.incubator.vector;
+    requires org.jspecify;
+
+    provides wtf.metio.storageunits.model.SizeColumnKernels
+            with wtf.metio.storageunits.vector.VectorSizeColumnKernels;
+
+}
@@ -0,0 +1,93 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.vector;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import wtf.metio.storageunits.model.SizeColumnKernels;
+
+/**
+ * {@link SizeColumnKernels} which process as many sizes at once as the preferred vector shape of the current platform
+ * allows. Registered as service provider, thus picked up by {@link wtf.metio.storageunits.model.SizeColumns} as soon as
+ * this module and {@code jdk.incubator.vector} are present at runtime. Applications running on the class path have to
+ * add the incubator module with {@code --add-modules jdk.incubator.vector}, otherwise the scalar kernels are used.
+ */
+public final class VectorSizeColumnKernels implements SizeColumnKernels {
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    public long sum(final long[] sizes, final int from, final int to) {
+        var sums = LongVector.zero(SPECIES);
+        var overflow = LongVector.zero(SPECIES);
+        var index = from;
+        final var bound = from + SPECIES.loopBound(to - from);
+        for (; index < bound; index += SPECIES.length()) {
+            final var values = LongVector.fromArray(SPECIES, sizes, index);
+            final var next = sums.add(values);
+            // the sign bit is set whenever both operands share a sign which differs from the sign of their sum
+            overflow = overflow.or(sums.lanewise(VectorOperators.XOR, next)
+                    .and(values.lanewise(VectorOperators.XOR, next)));
+            sums = next;
+        }
+        if (overflow.reduceLanes(VectorOperators.OR) < 0) {
+            throw new ArithmeticException("long overflow");
+        }
+        var sum = 0L;
+        for (final var lane : sums.toArray()) {
+            sum = Math.addExact(sum, lane);
+        }
+        for (; index < to; index++) {
+            sum = Math.addExact(sum, sizes[index]);
+        }
+        return sum;
+    }
+
+    @Override
+    public long min(final long[] sizes, final int from, final int to) {
+        var mins = LongVector.broadcast(SPECIES, Long.MAX_VALUE);
+        var index = from;
+        final var bound = from + SPECIES.loopBound(to - from);
+        for (; index < bound; index += SPECIES.length()) {
+            mins = mins.min(LongVector.fromArray(SPECIES, sizes, index));
+        }
+        var min = mins.reduceLanes(VectorOperators.MIN);
+        for (; index < to; index++) {
+            min = Math.min(min, sizes[index]);
+        }
+        return min;
+    }
+
+    @Override
+    public long max(final long[] sizes, final int from, final int to) {
+        var maxs = LongVector.broadcast(SPECIES, Long.MIN_VALUE);
+        var index = from;
+        final var bound = from + SPECIES.loopBound(to - from);
+        for (; index < bound; index += SPECIES.length()) {
+            maxs = maxs.max(LongVector.fromArray(SPECIES, sizes, index));
+        }
+        var max = maxs.reduceLanes(VectorOperators.MAX);
+        for (; index < to; index++) {
+            max = Math.max(max, sizes[index]);
+        }
+        return max;
+    }
+
+    @Override
+    public long countAtLeast(final long[] sizes, final long limit) {
+        long count = 0;
+        var index = 0;
+        final var bound = SPECIES.loopBound(sizes.length);
+        for (; index < bound; index += SPECIES.length()) {
+            count += LongVector.fromArray(SPECIES, sizes, index).compare(VectorOperators.GE, limit).trueCount();
+        }
+        for (; index < sizes.length; index++) {
+            count += sizes[index] >= limit ? 1 : 0;
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,10 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+/**
+ * Size column kernels based on the incubating Vector API.
+ *
+ * @see <a href="https://openjdk.org/jeps/338">JEP 338: Vector API</a>
+ */
+package wtf.metio.storageunits.vector;
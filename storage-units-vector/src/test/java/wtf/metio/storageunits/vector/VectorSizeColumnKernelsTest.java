@@ -0,0 +1,100 @@
+/*
+ * SPDX-FileCopyrightText: The Storage-Units Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.storageunits.vector;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import wtf.metio.storageunits.model.SizeColumnKernels;
+import wtf.metio.storageunits.model.SizeColumns;
+import wtf.metio.storageunits.model.StorageUnits;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+
+class VectorSizeColumnKernelsTest {
+
+    private final SizeColumnKernels scalar = SizeColumnKernels.scalar();
+    private final SizeColumnKernels vector = new VectorSizeColumnKernels();
+
+    @Test
+    void shouldBeSelectedAtRuntime() {
+        // given
+        // when
+        final var kernels = SizeColumns.kernels();
+
+        // then
+        Assertions.assertInstanceOf(VectorSizeColumnKernels.class, kernels);
+    }
+
+    @Test
+    void shouldMatchScalarKernels() {
+        // given
+        final var random = new Random(42);
+
+        // when
+        // then
+        for (int length = 0; length < 100; length++) {
+            final var sizes = random.longs(length, -1_000_000L, 1_000_000L).toArray();
+            final var from = length == 0 ? 0 : random.nextInt(length);
+            final var limit = random.nextLong(-1_000_000L, 1_000_000L);
+            Assertions.assertEquals(scalar.sum(sizes, from, length), vector.sum(sizes, from, length));
+            Assertions.assertEquals(scalar.countAtLeast(sizes, limit), vector.countAtLeast(sizes, limit));
+            if (from < length) {
+                Assertions.assertEquals(scalar.min(sizes, from, length), vector.min(sizes, from, length));
+                Assertions.assertEquals(scalar.max(sizes, from, length), vector.max(sizes, from, length));
+            }
+        }
+    }
+
+    @Test
+    void shouldSignalOverflowingSums() {
+        // given
+        final var sizes = new long[33];
+        Arrays.fill(sizes, Long.MAX_VALUE);
+
+        // when
+        // then
+        Assertions.assertAll(
+                () -> Assertions.assertThrows(ArithmeticException.class, () -> vector.sum(sizes, 0, sizes.length)),
+                () -> Assertions.assertEquals(BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.valueOf(33)),
+                        SizeColumns.sum(sizes).inByte()));
+    }
+
+    @Test
+    void shouldSumBeyondLongRange() {
+        // given
+        final var random = new Random(7);
+
+        // when
+        // then
+        for (int length = 1; length < 100; length++) {
+            final var sizes = new long[length];
+            var expected = BigInteger.ZERO;
+            for (int index = 0; index < length; index++) {
+                sizes[index] = random.nextBoolean()
+                        ? Long.MAX_VALUE - random.nextInt(10)
+                        : Long.MIN_VALUE + random.nextInt(10);
+                expected = expected.add(BigInteger.valueOf(sizes[index]));
+            }
+            Assertions.assertEquals(StorageUnits.binaryValueOf(expected), SizeColumns.sum(sizes));
+        }
+    }
+
+    @Test
+    void shouldFindExtremesAtBounds() {
+        // given
+        final var sizes = new long[]{5, Long.MIN_VALUE, 3, 7, 1, 9, 2, 8, Long.MAX_VALUE, 4};
+
+        // when
+        // then
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(Long.MIN_VALUE, vector.min(sizes, 0, sizes.length)),
+                () -> Assertions.assertEquals(Long.MAX_VALUE, vector.max(sizes, 0, sizes.length)),
+                () -> Assertions.assertEquals(1L, vector.min(sizes, 2, 8)),
+                () -> Assertions.assertEquals(9L, vector.max(sizes, 2, 8)));
+    }
+
+}